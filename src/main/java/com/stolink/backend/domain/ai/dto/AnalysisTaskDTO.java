@@ -24,8 +24,34 @@ public class AnalysisTaskDTO {
     @JsonProperty("document_id")
     private UUID documentId;
 
+    // 본문 전달 방식 (INLINE: content, COMPRESSED: compressed_content, REFERENCE: content_url로 조회)
+    @JsonProperty("content_delivery")
+    private String contentDelivery;
+
     private String content;
 
+    // 분석할 본문의 해시 (결과 콜백에 그대로 돌려받아 분석 완료 본문을 기록)
+    @JsonProperty("content_hash")
+    private String contentHash;
+
+    // 본문 길이 (문자 수)
+    @JsonProperty("content_length")
+    private Integer contentLength;
+
+    // COMPRESSED: UTF-8 본문을 content_encoding으로 압축한 뒤 Base64로 인코딩한 값
+    @JsonProperty("compressed_content")
+    private String compressedContent;
+
+    @JsonProperty("content_encoding")
+    private String contentEncoding;
+
+    // REFERENCE: 서명된 내부 본문 조회 URL과 만료 시각 (epoch seconds)
+    @JsonProperty("content_url")
+    private String contentUrl;
+
+    @JsonProperty("content_url_expires_at")
+    private Long contentUrlExpiresAt;
+
     @JsonProperty("callback_url")
     private String callbackUrl;
 
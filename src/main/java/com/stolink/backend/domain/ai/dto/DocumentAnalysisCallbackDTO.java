@@ -27,6 +27,10 @@ public class DocumentAnalysisCallbackDTO {
     @JsonProperty("parent_folder_id")
     private String parentFolderId;
 
+    // 분석 요청 메시지의 본문 해시 (없으면 현재 본문 기준)
+    @JsonProperty("content_hash")
+    private String contentHash;
+
     private String status; // COMPLETED, FAILED
 
     private List<SectionDTO> sections;
@@ -37,6 +37,17 @@ public class DocumentAnalysisMessage {
     @JsonProperty("document_order")
     private Integer documentOrder;
 
+    // 분석할 본문의 해시 (결과 콜백에 그대로 돌려받아 분석 완료 본문을 기록)
+    @JsonProperty("content_hash")
+    private String contentHash;
+
+    // 서명된 내부 본문 조회 URL과 만료 시각 (epoch seconds, 본문 해시가 없는 문서는 null)
+    @JsonProperty("content_url")
+    private String contentUrl;
+
+    @JsonProperty("content_url_expires_at")
+    private Long contentUrlExpiresAt;
+
     @JsonProperty("total_documents_in_chapter")
     private Integer totalDocumentsInChapter;
 
@@ -3,9 +3,15 @@ package com.stolink.backend.domain.ai.service;
 import com.stolink.backend.domain.ai.dto.AnalysisContext;
 import com.stolink.backend.domain.ai.dto.AnalysisTaskDTO;
 import com.stolink.backend.domain.ai.dto.GlobalMergeRequestDTO;
+import com.stolink.backend.domain.document.dto.AnalysisTargetView;
+import com.stolink.backend.domain.document.dto.DocumentContentSize;
+import com.stolink.backend.domain.document.dto.DocumentContentView;
 import com.stolink.backend.domain.document.entity.Document;
 import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.document.service.DocumentContentBuffer;
+import com.stolink.backend.domain.outbox.service.OutboxService;
 import com.stolink.backend.global.common.exception.ResourceNotFoundException;
+import com.stolink.backend.global.util.ContentHasher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,7 +21,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -29,25 +38,34 @@ import java.util.UUID;
 public class AIAnalysisService {
 
     private final DocumentRepository documentRepository;
+    private final DocumentContentBuffer documentContentBuffer;
     private final RabbitMQProducerService producerService;
+    private final AnalysisSkipMetrics analysisSkipMetrics;
+    private final ContentClaimCheck contentClaimCheck;
+    private final OutboxService outboxService;
 
     @Value("${app.ai.callback-base-url}")
     private String callbackBaseUrl;
 
+    @Value("${app.rabbitmq.queues.document-analysis:document_analysis_queue}")
+    private String documentAnalysisQueue;
+
     /**
      * 프로젝트의 모든 TEXT 문서에 대해 분석 요청을 발행합니다.
+     * 마지막 분석 이후 본문(해시)이 바뀌지 않은 문서는 발행하지 않습니다.
+     * 긴 본문은 메시지에 싣지 않고 서명된 조회 URL로 전달합니다. ({@link ContentClaimCheck})
+     * 메시지는 상태 변경과 같은 트랜잭션에서 outbox에 기록되고, 커밋 이후 OutboxRelay가 발행합니다.
      *
      * @param projectId 분석할 프로젝트 ID
-     * @return 발행된 분석 요청 수
+     * @return 발행 요청한 분석 요청 수
      */
     @Transactional
     public int triggerProjectAnalysis(UUID projectId) {
-        List<Document> textDocuments = documentRepository.findTextDocumentsByProjectId(projectId);
+        // 자동 저장 버퍼에 남은 본문을 먼저 기록하여 최신 본문으로 분석
+        documentContentBuffer.flushProject(projectId);
 
-        if (textDocuments.isEmpty()) {
-            log.warn("No TEXT documents found for project: {}", projectId);
-            return 0;
-        }
+        // 분석 상태 판단은 본문 없이 메타데이터 projection으로 수행
+        List<AnalysisTargetView> textDocuments = documentRepository.findAnalysisTargetsByProjectId(projectId);
 
         if (textDocuments.isEmpty()) {
             log.warn("No TEXT documents found for project: {}", projectId);
@@ -55,40 +73,72 @@ public class AIAnalysisService {
         }
 
         int totalChapters = textDocuments.size();
-        List<AnalysisTaskDTO> batchTasks = new ArrayList<>();
+        Map<UUID, Integer> chapterNumbers = new HashMap<>();
+        Map<UUID, String> contentHashes = new HashMap<>();
 
         for (int i = 0; i < totalChapters; i++) {
-            Document doc = textDocuments.get(i);
+            AnalysisTargetView doc = textDocuments.get(i);
 
-            // 이미 분석 완료된 문서는 스킵
-            if (doc.getAnalysisStatus() == Document.AnalysisStatus.COMPLETED) {
-                log.debug("Skipping already completed document: {}", doc.getId());
+            // 현재 본문으로 이미 분석 완료된 문서는 스킵
+            if (doc.isAnalysisUpToDate()) {
+                log.debug("Skipping unchanged analyzed document: {}", doc.id());
                 continue;
             }
+            chapterNumbers.put(doc.id(), i + 1);
+            contentHashes.put(doc.id(), doc.contentHash());
+        }
+
+        int skippedCount = totalChapters - chapterNumbers.size();
+        if (chapterNumbers.isEmpty()) {
+            analysisSkipMetrics.record(0, skippedCount);
+            log.info("All documents already analyzed for project: {}", projectId);
+            return 0;
+        }
 
-            // Batch Task 생성
-            AnalysisTaskDTO task = createAnalysisTask(doc, i + 1, totalChapters);
-            batchTasks.add(task);
+        // 본문 길이만 먼저 조회하고, 메시지에 본문을 실어야 하는 문서만 본문을 한 번에 조회
+        Map<UUID, Integer> contentLengths = new HashMap<>();
+        List<UUID> contentIds = new ArrayList<>();
+        for (DocumentContentSize size : documentRepository.findContentSizesByIds(chapterNumbers.keySet())) {
+            contentLengths.put(size.id(), size.length());
+            if (contentClaimCheck.requiresContent(size.length(), contentHashes.get(size.id()))) {
+                contentIds.add(size.id());
+            }
+        }
+        Map<UUID, String> contents = new HashMap<>();
+        if (!contentIds.isEmpty()) {
+            for (DocumentContentView view : documentRepository.findContentsByIds(contentIds)) {
+                contents.put(view.id(), view.content());
+            }
+        }
 
-            // 상태 업데이트 (DB)
-            doc.updateAnalysisStatus(Document.AnalysisStatus.QUEUED);
+        List<AnalysisTaskDTO> batchTasks = new ArrayList<>();
+        for (Map.Entry<UUID, Integer> entry : chapterNumbers.entrySet()) {
+            UUID documentId = entry.getKey();
+            batchTasks.add(createAnalysisTask(projectId, documentId, contentHashes.get(documentId),
+                    contentLengths.getOrDefault(documentId, 0), contents.get(documentId),
+                    entry.getValue(), totalChapters));
         }
+        batchTasks.sort(Comparator.comparing(task -> task.getContext().getChapterNumber()));
 
-        // DB 일괄 업데이트
-        documentRepository.saveAll(textDocuments);
+        // DB 일괄 업데이트 (단일 UPDATE) 후 같은 트랜잭션에서 outbox에 일괄 기록
+        documentRepository.updateAnalysisStatusByIds(chapterNumbers.keySet(), Document.AnalysisStatus.QUEUED);
+        outboxService.enqueueAll(documentAnalysisQueue, batchTasks, AnalysisTaskDTO::getDocumentId);
 
-        // RabbitMQ 배치 발행
-        int publishedCount = producerService.sendAnalysisTaskBatch(batchTasks);
+        int publishedCount = batchTasks.size();
+        analysisSkipMetrics.record(publishedCount, skippedCount);
 
-        log.info("Project analysis triggered: projectId={}, published={}/{} documents",
-                projectId, publishedCount, totalChapters);
+        log.info("Project analysis triggered: projectId={}, published={}/{} documents, skipped={} unchanged",
+                projectId, publishedCount, totalChapters, skippedCount);
         return publishedCount;
     }
 
     /**
      * 내부 메서드: 문서 분석 요청 생성 (발행하지 않음)
+     *
+     * @param content 로딩한 본문 (URL로 전달할 문서는 null, 이 경우 저장된 본문 해시를 사용)
      */
-    private AnalysisTaskDTO createAnalysisTask(Document doc, int chapterNumber, int totalChapters) {
+    private AnalysisTaskDTO createAnalysisTask(UUID projectId, UUID documentId, String storedContentHash,
+            int contentLength, String content, int chapterNumber, int totalChapters) {
         String jobId = UUID.randomUUID().toString();
         String traceId = generateTraceId();
 
@@ -98,16 +148,17 @@ public class AIAnalysisService {
                 .totalChapters(totalChapters)
                 .build();
 
-        // DTO 생성
-        return AnalysisTaskDTO.builder()
+        // DTO 생성 (본문을 로딩했으면 로딩한 본문 기준 해시를 사용)
+        AnalysisTaskDTO.AnalysisTaskDTOBuilder builder = AnalysisTaskDTO.builder()
                 .jobId(jobId)
-                .projectId(doc.getProject().getId())
-                .documentId(doc.getId())
-                .content(doc.getContent())
+                .projectId(projectId)
+                .documentId(documentId)
                 .callbackUrl(callbackBaseUrl + "/ai-callback")
                 .traceId(traceId)
-                .context(context)
-                .build();
+                .context(context);
+        String contentHash = content != null ? ContentHasher.hash(content) : storedContentHash;
+        contentClaimCheck.apply(builder, documentId, contentHash, contentLength, content);
+        return builder.build();
     }
 
     /**
@@ -117,6 +168,7 @@ public class AIAnalysisService {
      */
     @Transactional
     public void triggerDocumentAnalysis(UUID documentId) {
+        documentContentBuffer.flush(documentId);
         Document doc = documentRepository.findById(documentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
 
@@ -128,14 +180,21 @@ public class AIAnalysisService {
      * 내부 메서드: 문서 분석 요청 발행
      */
     private void triggerDocumentAnalysis(Document doc, int chapterNumber, int totalChapters) {
-        AnalysisTaskDTO task = createAnalysisTask(doc, chapterNumber, totalChapters);
+        // 본문은 지연 로딩이므로 URL로 전달하는 경우 로딩하지 않음
+        int contentLength = documentRepository.findContentLength(doc.getId());
+        String content = contentClaimCheck.requiresContent(contentLength, doc.getContentHash())
+                ? doc.getContent()
+                : null;
+        AnalysisTaskDTO task = createAnalysisTask(doc.getProject().getId(), doc.getId(), doc.getContentHash(),
+                contentLength, content, chapterNumber, totalChapters);
 
         // 상태 업데이트
         doc.updateAnalysisStatus(Document.AnalysisStatus.QUEUED);
         documentRepository.save(doc);
 
-        // 메시지 발행 (단건)
-        producerService.sendAnalysisTask(task);
+        // 메시지 기록 (단건, 커밋 이후 발행)
+        outboxService.enqueue(documentAnalysisQueue, doc.getId(), task);
+        analysisSkipMetrics.record(1, 0);
 
         log.info("Document analysis triggered: documentId={}, jobId={}, chapter={}/{}",
                 doc.getId(), task.getJobId(), chapterNumber, totalChapters);
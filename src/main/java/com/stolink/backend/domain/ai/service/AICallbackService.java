@@ -989,8 +989,8 @@ public class AICallbackService {
             saveSettings(tempResult, project);
         }
 
-        // 3. 문서 상태 업데이트
-        document.updateAnalysisStatus(com.stolink.backend.domain.document.entity.Document.AnalysisStatus.COMPLETED);
+        // 3. 문서 상태 업데이트 (분석한 본문 해시 기록, 분석 중 본문이 바뀌었으면 다음 분석 대상으로 남음)
+        document.completeAnalysis(callback.getContentHash());
         documentRepository.save(document);
 
         // 4. 1차 Pass 완료 체크 및 2차 Pass 트리거
@@ -0,0 +1,43 @@
+package com.stolink.backend.domain.ai.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 문서 분석 발행/스킵 지표
+ *
+ * 본문 해시가 마지막 분석 본문과 같아 발행을 건너뛴 문서 수와 실제 발행한 문서 수를 집계하고,
+ * 누적 스킵 비율을 게이지로 노출합니다.
+ */
+@Component
+public class AnalysisSkipMetrics {
+
+    private final Counter publishedDocuments;
+    private final Counter skippedDocuments;
+
+    public AnalysisSkipMetrics(MeterRegistry meterRegistry) {
+        this.publishedDocuments = Counter.builder("stolink.analysis.documents")
+                .tag("result", "published")
+                .description("분석 요청을 발행한 문서 수")
+                .register(meterRegistry);
+        this.skippedDocuments = Counter.builder("stolink.analysis.documents")
+                .tag("result", "skipped")
+                .description("본문이 바뀌지 않아 분석 요청을 건너뛴 문서 수")
+                .register(meterRegistry);
+        Gauge.builder("stolink.analysis.skip.ratio", this, AnalysisSkipMetrics::skipRatio)
+                .description("분석 대상 문서 중 재분석을 건너뛴 비율")
+                .register(meterRegistry);
+    }
+
+    public void record(int published, int skipped) {
+        publishedDocuments.increment(published);
+        skippedDocuments.increment(skipped);
+    }
+
+    double skipRatio() {
+        double total = publishedDocuments.count() + skippedDocuments.count();
+        return total > 0 ? skippedDocuments.count() / total : 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.stolink.backend.domain.ai.service;
+
+import com.stolink.backend.domain.ai.dto.AnalysisTaskDTO;
+import com.stolink.backend.global.security.ContentAccessSigner;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 분석 메시지 본문 전달 방식 결정 (claim-check)
+ *
+ * 임계값 이하의 짧은 본문은 메시지에 그대로 싣고, 그보다 긴 본문은 모드에 따라
+ * 서명된 내부 조회 URL(REFERENCE)만 싣거나 gzip으로 압축해서(COMPRESSED) 싣습니다.
+ * REFERENCE 모드에서는 긴 본문을 발행 측에서 로딩하지 않으므로 브로커와 서버 메모리 모두
+ * 본문 크기의 영향을 받지 않습니다.
+ *
+ * 분석 워커가 content_delivery를 지원하기 전까지는 기본값(INLINE)으로 기존처럼 항상 본문을 싣습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentClaimCheck {
+
+    public enum Mode {
+        INLINE, // 항상 본문을 메시지에 포함 (기존 방식)
+        REFERENCE, // 임계값 초과 시 URL만 포함
+        COMPRESSED // 임계값 초과 시 압축 본문 포함
+    }
+
+    public static final String CONTENT_ENCODING_GZIP = "gzip";
+
+    /**
+     * 서명된 본문 조회 URL
+     *
+     * @param expiresAt 만료 시각 (epoch seconds)
+     */
+    public record ContentReference(String url, long expiresAt) {
+    }
+
+    private final ContentAccessSigner contentAccessSigner;
+
+    @Value("${app.ai.claim-check.mode:INLINE}")
+    private Mode mode;
+
+    // 이 길이(문자 수) 이하의 본문은 모드와 관계없이 메시지에 포함
+    @Value("${app.ai.claim-check.inline-max-chars:16384}")
+    private int inlineMaxChars;
+
+    // 분석 워커에서 접근 가능한 서버 주소 (REFERENCE 모드에서 필수)
+    @Value("${app.ai.claim-check.content-base-url:}")
+    private String contentBaseUrl;
+
+    @PostConstruct
+    public void init() {
+        if (mode == Mode.REFERENCE && (contentBaseUrl == null || contentBaseUrl.isBlank())) {
+            throw new IllegalStateException(
+                    "app.ai.claim-check.content-base-url must be set when app.ai.claim-check.mode is REFERENCE");
+        }
+    }
+
+    /**
+     * 메시지를 만들 때 본문을 로딩해야 하는지 판단합니다.
+     * 저장된 본문 해시가 없는 문서는 URL을 서명할 수 없으므로 본문을 로딩합니다.
+     *
+     * @param length            본문 길이 (문자 수)
+     * @param storedContentHash DB에 저장된 본문 해시
+     */
+    public boolean requiresContent(int length, String storedContentHash) {
+        return storedContentHash == null || mode != Mode.REFERENCE || length <= inlineMaxChars;
+    }
+
+    /**
+     * 본문 전달 필드를 채웁니다.
+     *
+     * @param content 로딩한 본문 (requiresContent가 false여서 로딩하지 않았으면 null)
+     */
+    public void apply(AnalysisTaskDTO.AnalysisTaskDTOBuilder builder, UUID documentId, String contentHash,
+            int length, String content) {
+        builder.contentHash(contentHash).contentLength(length);
+
+        if (content == null) {
+            ContentReference reference = reference(documentId, contentHash);
+            builder.contentDelivery(Mode.REFERENCE.name())
+                    .contentUrl(reference.url())
+                    .contentUrlExpiresAt(reference.expiresAt());
+        } else if (mode == Mode.COMPRESSED && length > inlineMaxChars) {
+            builder.contentDelivery(Mode.COMPRESSED.name())
+                    .contentEncoding(CONTENT_ENCODING_GZIP)
+                    .compressedContent(gzipBase64(content));
+        } else {
+            builder.contentDelivery(Mode.INLINE.name()).content(content);
+        }
+    }
+
+    /**
+     * REFERENCE 모드이고 본문 해시가 있으면 조회 URL을, 아니면 null을 반환합니다.
+     * (본문을 싣지 않는 메시지에 조회 URL을 덧붙일 때 사용)
+     */
+    public ContentReference referenceIfEnabled(UUID documentId, String contentHash) {
+        return mode == Mode.REFERENCE && contentHash != null ? reference(documentId, contentHash) : null;
+    }
+
+    /**
+     * 본문 해시에 묶인 내부 본문 조회 URL을 서명합니다.
+     */
+    private ContentReference reference(UUID documentId, String contentHash) {
+        ContentAccessSigner.SignedAccess access = contentAccessSigner.sign(documentId, contentHash);
+        String url = UriComponentsBuilder.fromUriString(contentBaseUrl)
+                .path("/api/internal/documents/{id}/content")
+                .queryParam("hash", contentHash)
+                .queryParam("expires", access.expiresAt())
+                .queryParam("signature", access.signature())
+                .buildAndExpand(documentId)
+                .toUriString();
+        return new ContentReference(url, access.expiresAt());
+    }
+
+    private static String gzipBase64(String content) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length() / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // 메모리 스트림은 IOException을 던지지 않음
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(buffer.toByteArray());
+    }
+}
@@ -2,14 +2,17 @@ package com.stolink.backend.domain.ai.service;
 
 import com.stolink.backend.domain.ai.dto.DocumentAnalysisMessage;
 import com.stolink.backend.domain.ai.dto.GlobalMergeMessage;
+import com.stolink.backend.domain.document.dto.AnalysisTargetView;
 import com.stolink.backend.domain.document.entity.Document;
 import com.stolink.backend.domain.document.entity.Document.AnalysisStatus;
 import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.document.service.DocumentContentBuffer;
+import com.stolink.backend.domain.outbox.event.OutboxDeliveryFailedEvent;
+import com.stolink.backend.domain.outbox.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +23,7 @@ import java.util.UUID;
  * 문서 분석 메시지 발행 서비스
  * 
  * 대용량 문서 분석을 위한 RabbitMQ 메시지 발행을 담당합니다.
+ * 메시지는 분석 상태 변경과 같은 트랜잭션에서 outbox에 기록되고, 커밋 이후 OutboxRelay가 브로커로 발행합니다.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,9 +31,10 @@ import java.util.UUID;
 public class DocumentAnalysisPublisher {
 
     private final DocumentRepository documentRepository;
-
-    @Qualifier("agentRabbitTemplate")
-    private final RabbitTemplate agentRabbitTemplate;
+    private final DocumentContentBuffer documentContentBuffer;
+    private final AnalysisSkipMetrics analysisSkipMetrics;
+    private final OutboxService outboxService;
+    private final ContentClaimCheck contentClaimCheck;
 
     @Value("${app.rabbitmq.queues.document-analysis:document_analysis_queue}")
     private String documentAnalysisQueue;
@@ -43,12 +48,20 @@ public class DocumentAnalysisPublisher {
     /**
      * 프로젝트 내 모든 TEXT 문서에 대해 분석 요청 발행
      * 
+     * 마지막 분석 이후 본문(해시)이 바뀌지 않은 문서는 건너뜁니다.
+     * 문서 수와 관계없이 분석 상태 일괄 변경과 outbox 일괄 기록, 두 번의 쓰기로 끝나며
+     * 브로커 발행은 커밋 이후 비동기로 진행됩니다.
+     * 
      * @param projectId 프로젝트 ID
-     * @return 발행된 메시지 수
+     * @return 발행 요청한 메시지 수
      */
     @Transactional
     public int publishAnalysisForProject(UUID projectId) {
-        List<Document> textDocuments = documentRepository.findTextDocumentsByProjectId(projectId);
+        // 분석 워커가 DB에서 본문을 읽으므로 자동 저장 버퍼를 먼저 기록
+        documentContentBuffer.flushProject(projectId);
+
+        // 메시지 구성에는 본문이 필요 없으므로 메타데이터 projection만 조회
+        List<AnalysisTargetView> textDocuments = documentRepository.findAnalysisTargetsByProjectId(projectId);
 
         if (textDocuments.isEmpty()) {
             log.warn("프로젝트 {}에 분석할 TEXT 문서가 없습니다.", projectId);
@@ -56,28 +69,36 @@ public class DocumentAnalysisPublisher {
         }
 
         int totalDocuments = textDocuments.size();
-        log.info("프로젝트 {} - {}개 문서 분석 요청 시작", projectId, totalDocuments);
+        List<AnalysisTargetView> changedDocuments = textDocuments.stream()
+                .filter(doc -> !doc.isAnalysisUpToDate())
+                .toList();
+        int skippedCount = totalDocuments - changedDocuments.size();
+        if (changedDocuments.isEmpty()) {
+            analysisSkipMetrics.record(0, skippedCount);
+            log.info("프로젝트 {} - 모든 문서가 현재 본문으로 분석 완료되어 발행을 건너뜁니다.", projectId);
+            return 0;
+        }
+        log.info("프로젝트 {} - {}개 문서 분석 요청 시작 (변경 없는 {}개 문서 제외)", projectId,
+                changedDocuments.size(), skippedCount);
 
         long startTime = System.currentTimeMillis();
+        List<UUID> documentIds = changedDocuments.stream().map(AnalysisTargetView::id).toList();
 
-        for (Document doc : textDocuments) {
-            // 상태를 PENDING으로 업데이트
-            doc.updateAnalysisStatus(AnalysisStatus.PENDING);
-            documentRepository.save(doc);
+        // 상태를 QUEUED로 일괄 업데이트하고, 같은 트랜잭션에서 메시지를 outbox에 일괄 기록
+        documentRepository.updateAnalysisStatusByIds(documentIds, AnalysisStatus.QUEUED);
 
-            // 메시지 생성 및 발행
-            DocumentAnalysisMessage message = buildMessage(doc, projectId, totalDocuments);
-            agentRabbitTemplate.convertAndSend(documentAnalysisQueue, message);
+        List<DocumentAnalysisMessage> messages = changedDocuments.stream()
+                .map(doc -> buildMessage(doc, projectId, totalDocuments))
+                .toList();
+        outboxService.enqueueAll(documentAnalysisQueue, messages,
+                message -> UUID.fromString(message.getDocumentId()));
 
-            // 상태를 QUEUED로 업데이트
-            doc.updateAnalysisStatus(AnalysisStatus.QUEUED);
-            documentRepository.save(doc);
-        }
+        analysisSkipMetrics.record(changedDocuments.size(), skippedCount);
 
         long duration = System.currentTimeMillis() - startTime;
-        log.info("프로젝트 {} - {}개 메시지 발행 완료 ({}ms)", projectId, totalDocuments, duration);
+        log.info("프로젝트 {} - {}개 메시지 outbox 기록 완료 ({}ms)", projectId, changedDocuments.size(), duration);
 
-        return totalDocuments;
+        return changedDocuments.size();
     }
 
     /**
@@ -85,25 +106,23 @@ public class DocumentAnalysisPublisher {
      */
     @Transactional
     public void publishAnalysisForDocument(Document document) {
-        document.updateAnalysisStatus(AnalysisStatus.PENDING);
-        documentRepository.save(document);
-
         DocumentAnalysisMessage message = buildMessage(
-                document,
+                AnalysisTargetView.from(document),
                 document.getProject().getId(),
                 1);
 
-        agentRabbitTemplate.convertAndSend(documentAnalysisQueue, message);
-
         document.updateAnalysisStatus(AnalysisStatus.QUEUED);
         documentRepository.save(document);
+        outboxService.enqueue(documentAnalysisQueue, document.getId(), message);
+        analysisSkipMetrics.record(1, 0);
 
-        log.info("문서 {} 분석 요청 발행 완료", document.getId());
+        log.info("문서 {} 분석 요청 outbox 기록 완료", document.getId());
     }
 
     /**
-     * 글로벌 병합 (2차 Pass) 요청 발행
+     * 글로벌 병합 (2차 Pass) 요청 발행 (호출 측 트랜잭션이 커밋된 후 발행)
      */
+    @Transactional
     public void publishGlobalMerge(UUID projectId, String traceId) {
         GlobalMergeMessage message = GlobalMergeMessage.builder()
                 .projectId(projectId.toString())
@@ -111,24 +130,43 @@ public class DocumentAnalysisPublisher {
                 .traceId(traceId)
                 .build();
 
-        agentRabbitTemplate.convertAndSend(globalMergeQueue, message);
-        log.info("프로젝트 {} 글로벌 병합 요청 발행 완료", projectId);
+        outboxService.enqueue(globalMergeQueue, projectId, message);
+        log.info("프로젝트 {} 글로벌 병합 요청 outbox 기록 완료", projectId);
+    }
+
+    /**
+     * 분석 요청 메시지 발행이 최종 실패하면 QUEUED로 남은 문서를 FAILED로 돌립니다.
+     * (브로커에 메시지가 없는 QUEUED 문서가 남지 않도록 하며, FAILED 문서는 AnalysisRetryScheduler가 재발행)
+     */
+    @EventListener
+    @Transactional
+    public void onDeliveryFailed(OutboxDeliveryFailedEvent event) {
+        if (!documentAnalysisQueue.equals(event.routingKey())) {
+            return;
+        }
+        int updated = documentRepository.updateAnalysisStatusByIdsAndStatus(event.aggregateIds(),
+                AnalysisStatus.QUEUED, AnalysisStatus.FAILED);
+        log.warn("분석 요청 발행 최종 실패 - {}개 문서를 FAILED로 변경", updated);
     }
 
     /**
-     * 분석 메시지 생성
+     * 분석 메시지 생성 (REFERENCE 모드면 본문 해시에 묶인 조회 URL을 포함)
      */
-    private DocumentAnalysisMessage buildMessage(Document document, UUID projectId, int totalDocuments) {
-        Document parent = document.getParent();
-        String parentFolderId = parent != null ? parent.getId().toString() : null;
-        String chapterTitle = parent != null ? parent.getTitle() : document.getTitle();
+    private DocumentAnalysisMessage buildMessage(AnalysisTargetView document, UUID projectId, int totalDocuments) {
+        String parentFolderId = document.parentId() != null ? document.parentId().toString() : null;
+        String chapterTitle = document.parentId() != null ? document.parentTitle() : document.title();
+        ContentClaimCheck.ContentReference contentReference = contentClaimCheck
+                .referenceIfEnabled(document.id(), document.contentHash());
 
         return DocumentAnalysisMessage.builder()
-                .documentId(document.getId().toString())
+                .documentId(document.id().toString())
                 .projectId(projectId.toString())
                 .parentFolderId(parentFolderId)
                 .chapterTitle(chapterTitle)
-                .documentOrder(document.getOrder())
+                .documentOrder(document.order())
+                .contentHash(document.contentHash())
+                .contentUrl(contentReference != null ? contentReference.url() : null)
+                .contentUrlExpiresAt(contentReference != null ? contentReference.expiresAt() : null)
                 .totalDocumentsInChapter(totalDocuments)
                 .analysisPass(1)
                 .callbackUrl(callbackBaseUrl + "/api/ai-callback")
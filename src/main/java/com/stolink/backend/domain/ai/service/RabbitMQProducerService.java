@@ -10,8 +10,6 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Slf4j
 @Service
 public class RabbitMQProducerService {
@@ -54,31 +52,6 @@ public class RabbitMQProducerService {
         }
     }
 
-    /**
-     * Analysis 작업 배치 전송 (성능 최적화)
-     * 
-     * 여러 문서를 한 번에 발행합니다.
-     */
-    public int sendAnalysisTaskBatch(List<AnalysisTaskDTO> tasks) {
-        if (tasks == null || tasks.isEmpty()) {
-            return 0;
-        }
-
-        int successCount = 0;
-        for (AnalysisTaskDTO task : tasks) {
-            try {
-                agentRabbitTemplate.convertAndSend(documentAnalysisQueue, task);
-                successCount++;
-            } catch (AmqpException e) {
-                log.error("Failed to send analysis task in batch: jobId={}, projectId={}",
-                        task.getJobId(), task.getProjectId(), e);
-            }
-        }
-
-        log.info("Batch analysis tasks sent: {}/{} successful", successCount, tasks.size());
-        return successCount;
-    }
-
     /**
      * Global Merge 요청 전송
      */
@@ -40,6 +40,7 @@ public class CharacterService {
     private final RabbitMQProducerService producerService;
     private final ApplicationEventPublisher eventPublisher;
     private final com.stolink.backend.domain.document.repository.DocumentRepository documentRepository;
+    private final com.stolink.backend.domain.document.service.DocumentTreeCache documentTreeCache;
     private final com.stolink.backend.domain.character.repository.ImageGenerationTaskRepository imageGenerationTaskRepository;
     private final org.neo4j.driver.Driver driver;
     private final jakarta.persistence.EntityManager entityManager;
@@ -191,6 +192,7 @@ public class CharacterService {
                             .wordCount(150)
                             .includeInCompile(true)
                             .build()));
+            documentTreeCache.evict(targetProjectId);
             log.info("Seeded Documents successfully.");
 
             // 5. Seed Neo4j Data (20 Characters)
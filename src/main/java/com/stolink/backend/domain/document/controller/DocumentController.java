@@ -1,26 +1,38 @@
 package com.stolink.backend.domain.document.controller;
 
+import com.stolink.backend.domain.document.dto.ContentRange;
+import com.stolink.backend.domain.document.dto.ContentUpdateResponse;
 import com.stolink.backend.domain.document.dto.CreateDocumentRequest;
 import com.stolink.backend.domain.document.dto.DocumentTreeResponse;
 import com.stolink.backend.domain.document.dto.DocumentResponse;
+import com.stolink.backend.domain.document.dto.UpdateContentRequest;
 import com.stolink.backend.domain.document.dto.UpdateDocumentRequest;
 import com.stolink.backend.domain.document.dto.ReorderDocumentsRequest;
 import com.stolink.backend.domain.document.dto.BulkUpdateRequest;
+import com.stolink.backend.domain.document.dto.BulkUpdateResponse;
 import com.stolink.backend.domain.document.dto.ManuscriptUploadRequest;
 import com.stolink.backend.domain.document.dto.ManuscriptJobResponse;
+import com.stolink.backend.domain.document.dto.SubtreeWordCountResponse;
 import com.stolink.backend.domain.document.entity.Document;
 import com.stolink.backend.domain.document.service.DocumentService;
 import com.stolink.backend.domain.document.service.ManuscriptJobService;
+import com.stolink.backend.domain.document.service.ManuscriptJobWorker;
 import com.stolink.backend.global.common.dto.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -32,11 +44,22 @@ public class DocumentController {
 
     private final DocumentService documentService;
     private final ManuscriptJobService manuscriptJobService;
+    private final ManuscriptJobWorker manuscriptJobWorker;
 
+    /**
+     * 문서 트리 조회
+     * 트리가 변경되지 않았으면 (If-None-Match 일치) 본문 없이 304를 반환
+     */
     @GetMapping("/projects/{pid}/documents")
     public ApiResponse<List<DocumentTreeResponse>> getDocuments(
             @AuthenticationPrincipal UUID userId,
-            @PathVariable UUID pid) {
+            @PathVariable UUID pid,
+            WebRequest webRequest) {
+        String eTag = documentService.getDocumentTreeETag(userId, pid);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<DocumentTreeResponse> tree = documentService.getDocumentTree(userId, pid);
         return ApiResponse.ok(tree);
     }
@@ -73,16 +96,14 @@ public class DocumentController {
     public ApiResponse<DocumentResponse> getDocument(
             @AuthenticationPrincipal UUID userId,
             @PathVariable UUID id) {
-        Document document = documentService.getDocument(userId, id);
-        return ApiResponse.ok(DocumentResponse.from(document));
+        return ApiResponse.ok(documentService.getDocumentDetail(userId, id));
     }
 
     @GetMapping("/documents/{id}/content")
     public ApiResponse<Map<String, String>> getContent(
             @AuthenticationPrincipal UUID userId,
             @PathVariable UUID id) {
-        Document document = documentService.getDocument(userId, id);
-        return ApiResponse.ok(Map.of("content", document.getContent() != null ? document.getContent() : ""));
+        return ApiResponse.ok(Map.of("content", documentService.getContent(userId, id)));
     }
 
     @GetMapping("/documents/{id}/content/page")
@@ -90,8 +111,38 @@ public class DocumentController {
             @AuthenticationPrincipal UUID userId,
             @PathVariable UUID id,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10000") int size) {
-        return ApiResponse.ok(documentService.getPagedContent(userId, id, page, size));
+            @RequestParam(defaultValue = "10000") int size,
+            @RequestParam(required = false) Integer offset) {
+        return ApiResponse.ok(documentService.getPagedContent(userId, id, page, size, offset));
+    }
+
+    /**
+     * 본문 스트리밍 조회
+     * Range: chars=start-end 헤더로 부분 범위를 요청할 수 있으며, 이 경우 206을 반환
+     */
+    @GetMapping("/documents/{id}/content/stream")
+    public ResponseEntity<StreamingResponseBody> streamContent(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+        ContentRange contentRange = documentService.resolveContentRange(userId, id, range);
+
+        if (!contentRange.isSatisfiable()) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, contentRange.toContentRangeHeader())
+                    .build();
+        }
+
+        StreamingResponseBody body = outputStream -> documentService.streamContent(id, contentRange, outputStream);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(contentRange.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .header(HttpHeaders.ACCEPT_RANGES, ContentRange.UNIT);
+        if (contentRange.partial()) {
+            response.header(HttpHeaders.CONTENT_RANGE, contentRange.toContentRangeHeader());
+        }
+        return response.body(body);
     }
 
     @PatchMapping("/documents/{id}")
@@ -104,17 +155,11 @@ public class DocumentController {
     }
 
     @PatchMapping("/documents/{id}/content")
-    public ApiResponse<Map<String, Object>> updateContent(
+    public ApiResponse<ContentUpdateResponse> updateContent(
             @AuthenticationPrincipal UUID userId,
             @PathVariable UUID id,
-            @RequestBody Map<String, String> body) {
-        String content = body.get("content");
-        Document document = documentService.updateDocumentContent(userId, id, content);
-
-        return ApiResponse.ok(Map.of(
-                "id", document.getId(),
-                "wordCount", document.getWordCount(),
-                "updatedAt", document.getUpdatedAt()));
+            @RequestBody UpdateContentRequest request) {
+        return ApiResponse.ok(documentService.updateDocumentContent(userId, id, request));
     }
 
     @DeleteMapping("/documents/{id}")
@@ -125,6 +170,28 @@ public class DocumentController {
         documentService.deleteDocument(userId, id);
     }
 
+    /**
+     * 문서(폴더) 하위 트리의 글자 수 합계 조회
+     */
+    @GetMapping("/documents/{id}/word-count")
+    public ApiResponse<SubtreeWordCountResponse> getSubtreeWordCount(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID id) {
+        return ApiResponse.ok(documentService.getSubtreeWordCount(userId, id));
+    }
+
+    /**
+     * 문서(폴더)를 하위 문서까지 복사 (parentId 미지정 시 원본 바로 뒤에 생성)
+     */
+    @PostMapping("/documents/{id}/copy")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ApiResponse<DocumentTreeResponse> copyDocument(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID id,
+            @RequestParam(required = false) UUID parentId) {
+        return ApiResponse.created(documentService.copyDocument(userId, id, parentId));
+    }
+
     @PostMapping("/documents/reorder")
     public ApiResponse<Void> reorderDocuments(
             @AuthenticationPrincipal UUID userId,
@@ -134,11 +201,10 @@ public class DocumentController {
     }
 
     @PostMapping("/documents/bulk-update")
-    public ApiResponse<Void> bulkUpdateDocuments(
+    public ApiResponse<BulkUpdateResponse> bulkUpdateDocuments(
             @AuthenticationPrincipal UUID userId,
             @RequestBody BulkUpdateRequest request) {
-        documentService.bulkUpdateDocuments(userId, request);
-        return ApiResponse.ok(null);
+        return ApiResponse.ok(documentService.bulkUpdateDocuments(userId, request));
     }
 
     @PostMapping(value = "/projects/{pid}/manuscript/upload", consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -153,17 +219,16 @@ public class DocumentController {
             request = new ManuscriptUploadRequest();
         }
 
-        try {
-            String content = new String(file.getBytes(), java.nio.charset.StandardCharsets.UTF_8);
-            request.setContent(content);
+        request.setProjectId(pid);
+        ManuscriptJobResponse job;
+        try (java.io.InputStream inputStream = file.getInputStream()) {
+            // 업로드 파일을 메모리에 올리지 않고 스트림 그대로 파일로 저장
+            job = manuscriptJobService.createJob(userId, pid, request, inputStream);
         } catch (java.io.IOException e) {
             throw new RuntimeException("Failed to read file content", e);
         }
-
-        request.setProjectId(pid);
-        ManuscriptJobResponse job = manuscriptJobService.createJob(userId, pid, request);
-        // 비동기로 처리 시작
-        manuscriptJobService.processJobAsync(job.getJobId());
+        // 작업 큐에서 바로 선점하도록 요청 (처리는 전용 작업 스레드에서 수행)
+        manuscriptJobWorker.wakeUp();
         return ApiResponse.accepted(job);
     }
 
@@ -0,0 +1,74 @@
+package com.stolink.backend.domain.document.controller;
+
+import com.stolink.backend.domain.document.dto.ContentRange;
+import com.stolink.backend.domain.document.service.DocumentService;
+import com.stolink.backend.global.common.exception.AccessDeniedException;
+import com.stolink.backend.global.security.ContentAccessSigner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 분석 워커용 내부 본문 조회 컨트롤러 (claim-check)
+ *
+ * 분석 메시지에 담긴 서명된 URL로만 접근할 수 있으며, 본문을 조각 단위로 스트리밍합니다.
+ * - 서명 불일치: 403
+ * - 서명 만료: 410 (문서 분석을 FAILED로 돌려 재시도 스케줄러가 새 URL로 재발행)
+ * - 분석 요청 이후 본문 변경: 409 (변경된 본문으로 새 분석 요청이 발행됨)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/internal/documents")
+@RequiredArgsConstructor
+public class InternalDocumentContentController {
+
+    private final DocumentService documentService;
+    private final ContentAccessSigner contentAccessSigner;
+
+    @GetMapping("/{id}/content")
+    public ResponseEntity<StreamingResponseBody> streamAnalysisContent(
+            @PathVariable UUID id,
+            @RequestParam String hash,
+            @RequestParam long expires,
+            @RequestParam String signature,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+        ContentAccessSigner.Verification verification = contentAccessSigner.verify(id, hash, expires, signature);
+        if (verification == ContentAccessSigner.Verification.INVALID) {
+            throw new AccessDeniedException("유효하지 않은 본문 조회 서명입니다.");
+        }
+        if (verification == ContentAccessSigner.Verification.EXPIRED) {
+            // 큐 적체가 TTL을 넘은 경우이므로 조용히 유실되지 않도록 분석을 실패 처리해 재발행 대상으로 만듦
+            boolean requeued = documentService.failAnalysisWithExpiredContentUrl(id, hash);
+            log.error("Expired content URL requested: documentId={}, expiresAt={}, markedForRetry={}",
+                    id, expires, requeued);
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        ContentRange contentRange = documentService.resolveAnalysisContentRange(id, hash, range);
+        if (!contentRange.isSatisfiable()) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, contentRange.toContentRangeHeader())
+                    .build();
+        }
+
+        StreamingResponseBody body = outputStream -> documentService.streamContent(id, contentRange, outputStream);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(contentRange.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .eTag(hash)
+                .header(HttpHeaders.ACCEPT_RANGES, ContentRange.UNIT);
+        if (contentRange.partial()) {
+            response.header(HttpHeaders.CONTENT_RANGE, contentRange.toContentRangeHeader());
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.stolink.backend.domain.document.dto;
+
+import com.stolink.backend.domain.document.entity.Document;
+
+import java.util.UUID;
+
+/**
+ * 분석 대상 문서 메타데이터 projection (본문 제외)
+ *
+ * 분석 요청 발행 및 분석 상태 판단에 필요한 필드만 담습니다.
+ */
+public record AnalysisTargetView(
+        UUID id,
+        UUID parentId,
+        String parentTitle,
+        String title,
+        Integer order,
+        Document.AnalysisStatus analysisStatus,
+        String contentHash,
+        String analyzedContentHash) {
+
+    /**
+     * 현재 본문으로 분석이 완료되어 다시 발행할 필요가 없는지
+     */
+    public boolean isAnalysisUpToDate() {
+        return Document.isAnalysisUpToDate(analysisStatus, contentHash, analyzedContentHash);
+    }
+
+    public static AnalysisTargetView from(Document document) {
+        Document parent = document.getParent();
+        return new AnalysisTargetView(
+                document.getId(),
+                parent != null ? parent.getId() : null,
+                parent != null ? parent.getTitle() : null,
+                document.getTitle(),
+                document.getOrder(),
+                document.getAnalysisStatus(),
+                document.getContentHash(),
+                document.getAnalyzedContentHash());
+    }
+}
@@ -0,0 +1,29 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 문서 일괄 수정 결과 (항목별 성공/실패)
+ */
+public record BulkUpdateResponse(int succeeded, int failed, List<ItemResult> results) {
+
+    public static BulkUpdateResponse of(List<ItemResult> results) {
+        int succeeded = (int) results.stream().filter(ItemResult::success).count();
+        return new BulkUpdateResponse(succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * @param message 실패 사유 (성공 시 null)
+     */
+    public record ItemResult(UUID id, boolean success, String message) {
+
+        public static ItemResult success(UUID id) {
+            return new ItemResult(id, true, null);
+        }
+
+        public static ItemResult failure(UUID id, String message) {
+            return new ItemResult(id, false, message);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.stolink.backend.domain.document.dto;
+
+/**
+ * 본문 스트리밍 범위 (문자 단위, end는 미포함)
+ *
+ * Range: chars=start-end 요청을 해석한 결과이며, 오프셋은 DB의 char_length/substring과 같은
+ * 코드 포인트 기준입니다.
+ */
+public record ContentRange(int start, int end, int totalLength, boolean partial) {
+
+    public static final String UNIT = "chars";
+
+    public boolean isSatisfiable() {
+        return totalLength == 0 || start < totalLength;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * Content-Range 헤더 값 (예: "chars 0-9999/52344")
+     */
+    public String toContentRangeHeader() {
+        if (!isSatisfiable()) {
+            return UNIT + " */" + totalLength;
+        }
+        return UNIT + " " + start + "-" + (end - 1) + "/" + totalLength;
+    }
+
+    /**
+     * Range 헤더를 해석합니다. 헤더가 없거나 형식이 맞지 않으면 전체 범위를 반환합니다.
+     * 지원 형식: "chars=start-end", "chars=start-", "chars=-suffixLength"
+     */
+    public static ContentRange parse(String rangeHeader, int totalLength) {
+        ContentRange full = new ContentRange(0, totalLength, totalLength, false);
+        if (rangeHeader == null || !rangeHeader.startsWith(UNIT + "=")) {
+            return full;
+        }
+
+        String spec = rangeHeader.substring(UNIT.length() + 1).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return full;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            int start;
+            int end;
+            if (first.isEmpty()) {
+                int suffix = Integer.parseInt(last);
+                start = Math.max(0, totalLength - suffix);
+                end = totalLength;
+            } else {
+                start = Integer.parseInt(first);
+                end = last.isEmpty() ? totalLength : Math.min(Integer.parseInt(last) + 1, totalLength);
+            }
+            if (start < 0 || end < start) {
+                return full;
+            }
+            return new ContentRange(start, Math.max(start, end), totalLength, true);
+        } catch (NumberFormatException e) {
+            return full;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 본문 저장 결과
+ *
+ * @param version 다음 패치 요청의 baseVersion으로 사용
+ */
+public record ContentUpdateResponse(UUID id, Integer wordCount, Long version, LocalDateTime updatedAt) {
+}
@@ -18,4 +18,6 @@ public class CreateDocumentRequest {
     private String title;
     private String synopsis;
     private Integer targetWordCount;
+    private UUID afterId;   // 이 형제 문서 바로 뒤에 생성 (없으면 마지막)
+    private UUID beforeId;  // 이 형제 문서 바로 앞에 생성
 }
@@ -0,0 +1,11 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.util.UUID;
+
+/**
+ * 문서 본문 길이 projection (id + char_length)
+ *
+ * 본문을 로딩하지 않고 길이만으로 판단하는 경로(분석 메시지 본문 전달 방식 선택 등)에서 사용합니다.
+ */
+public record DocumentContentSize(UUID id, Integer length) {
+}
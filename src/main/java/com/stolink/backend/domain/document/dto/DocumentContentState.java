@@ -0,0 +1,9 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.util.UUID;
+
+/**
+ * 본문 저장 기준 상태 (본문, 글자 수, 버전)
+ */
+public record DocumentContentState(UUID id, String content, Integer wordCount, Long version) {
+}
@@ -0,0 +1,11 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.util.UUID;
+
+/**
+ * 문서 본문 조회용 projection (id + content)
+ *
+ * 본문이 지연 로딩되므로, 여러 문서의 본문이 필요한 경로는 이 projection으로 한 번에 조회합니다.
+ */
+public record DocumentContentView(UUID id, String content) {
+}
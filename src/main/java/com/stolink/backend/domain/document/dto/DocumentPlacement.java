@@ -0,0 +1,9 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.util.UUID;
+
+/**
+ * 문서 위치/소유 정보 (본문 제외, 일괄 정렬 검증용)
+ */
+public record DocumentPlacement(UUID id, UUID projectId, UUID parentId, UUID ownerId, Integer order) {
+}
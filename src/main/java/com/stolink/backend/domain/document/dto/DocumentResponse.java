@@ -28,17 +28,26 @@ public class DocumentResponse {
     private Boolean includeInCompile;
     private String keywords;
     private String notes;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     public static DocumentResponse from(Document document) {
+        return metadataBuilder(document)
+                .content(document.getContent())
+                .build();
+    }
+
+    /**
+     * 본문을 제외한 필드를 채운 빌더를 반환합니다. (본문을 따로 채울 때 지연 로딩되는 본문을 읽지 않도록)
+     */
+    public static DocumentResponseBuilder metadataBuilder(Document document) {
         return DocumentResponse.builder()
                 .id(document.getId())
                 .projectId(document.getProject().getId())
                 .parentId(document.getParent() != null ? document.getParent().getId() : null)
                 .type(document.getType().name())
                 .title(document.getTitle())
-                .content(document.getContent())
                 .synopsis(document.getSynopsis())
                 .order(document.getOrder())
                 .status(document.getStatus().name())
@@ -51,8 +60,8 @@ public class DocumentResponse {
                 .includeInCompile(document.getIncludeInCompile())
                 .keywords(document.getKeywords())
                 .notes(document.getNotes())
+                .version(document.getVersion())
                 .createdAt(document.getCreatedAt())
-                .updatedAt(document.getUpdatedAt())
-                .build();
+                .updatedAt(document.getUpdatedAt());
     }
 }
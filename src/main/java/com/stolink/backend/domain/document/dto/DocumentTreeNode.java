@@ -0,0 +1,43 @@
+package com.stolink.backend.domain.document.dto;
+
+import com.stolink.backend.domain.document.entity.Document;
+
+import java.util.UUID;
+
+/**
+ * 문서 트리 노드 메타데이터 (본문 제외)
+ *
+ * 사이드바 트리 구성에 필요한 필드만 담으며, 프로젝트별 트리 캐시의 값으로 사용됩니다.
+ */
+public record DocumentTreeNode(
+        UUID id,
+        UUID parentId,
+        Document.DocumentType type,
+        String title,
+        Integer order,
+        Document.DocumentStatus status,
+        Integer wordCount,
+        String label,
+        String labelColor) {
+
+    public static DocumentTreeNode from(Document document) {
+        return new DocumentTreeNode(
+                document.getId(),
+                document.getParent() != null ? document.getParent().getId() : null,
+                document.getType(),
+                document.getTitle(),
+                document.getOrder(),
+                document.getStatus(),
+                document.getWordCount(),
+                document.getLabel(),
+                document.getLabelColor());
+    }
+
+    public DocumentTreeNode withOrder(int newOrder) {
+        return new DocumentTreeNode(id, parentId, type, title, newOrder, status, wordCount, label, labelColor);
+    }
+
+    public DocumentTreeNode withWordCount(int newWordCount) {
+        return new DocumentTreeNode(id, parentId, type, title, order, status, newWordCount, label, labelColor);
+    }
+}
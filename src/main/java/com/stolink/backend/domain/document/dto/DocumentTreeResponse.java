@@ -40,6 +40,13 @@ public class DocumentTreeResponse {
     private List<DocumentTreeResponse> children = new ArrayList<>();
 
     public static DocumentTreeResponse from(Document document) {
+        return from(document, document.getContent());
+    }
+
+    /**
+     * 본문을 별도로 조회한 경우 (지연 로딩 회피용)
+     */
+    public static DocumentTreeResponse from(Document document, String content) {
         // Convert comma-separated keywords to list
         List<String> keywordsList = new ArrayList<>();
         if (document.getKeywords() != null && !document.getKeywords().isEmpty()) {
@@ -55,7 +62,7 @@ public class DocumentTreeResponse {
                 .parentId(document.getParent() != null ? document.getParent().getId() : null)
                 .type(document.getType().name().toLowerCase())
                 .title(document.getTitle())
-                .content(document.getContent())
+                .content(content)
                 .synopsis(document.getSynopsis())
                 .order(document.getOrder())
                 .status(document.getStatus().name().toLowerCase())
@@ -70,4 +77,22 @@ public class DocumentTreeResponse {
                 .updatedAt(document.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * 트리 캐시 노드로부터 응답 생성 (본문 등 메타데이터 외 필드는 포함하지 않음)
+     */
+    public static DocumentTreeResponse from(DocumentTreeNode node, UUID projectId) {
+        return DocumentTreeResponse.builder()
+                .id(node.id())
+                .projectId(projectId)
+                .parentId(node.parentId())
+                .type(node.type().name().toLowerCase())
+                .title(node.title())
+                .order(node.order())
+                .status(node.status() != null ? node.status().name().toLowerCase() : null)
+                .label(node.label())
+                .labelColor(node.labelColor())
+                .wordCount(node.wordCount())
+                .build();
+    }
 }
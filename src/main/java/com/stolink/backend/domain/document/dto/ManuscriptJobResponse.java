@@ -19,6 +19,7 @@ public class ManuscriptJobResponse {
     private String status;
     private int progress;
     private String message;
+    private String sourceCharset;
     private int totalDocuments;
     private LocalDateTime createdAt;
     private LocalDateTime completedAt;
@@ -30,6 +31,7 @@ public class ManuscriptJobResponse {
                 .status(job.getStatus().name())
                 .progress(job.getProgress())
                 .message(job.getMessage())
+                .sourceCharset(job.getSourceCharset())
                 .totalDocuments(job.getTotalDocuments())
                 .createdAt(job.getCreatedAt())
                 .completedAt(job.getCompletedAt())
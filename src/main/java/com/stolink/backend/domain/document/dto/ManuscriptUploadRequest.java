@@ -1,5 +1,6 @@
 package com.stolink.backend.domain.document.dto;
 
+import com.stolink.backend.domain.document.entity.ManuscriptJob;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,4 +15,5 @@ public class ManuscriptUploadRequest {
     private UUID parentId;
     private String content;
     private boolean createFolders = true;
+    private ManuscriptJob.ParseMode parseMode; // null이면 HEURISTIC
 }
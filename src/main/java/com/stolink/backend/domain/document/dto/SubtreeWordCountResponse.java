@@ -0,0 +1,12 @@
+package com.stolink.backend.domain.document.dto;
+
+import java.util.UUID;
+
+/**
+ * 문서(폴더) 하위 트리의 글자 수 집계
+ *
+ * @param wordCount     하위 TEXT 문서 글자 수 합계
+ * @param documentCount 집계된 TEXT 문서 수
+ */
+public record SubtreeWordCountResponse(UUID documentId, long wordCount, long documentCount) {
+}
@@ -0,0 +1,43 @@
+package com.stolink.backend.domain.document.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 본문 수정 요청
+ *
+ * content가 있으면 전체 교체, ops가 있으면 baseVersion 기준으로 연산을 순서대로 적용합니다.
+ * 위치(position)와 길이(length)는 에디터와 동일한 UTF-16 단위입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateContentRequest {
+    private String content;
+    private Long baseVersion;
+    private List<Operation> ops;
+
+    public boolean isPatch() {
+        return ops != null;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        private OperationType type;
+        private Integer position;
+        private String text;    // INSERT 시 삽입할 문자열
+        private Integer length; // DELETE 시 삭제할 길이
+    }
+
+    public enum OperationType {
+        INSERT, DELETE
+    }
+}
@@ -26,4 +26,6 @@ public class UpdateDocumentRequest {
     private Boolean includeInCompile;
     private List<String> keywords;
     private String notes;
+    private UUID afterId;   // 이동/재배치 시 이 형제 문서 바로 뒤로
+    private UUID beforeId;  // 이동/재배치 시 이 형제 문서 바로 앞으로
 }
@@ -2,9 +2,14 @@ package com.stolink.backend.domain.document.entity;
 
 import com.stolink.backend.domain.project.entity.Project;
 import com.stolink.backend.global.common.entity.BaseEntity;
+import com.stolink.backend.global.util.ContentHasher;
+import com.stolink.backend.global.util.WordCounter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.OptimisticLock;
 
+import java.util.Objects;
 import java.util.UUID;
 
 @Entity
@@ -13,6 +18,9 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Document extends BaseEntity {
 
+    // 형제 문서 간 order 간격 (사이 삽입 시 중간값을 사용하고, 간격이 소진되면 재배치)
+    public static final int ORDER_GAP = 1024;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -32,6 +40,9 @@ public class Document extends BaseEntity {
     @Column(nullable = false)
     private String title;
 
+    // 본문은 필요할 때만 로딩 (트리/정렬/분석 상태 조회 시 대용량 TEXT 로딩 방지)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     @Column(columnDefinition = "TEXT")
     private String content = "";
 
@@ -46,13 +57,25 @@ public class Document extends BaseEntity {
     private DocumentStatus status = DocumentStatus.DRAFT;
 
     // AI 분석 상태 (대용량 문서 분석 아키텍처)
+    // 분석 상태는 콜백/재시도 스케줄러가 비동기로 변경하므로 본문 버전을 올리지 않음
     @Enumerated(EnumType.STRING)
     @Column(length = 20)
+    @OptimisticLock(excluded = true)
     private AnalysisStatus analysisStatus = AnalysisStatus.NONE;
 
     @Column
+    @OptimisticLock(excluded = true)
     private Integer analysisRetryCount = 0;
 
+    // 정규화한 본문의 SHA-256 (본문과 함께 갱신)
+    @Column(length = 64)
+    private String contentHash;
+
+    // 마지막으로 분석을 완료한 본문의 해시 (contentHash와 같으면 재분석하지 않음)
+    @Column(length = 64)
+    @OptimisticLock(excluded = true)
+    private String analyzedContentHash;
+
     @Column(length = 50)
     private String label;
 
@@ -73,6 +96,12 @@ public class Document extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // 낙관적 잠금 버전 (본문 패치의 baseVersion 검증용, 기존 행은 0으로 시작)
+    // 초기값을 두지 않아야 저장 전 엔티티가 새 엔티티로 판별됨 (persist 시 0으로 설정)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Builder
     public Document(UUID id, Project project, Document parent, DocumentType type, String title, String content,
             String synopsis, Integer order, DocumentStatus status, String label, String labelColor, Integer wordCount,
@@ -83,6 +112,7 @@ public class Document extends BaseEntity {
         this.type = type;
         this.title = title;
         this.content = content;
+        this.contentHash = content != null ? ContentHasher.hash(content) : null;
         this.synopsis = synopsis;
         this.order = order;
         this.status = status;
@@ -96,8 +126,20 @@ public class Document extends BaseEntity {
     }
 
     public void updateContent(String content) {
+        updateContent(content, calculateWordCount(content));
+    }
+
+    /**
+     * 글자 수를 이미 계산한 경우(증분 패치 등) 본문과 글자 수를 함께 갱신합니다.
+     * 본문 해시가 바뀌면 이 문서의 분석 결과만 무효화합니다.
+     */
+    public void updateContent(String content, int wordCount) {
         this.content = content;
-        this.wordCount = calculateWordCount(content);
+        this.wordCount = wordCount;
+        this.contentHash = ContentHasher.hash(content);
+        if (analysisStatus == AnalysisStatus.COMPLETED && !contentHash.equals(analyzedContentHash)) {
+            this.analysisStatus = AnalysisStatus.NONE;
+        }
     }
 
     public void update(String title, String synopsis, Integer order, DocumentStatus status,
@@ -140,12 +182,11 @@ public class Document extends BaseEntity {
         this.order = newOrder;
     }
 
-    private int calculateWordCount(String text) {
-        if (text == null || text.isEmpty()) {
-            return 0;
-        }
-        // Simple word count - can be enhanced
-        return text.replaceAll("<[^>]*>", "").trim().length();
+    /**
+     * 태그를 제외한 글자 수 (앞뒤 공백 제외)
+     */
+    public static int calculateWordCount(String text) {
+        return WordCounter.countCharacters(text);
     }
 
     public enum DocumentType {
@@ -174,6 +215,30 @@ public class Document extends BaseEntity {
         this.analysisStatus = status;
     }
 
+    /**
+     * 분석 완료를 기록합니다.
+     *
+     * @param analyzedHash 분석한 본문의 해시 (null이면 현재 본문 기준)
+     */
+    public void completeAnalysis(String analyzedHash) {
+        this.analyzedContentHash = analyzedHash != null ? analyzedHash : contentHash;
+        // 분석 중에 본문이 바뀌었으면 결과는 저장하되 다음 분석 대상으로 남김
+        this.analysisStatus = Objects.equals(analyzedContentHash, contentHash)
+                ? AnalysisStatus.COMPLETED
+                : AnalysisStatus.NONE;
+    }
+
+    /**
+     * 현재 본문으로 분석이 완료되었는지 (기존 문서는 해시가 없으면 분석 상태만으로 판단)
+     */
+    public boolean isAnalysisUpToDate() {
+        return isAnalysisUpToDate(analysisStatus, contentHash, analyzedContentHash);
+    }
+
+    public static boolean isAnalysisUpToDate(AnalysisStatus status, String contentHash, String analyzedContentHash) {
+        return status == AnalysisStatus.COMPLETED && Objects.equals(contentHash, analyzedContentHash);
+    }
+
     public void incrementRetryCount() {
         this.analysisRetryCount++;
     }
@@ -39,11 +39,51 @@ public class ManuscriptJob {
 
     private int totalDocuments;
 
-    @Column(columnDefinition = "TEXT")
-    private String manuscriptContent;
+    // 원고 원문은 파일로 저장하고 경로/체크섬만 보관 (진행률 갱신 시 대용량 컬럼을 다시 쓰지 않도록)
+    @Column(length = 500)
+    private String sourcePath;
+
+    private Long sourceSize;
+
+    @Column(length = 64)
+    private String sourceChecksum;
+
+    // 업로드 시 판별한 원고 인코딩 (null이면 UTF-8)
+    @Column(length = 40)
+    private String sourceCharset;
 
     private UUID parentId;
 
+    // 원고 경계 판별 전략 (null이면 HEURISTIC)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ParseMode parseMode;
+
+    // 작업 선점 정보 (여러 서버 노드가 manuscript_jobs 테이블을 큐로 공유)
+    @Column(length = 100)
+    private String claimedBy;
+
+    private LocalDateTime claimedAt;
+
+    // 처리 중 주기적으로 갱신되며, 오래 갱신되지 않은 PROCESSING 작업은 중단된 것으로 간주
+    private LocalDateTime heartbeatAt;
+
+    // 선점 횟수 (중단/오류 후 재개할 때마다 증가, 상한을 넘으면 실패 처리)
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    // === 체크포인트 (문서 배치를 저장한 트랜잭션에서 함께 갱신) ===
+
+    // 생성된 문서의 시작 order (재개 시 같은 위치에 이어서 생성)
+    private Integer rootOrder;
+
+    // 저장 완료된 문서 수 (재개 시 이만큼의 문서는 다시 저장하지 않음)
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int checkpointDocuments;
+
+    // 체크포인트 시점까지 읽은 원문 바이트 수
+    private Long checkpointOffset;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -56,9 +96,32 @@ public class ManuscriptJob {
         FAILED
     }
 
+    public enum ParseMode {
+        HEURISTIC, // 상태 기반 헤더 검증, 평면 섹션 (업로드 기본값)
+        REGEX, // 정규식 챕터 폴더 + 구분선 섹션 (프로젝트 생성 시 입력한 원고)
+        FIXED_SIZE // 고정 글자 수 분할
+    }
+
     public void updateProgress(int progress, String message) {
         this.progress = progress;
         this.message = message;
+        this.heartbeatAt = LocalDateTime.now();
+    }
+
+    public void checkpoint(int documents, long offset) {
+        this.checkpointDocuments = documents;
+        this.checkpointOffset = offset;
+        this.heartbeatAt = LocalDateTime.now();
+    }
+
+    /**
+     * 마지막 체크포인트부터 다시 처리하도록 대기 상태로 되돌립니다.
+     */
+    public void requeue(String message) {
+        this.status = JobStatus.PENDING;
+        this.message = message;
+        this.claimedBy = null;
+        this.claimedAt = null;
     }
 
     public void complete(int totalDocuments) {
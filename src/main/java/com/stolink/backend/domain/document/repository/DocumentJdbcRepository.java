@@ -0,0 +1,82 @@
+package com.stolink.backend.domain.document.repository;
+
+import com.stolink.backend.domain.document.entity.Document;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 문서 일괄 변경용 JDBC 저장소
+ *
+ * 엔티티 로딩/dirty checking 없이 여러 행을 한 번의 배치로 갱신해야 하는 경로에서 사용합니다.
+ * JPA 트랜잭션과 같은 커넥션을 사용하므로 호출 측 @Transactional 범위에 함께 묶입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO documents (id, project_id, parent_id, type, title, content, "
+            + "synopsis, \"order\", status, analysis_status, analysis_retry_count, label, label_color, word_count, "
+            + "target_word_count, include_in_compile, keywords, notes, version, created_at, updated_at, content_hash) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 새 문서를 한 번의 배치로 저장합니다. (원고 가져오기용)
+     *
+     * ID는 호출 측에서 미리 할당해야 하며, 부모 문서는 목록에서 자식보다 앞에 있거나 이미 저장되어 있어야 합니다.
+     * 영속성 컨텍스트를 거치지 않으므로 저장한 Document 객체는 준영속 상태로 남습니다.
+     */
+    @Transactional
+    public void insertAll(List<Document> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, documents, documents.size(), (ps, document) -> {
+            ps.setObject(1, document.getId());
+            ps.setObject(2, document.getProject().getId());
+            ps.setObject(3, document.getParent() != null ? document.getParent().getId() : null, Types.OTHER);
+            ps.setString(4, document.getType().name());
+            ps.setString(5, document.getTitle());
+            ps.setString(6, document.getContent());
+            ps.setString(7, document.getSynopsis());
+            ps.setInt(8, document.getOrder());
+            ps.setString(9, document.getStatus() != null ? document.getStatus().name() : null);
+            ps.setString(10, document.getAnalysisStatus().name());
+            ps.setInt(11, document.getAnalysisRetryCount());
+            ps.setString(12, document.getLabel());
+            ps.setString(13, document.getLabelColor());
+            ps.setInt(14, document.getWordCount());
+            ps.setObject(15, document.getTargetWordCount(), Types.INTEGER);
+            ps.setBoolean(16, document.getIncludeInCompile());
+            ps.setString(17, document.getKeywords());
+            ps.setString(18, document.getNotes());
+            ps.setLong(19, document.getVersion() != null ? document.getVersion() : 0L);
+            ps.setTimestamp(20, now);
+            ps.setTimestamp(21, now);
+            ps.setString(22, document.getContentHash());
+        });
+    }
+
+    /**
+     * orderedIds의 순서대로 order 값을 ORDER_GAP 간격(0, 1024, 2048, ...)으로 일괄 갱신합니다.
+     */
+    public void updateOrders(List<UUID> orderedIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(orderedIds.size());
+        for (int i = 0; i < orderedIds.size(); i++) {
+            args.add(new Object[] { i * Document.ORDER_GAP, now, orderedIds.get(i) });
+        }
+        jdbcTemplate.batchUpdate("UPDATE documents SET \"order\" = ?, updated_at = ? WHERE id = ?", args);
+    }
+}
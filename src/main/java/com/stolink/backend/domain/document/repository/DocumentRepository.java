@@ -1,8 +1,15 @@
 package com.stolink.backend.domain.document.repository;
 
+import com.stolink.backend.domain.document.dto.AnalysisTargetView;
+import com.stolink.backend.domain.document.dto.DocumentContentState;
+import com.stolink.backend.domain.document.dto.DocumentContentSize;
+import com.stolink.backend.domain.document.dto.DocumentContentView;
+import com.stolink.backend.domain.document.dto.DocumentPlacement;
+import com.stolink.backend.domain.document.dto.DocumentTreeNode;
 import com.stolink.backend.domain.document.entity.Document;
 import com.stolink.backend.domain.project.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,6 +17,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,24 +37,121 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
 
         List<Document> findByProjectAndParentIsNullOrderByOrder(Project project);
 
-        List<Document> findByParentOrderByOrder(Document parent);
-
         Optional<Document> findByIdAndProject(UUID id, Project project);
 
-        @Query("SELECT d FROM Document d WHERE d.project = :project AND d.parent IS NULL ORDER BY d.order")
-        List<Document> findRootDocuments(@Param("project") Project project);
-
         @Query("SELECT SUM(d.wordCount) FROM Document d WHERE d.project = :project")
         Long sumWordCountByProject(@Param("project") Project project);
 
         @Query("SELECT COUNT(d) FROM Document d WHERE d.project = :project AND d.type = 'TEXT'")
         Long countTextDocumentsByProject(@Param("project") Project project);
 
-        @Query("SELECT d FROM Document d LEFT JOIN FETCH d.parent WHERE d.project = :project ORDER BY d.order ASC")
-        List<Document> findByProjectWithParent(@Param("project") Project project);
+        /**
+         * 문서 트리 메타데이터 조회 (본문 제외, 트리 캐시 적재용)
+         */
+        @Query("SELECT new com.stolink.backend.domain.document.dto.DocumentTreeNode("
+                        + "d.id, p.id, d.type, d.title, d.order, d.status, d.wordCount, d.label, d.labelColor) "
+                        + "FROM Document d LEFT JOIN d.parent p WHERE d.project.id = :projectId ORDER BY d.order ASC")
+        List<DocumentTreeNode> findTreeNodesByProjectId(@Param("projectId") UUID projectId);
+
+        /**
+         * 여러 문서의 위치/소유 정보를 한 번에 조회 (일괄 정렬 검증용)
+         */
+        @Query("SELECT new com.stolink.backend.domain.document.dto.DocumentPlacement("
+                        + "d.id, pr.id, p.id, u.id, d.order) "
+                        + "FROM Document d JOIN d.project pr JOIN pr.user u LEFT JOIN d.parent p "
+                        + "WHERE d.id IN :ids")
+        List<DocumentPlacement> findPlacementsByIds(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * 여러 문서를 부모와 함께 한 번에 조회 (일괄 수정용)
+         */
+        @Query("SELECT d FROM Document d JOIN FETCH d.project LEFT JOIN FETCH d.parent WHERE d.id IN :ids")
+        List<Document> findAllWithParentByIdIn(@Param("ids") Collection<UUID> ids);
 
         void deleteAllByProject(Project project);
 
+        // === 하위 트리(subtree) 관련 메서드 (WITH RECURSIVE, 깊이와 무관하게 쿼리 1회) ===
+
+        /**
+         * documentId 문서부터 부모 방향으로 올라가며 ancestorId 문서가 있는지 확인
+         * (documentId가 ancestorId 자신이거나 그 하위 문서이면 true)
+         */
+        @Query(value = "WITH RECURSIVE ancestors(id, parent_id) AS ("
+                        + "SELECT id, parent_id FROM documents WHERE id = :documentId "
+                        + "UNION "
+                        + "SELECT d.id, d.parent_id FROM documents d JOIN ancestors a ON d.id = a.parent_id) "
+                        + "SELECT EXISTS (SELECT 1 FROM ancestors WHERE id = :ancestorId)", nativeQuery = true)
+        boolean isSelfOrDescendantOf(@Param("documentId") UUID documentId, @Param("ancestorId") UUID ancestorId);
+
+        /**
+         * 문서와 모든 하위 문서의 ID 조회 (자기 자신 포함)
+         */
+        @Query(value = "WITH RECURSIVE subtree(id) AS ("
+                        + "SELECT id FROM documents WHERE id = :rootId "
+                        + "UNION "
+                        + "SELECT d.id FROM documents d JOIN subtree s ON d.parent_id = s.id) "
+                        + "SELECT id FROM subtree", nativeQuery = true)
+        List<UUID> findSubtreeIds(@Param("rootId") UUID rootId);
+
+        /**
+         * 문서와 모든 하위 TEXT 문서의 글자 수 합계와 문서 수 조회
+         */
+        @Query(value = "WITH RECURSIVE subtree(id) AS ("
+                        + "SELECT id FROM documents WHERE id = :rootId "
+                        + "UNION "
+                        + "SELECT d.id FROM documents d JOIN subtree s ON d.parent_id = s.id) "
+                        + "SELECT COALESCE(SUM(d.word_count), 0) AS wordCount, COUNT(d.id) AS documentCount "
+                        + "FROM documents d JOIN subtree s ON d.id = s.id WHERE d.type = 'TEXT'", nativeQuery = true)
+        SubtreeWordCount sumSubtreeWordCount(@Param("rootId") UUID rootId);
+
+        /**
+         * 여러 문서를 한 번에 삭제 (하위 트리 삭제용, 부모-자식 간 FK는 문장 단위로 검사됨)
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("DELETE FROM Document d WHERE d.id IN :ids")
+        int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * 하위 트리 전체를 한 번의 INSERT ... SELECT로 복사
+         * 원본 문서마다 새 ID를 발급하고, 복사본의 부모는 원본 부모의 복사본으로 연결합니다.
+         * 최상위 복사본은 newRootId/targetParentId/rootOrder/rootTitle을 사용하며, 분석 상태는 초기화됩니다.
+         *
+         * @return 복사된 문서 수
+         */
+        @Modifying(flushAutomatically = true)
+        @Query(value = "WITH RECURSIVE subtree(id) AS ("
+                        + "SELECT id FROM documents WHERE id = :rootId "
+                        + "UNION "
+                        + "SELECT d.id FROM documents d JOIN subtree s ON d.parent_id = s.id), "
+                        + "mapping AS MATERIALIZED ("
+                        + "SELECT id AS old_id, CASE WHEN id = :rootId THEN CAST(:newRootId AS uuid) "
+                        + "ELSE gen_random_uuid() END AS new_id FROM subtree) "
+                        + "INSERT INTO documents (id, project_id, parent_id, type, title, content, content_hash, synopsis, "
+                        + "\"order\", status, analysis_status, analysis_retry_count, label, label_color, word_count, "
+                        + "target_word_count, include_in_compile, keywords, notes, version, created_at, updated_at) "
+                        + "SELECT m.new_id, d.project_id, "
+                        + "CASE WHEN d.id = :rootId THEN CAST(:targetParentId AS uuid) ELSE pm.new_id END, "
+                        + "d.type, CASE WHEN d.id = :rootId THEN :rootTitle ELSE d.title END, d.content, d.content_hash, "
+                        + "d.synopsis, CASE WHEN d.id = :rootId THEN :rootOrder ELSE d.\"order\" END, "
+                        + "d.status, 'NONE', 0, d.label, d.label_color, d.word_count, "
+                        + "d.target_word_count, d.include_in_compile, d.keywords, d.notes, 0, now(), now() "
+                        + "FROM documents d JOIN mapping m ON m.old_id = d.id "
+                        + "LEFT JOIN mapping pm ON pm.old_id = d.parent_id", nativeQuery = true)
+        int copySubtree(@Param("rootId") UUID rootId,
+                        @Param("newRootId") UUID newRootId,
+                        @Param("targetParentId") UUID targetParentId,
+                        @Param("rootOrder") int rootOrder,
+                        @Param("rootTitle") String rootTitle);
+
+        /**
+         * 하위 트리 글자 수 집계 결과
+         */
+        interface SubtreeWordCount {
+                long getWordCount();
+
+                long getDocumentCount();
+        }
+
         // === 대용량 분석 아키텍처 관련 메서드 ===
 
         /**
@@ -63,10 +169,45 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
         List<Document> findFailedDocumentsForRetry(@Param("maxRetry") int maxRetry);
 
         /**
-         * 프로젝트 ID로 TEXT 타입 문서 조회 (분석 대상)
+         * 프로젝트 ID로 TEXT 타입 문서의 분석 메타데이터 조회 (분석 대상, 본문 제외)
+         */
+        @Query("SELECT new com.stolink.backend.domain.document.dto.AnalysisTargetView("
+                        + "d.id, p.id, p.title, d.title, d.order, d.analysisStatus, d.contentHash, "
+                        + "d.analyzedContentHash) "
+                        + "FROM Document d LEFT JOIN d.parent p "
+                        + "WHERE d.project.id = :projectId AND d.type = 'TEXT' ORDER BY d.order")
+        List<AnalysisTargetView> findAnalysisTargetsByProjectId(@Param("projectId") UUID projectId);
+
+        /**
+         * 여러 문서의 본문을 한 번에 조회
          */
-        @Query("SELECT d FROM Document d WHERE d.project.id = :projectId AND d.type = 'TEXT' ORDER BY d.order")
-        List<Document> findTextDocumentsByProjectId(@Param("projectId") UUID projectId);
+        @Query("SELECT new com.stolink.backend.domain.document.dto.DocumentContentView(d.id, d.content) "
+                        + "FROM Document d WHERE d.id IN :ids")
+        List<DocumentContentView> findContentsByIds(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * 프로젝트 내 TEXT 문서의 본문을 한 번에 조회
+         */
+        @Query("SELECT new com.stolink.backend.domain.document.dto.DocumentContentView(d.id, d.content) "
+                        + "FROM Document d WHERE d.project.id = :projectId AND d.type = 'TEXT'")
+        List<DocumentContentView> findTextContentsByProjectId(@Param("projectId") UUID projectId);
+
+        /**
+         * 분석 상태 일괄 변경
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Document d SET d.analysisStatus = :status WHERE d.id IN :ids")
+        int updateAnalysisStatusByIds(@Param("ids") Collection<UUID> ids,
+                        @Param("status") Document.AnalysisStatus status);
+
+        /**
+         * 현재 상태가 from인 문서만 분석 상태 일괄 변경 (그 사이 다른 상태로 바뀐 문서는 유지)
+         */
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Document d SET d.analysisStatus = :to WHERE d.id IN :ids AND d.analysisStatus = :from")
+        int updateAnalysisStatusByIdsAndStatus(@Param("ids") Collection<UUID> ids,
+                        @Param("from") Document.AnalysisStatus from,
+                        @Param("to") Document.AnalysisStatus to);
 
         /**
          * 프로젝트 내 TEXT 문서 총 수 조회
@@ -81,6 +222,76 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
         Optional<Integer> findMaxOrderByProjectAndParent(@Param("project") Project project,
                         @Param("parent") Document parent);
 
+        /**
+         * 주어진 order 바로 다음 형제의 order 조회 (사이 삽입용, 이동 중인 문서 제외)
+         */
+        @Query("SELECT MIN(d.order) FROM Document d WHERE d.project = :project AND ((:parent IS NULL AND d.parent IS NULL) OR d.parent = :parent) AND d.order > :order AND (:excludeId IS NULL OR d.id <> :excludeId)")
+        Optional<Integer> findNextOrder(@Param("project") Project project, @Param("parent") Document parent,
+                        @Param("order") int order, @Param("excludeId") UUID excludeId);
+
+        /**
+         * 주어진 order 바로 앞 형제의 order 조회 (사이 삽입용, 이동 중인 문서 제외)
+         */
+        @Query("SELECT MAX(d.order) FROM Document d WHERE d.project = :project AND ((:parent IS NULL AND d.parent IS NULL) OR d.parent = :parent) AND d.order < :order AND (:excludeId IS NULL OR d.id <> :excludeId)")
+        Optional<Integer> findPreviousOrder(@Param("project") Project project, @Param("parent") Document parent,
+                        @Param("order") int order, @Param("excludeId") UUID excludeId);
+
+        /**
+         * 형제 문서 ID를 현재 순서대로 조회 (order 재배치용)
+         */
+        @Query("SELECT d.id FROM Document d WHERE d.project.id = :projectId AND ((:parentId IS NULL AND d.parent IS NULL) OR d.parent.id = :parentId) ORDER BY d.order ASC, d.createdAt ASC")
+        List<UUID> findSiblingIdsOrderByOrder(@Param("projectId") UUID projectId, @Param("parentId") UUID parentId);
+
+        /**
+         * 본문 일부 조회 (start는 1부터 시작, 코드 포인트 기준)
+         */
         @Query("SELECT SUBSTRING(d.content, :start, :length) FROM Document d WHERE d.id = :id")
         String findContentPart(@Param("id") UUID id, @Param("start") int start, @Param("length") int length);
+
+        /**
+         * 본문 저장 기준 상태 조회 (자동 저장 버퍼 적재용)
+         */
+        @Query("SELECT new com.stolink.backend.domain.document.dto.DocumentContentState("
+                        + "d.id, d.content, d.wordCount, d.version) FROM Document d WHERE d.id = :id")
+        Optional<DocumentContentState> findContentStateById(@Param("id") UUID id);
+
+        /**
+         * 버퍼에 모인 본문을 버전과 함께 기록 (자동 저장 버퍼 flush용)
+         * 본문 해시가 마지막 분석 본문과 달라지면 완료된 분석 상태를 초기화합니다.
+         * 현재 버전이 기록할 버전보다 낮은 경우에만 기록하므로 오래된 본문이 최신 본문을 덮어쓰지 않습니다.
+         *
+         * @return 기록된 행 수 (0이면 이미 같거나 더 높은 버전이 기록됨)
+         */
+        @Modifying
+        @Query("UPDATE Document d SET d.content = :content, d.wordCount = :wordCount, d.version = :version, "
+                        + "d.contentHash = :contentHash, d.updatedAt = :updatedAt, "
+                        + "d.analysisStatus = CASE WHEN d.analysisStatus = :completed "
+                        + "AND (d.analyzedContentHash IS NULL OR d.analyzedContentHash <> :contentHash) "
+                        + "THEN :none ELSE d.analysisStatus END "
+                        + "WHERE d.id = :id AND d.version < :version")
+        int updateContentState(@Param("id") UUID id, @Param("content") String content,
+                        @Param("wordCount") int wordCount, @Param("version") long version,
+                        @Param("contentHash") String contentHash,
+                        @Param("updatedAt") LocalDateTime updatedAt,
+                        @Param("completed") Document.AnalysisStatus completed,
+                        @Param("none") Document.AnalysisStatus none);
+
+        /**
+         * 본문 길이 조회 (PostgreSQL char_length, 본문을 로딩하지 않음)
+         */
+        @Query("SELECT COALESCE(LENGTH(d.content), 0) FROM Document d WHERE d.id = :id")
+        Integer findContentLength(@Param("id") UUID id);
+
+        /**
+         * 여러 문서의 본문 길이 조회 (PostgreSQL char_length, 본문을 로딩하지 않음)
+         */
+        @Query("SELECT new com.stolink.backend.domain.document.dto.DocumentContentSize("
+                        + "d.id, COALESCE(LENGTH(d.content), 0)) FROM Document d WHERE d.id IN :ids")
+        List<DocumentContentSize> findContentSizesByIds(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * 현재 본문 해시 조회 (본문을 로딩하지 않음)
+         */
+        @Query("SELECT d.contentHash FROM Document d WHERE d.id = :id")
+        Optional<String> findContentHashById(@Param("id") UUID id);
 }
@@ -3,8 +3,13 @@ package com.stolink.backend.domain.document.repository;
 import com.stolink.backend.domain.document.entity.ManuscriptJob;
 import com.stolink.backend.domain.project.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +22,127 @@ public interface ManuscriptJobRepository extends JpaRepository<ManuscriptJob, UU
     List<ManuscriptJob> findByUserIdAndStatusIn(UUID userId, List<ManuscriptJob.JobStatus> statuses);
 
     Optional<ManuscriptJob> findByIdAndUserId(UUID id, UUID userId);
+
+    List<ManuscriptJob> findByStatusAndCompletedAtBeforeAndSourcePathIsNotNull(ManuscriptJob.JobStatus status,
+            LocalDateTime completedAt);
+
+    long countByStatus(ManuscriptJob.JobStatus status);
+
+    // === 작업 큐 (SKIP LOCKED 선점) ===
+
+    /**
+     * 대기 중인 작업을 오래된 순으로 잠그고 ID를 반환합니다.
+     * 다른 노드가 잠근 행은 건너뛰므로 여러 노드가 동시에 호출해도 같은 작업을 선점하지 않습니다.
+     */
+    @Query(value = "SELECT id FROM manuscript_jobs WHERE status = 'PENDING' ORDER BY created_at "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockPendingJobIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.status = :status, j.claimedBy = :workerId, j.claimedAt = :now, "
+            + "j.heartbeatAt = :now, j.attempts = j.attempts + 1 WHERE j.id IN :ids")
+    int markClaimed(@Param("ids") Collection<UUID> ids,
+            @Param("status") ManuscriptJob.JobStatus status,
+            @Param("workerId") String workerId,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * 선점했지만 시작하지 못한 작업을 다시 대기 상태로 돌립니다.
+     */
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.status = :pending, j.claimedBy = null, j.claimedAt = null "
+            + "WHERE j.id IN :ids AND j.status = :processing")
+    int releaseClaims(@Param("ids") Collection<UUID> ids,
+            @Param("pending") ManuscriptJob.JobStatus pending,
+            @Param("processing") ManuscriptJob.JobStatus processing);
+
+    // === 선점한 작업의 상태 갱신 (fencing) ===
+    // 선점 시 attempts가 증가하므로 (claimedBy, attempts)가 선점 토큰 역할을 합니다.
+    // heartbeat가 끊겨 다시 대기/선점된 작업에는 이전 작업자의 갱신이 반영되지 않습니다. (갱신 행 수 0)
+
+    String OWNED_BY_CLAIM = " WHERE j.id = :id AND j.status = :processing AND j.claimedBy = :owner "
+            + "AND j.attempts = :attempt";
+
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.progress = :progress, j.message = :message, j.rootOrder = :rootOrder, "
+            + "j.heartbeatAt = :now" + OWNED_BY_CLAIM)
+    int updateProgressIfOwned(@Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("attempt") int attempt,
+            @Param("processing") ManuscriptJob.JobStatus processing,
+            @Param("progress") int progress,
+            @Param("message") String message,
+            @Param("rootOrder") Integer rootOrder,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.checkpointDocuments = :documents, j.checkpointOffset = :offset, "
+            + "j.progress = :progress, j.message = :message, j.heartbeatAt = :now" + OWNED_BY_CLAIM)
+    int checkpointIfOwned(@Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("attempt") int attempt,
+            @Param("processing") ManuscriptJob.JobStatus processing,
+            @Param("documents") int documents,
+            @Param("offset") long offset,
+            @Param("progress") int progress,
+            @Param("message") String message,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.status = :completed, j.progress = 100, j.totalDocuments = :totalDocuments, "
+            + "j.message = :message, j.completedAt = :now" + OWNED_BY_CLAIM)
+    int completeIfOwned(@Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("attempt") int attempt,
+            @Param("processing") ManuscriptJob.JobStatus processing,
+            @Param("completed") ManuscriptJob.JobStatus completed,
+            @Param("totalDocuments") int totalDocuments,
+            @Param("message") String message,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.status = :pending, j.message = :message, j.claimedBy = null, "
+            + "j.claimedAt = null" + OWNED_BY_CLAIM)
+    int requeueIfOwned(@Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("attempt") int attempt,
+            @Param("processing") ManuscriptJob.JobStatus processing,
+            @Param("pending") ManuscriptJob.JobStatus pending,
+            @Param("message") String message);
+
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.status = :failed, j.message = :message, j.completedAt = :now, "
+            + "j.checkpointDocuments = :checkpointDocuments" + OWNED_BY_CLAIM)
+    int failIfOwned(@Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("attempt") int attempt,
+            @Param("processing") ManuscriptJob.JobStatus processing,
+            @Param("failed") ManuscriptJob.JobStatus failed,
+            @Param("message") String message,
+            @Param("checkpointDocuments") int checkpointDocuments,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * heartbeat가 끊긴 처리 중 작업을 대기 상태로 돌립니다. (처리 중 노드가 종료된 경우, 체크포인트부터 재개)
+     */
+    @Modifying
+    @Query("UPDATE ManuscriptJob j SET j.status = :pending, j.message = :message, j.claimedBy = null, "
+            + "j.claimedAt = null WHERE j.status = :processing AND j.heartbeatAt < :threshold "
+            + "AND j.attempts < :maxAttempts")
+    int requeueStaleJobs(@Param("threshold") LocalDateTime threshold,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("processing") ManuscriptJob.JobStatus processing,
+            @Param("pending") ManuscriptJob.JobStatus pending,
+            @Param("message") String message);
+
+    /**
+     * 재개 횟수를 모두 사용했는데도 heartbeat가 끊긴 작업을 잠그고 ID를 반환합니다.
+     * (실패 기록과 생성된 문서 삭제를 같은 트랜잭션에서 하며, 다른 노드가 처리 중인 행은 건너뜀)
+     */
+    @Query(value = "SELECT id FROM manuscript_jobs WHERE status = 'PROCESSING' AND heartbeat_at < :threshold "
+            + "AND attempts >= :maxAttempts ORDER BY heartbeat_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<UUID> lockStaleJobIds(@Param("threshold") LocalDateTime threshold,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("limit") int limit);
 }
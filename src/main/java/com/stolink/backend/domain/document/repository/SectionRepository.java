@@ -3,10 +3,12 @@ package com.stolink.backend.domain.document.repository;
 import com.stolink.backend.domain.document.entity.Document;
 import com.stolink.backend.domain.document.entity.Section;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -53,4 +55,11 @@ public interface SectionRepository extends JpaRepository<Section, UUID> {
      * 문서 ID로 모든 Section 삭제
      */
     void deleteAllByDocumentId(UUID documentId);
+
+    /**
+     * 여러 문서의 Section을 한 번에 삭제 (하위 트리 삭제용)
+     */
+    @Modifying
+    @Query("DELETE FROM Section s WHERE s.document.id IN :documentIds")
+    int deleteAllByDocumentIdIn(@Param("documentIds") Collection<UUID> documentIds);
 }
@@ -0,0 +1,188 @@
+package com.stolink.backend.domain.document.service;
+
+import java.util.function.Consumer;
+
+/**
+ * 목표 크기 기준 적응형 분할기
+ *
+ * 텍스트를 이어 붙이면서 목표 크기(targetChars)의 ±25% 구간에서 가장 좋은 경계를 찾아 자릅니다.
+ * 경계 우선순위는 문단(빈 줄 > 줄바꿈) > 문장 끝 > 공백이며, 같은 순위 안에서는 목표 크기에 가까운 위치를 고릅니다.
+ * 구간 안에 경계가 없으면 목표 크기에서 자릅니다. (서로게이트 쌍은 나누지 않음)
+ *
+ * 자를 때마다 탐색 구간만 한 번 훑고 내보낸 앞부분은 버퍼에서 회수하므로, 전체 처리 시간과 메모리는
+ * 입력 길이에 비례하며 한 번에 보관하는 텍스트는 최대 조각 크기 정도입니다.
+ * 마지막 조각을 제외한 모든 조각은 목표 크기의 75%~125%입니다.
+ */
+class AdaptiveChunker {
+
+    static final int DEFAULT_TARGET_CHARS = 10000;
+
+    // 경계 순위 (클수록 우선)
+    private static final int SPACE = 0;
+    private static final int SENTENCE = 1;
+    private static final int LINE = 2;
+    private static final int BLANK_LINE = 3;
+
+    private final int targetChars;
+    private final int minChars;
+    private final int maxChars;
+    private final Consumer<String> sink;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private int start = 0; // 아직 내보내지 않은 부분의 시작 위치
+
+    /**
+     * @param sink 앞뒤 공백을 제거한 조각을 받음 (빈 조각은 전달하지 않음)
+     */
+    AdaptiveChunker(int targetChars, Consumer<String> sink) {
+        if (targetChars < 4) {
+            throw new IllegalArgumentException("targetChars must be at least 4: " + targetChars);
+        }
+        this.targetChars = targetChars;
+        this.minChars = targetChars - targetChars / 4;
+        this.maxChars = targetChars + targetChars / 4;
+        this.sink = sink;
+    }
+
+    /**
+     * 목표 크기 기준으로 나눌 만큼 긴 텍스트인지 확인합니다.
+     */
+    static boolean exceeds(CharSequence text, int targetChars) {
+        return text.length() > targetChars + targetChars / 4;
+    }
+
+    /**
+     * 긴 섹션을 "제목 (1)", "제목 (2)" ... 로 나누어 내보냅니다. (나눌 필요가 없으면 그대로)
+     */
+    static void splitSection(String title, String content, int targetChars,
+            Consumer<ImprovedManuscriptParser.ParsedSection> sink) {
+        if (!exceeds(content, targetChars)) {
+            sink.accept(new ImprovedManuscriptParser.ParsedSection(title, content));
+            return;
+        }
+        int[] partNumber = { 1 };
+        AdaptiveChunker chunker = new AdaptiveChunker(targetChars,
+                chunk -> sink.accept(new ImprovedManuscriptParser.ParsedSection(
+                        title + " (" + partNumber[0]++ + ")", chunk)));
+        chunker.append(content);
+        chunker.finish();
+    }
+
+    void append(CharSequence text) {
+        buffer.append(text);
+        // 자를 위치 뒤에 한 글자 이상 있어야 문장 끝 여부를 판단할 수 있음
+        while (buffer.length() - start > maxChars) {
+            cut();
+        }
+        // 내보낸 앞부분이 절반을 넘으면 버퍼를 당겨 메모리 회수
+        if (start > buffer.length() / 2) {
+            buffer.delete(0, start);
+            start = 0;
+        }
+    }
+
+    void finish() {
+        while (buffer.length() - start > maxChars) {
+            cut();
+        }
+        emit(buffer.length());
+        buffer.setLength(0);
+        start = 0;
+    }
+
+    private void cut() {
+        emit(findCutPoint());
+    }
+
+    private void emit(int end) {
+        String chunk = buffer.substring(start, end).trim();
+        if (!chunk.isEmpty()) {
+            sink.accept(chunk);
+        }
+        start = end;
+    }
+
+    /**
+     * [start + minChars, start + maxChars] 구간에서 자를 위치를 찾습니다. (해당 위치의 글자부터 다음 조각)
+     */
+    private int findCutPoint() {
+        int target = start + targetChars;
+        int low = start + minChars;
+        int high = start + maxChars;
+
+        int[] best = { -1, -1, -1, -1 };
+        boolean lineBlank = isLineBlankBefore(low - 1);
+        for (int i = low - 1; i < high; i++) {
+            char c = buffer.charAt(i);
+            int cut = i + 1;
+            int rank = -1;
+            if (c == '\n') {
+                rank = lineBlank ? BLANK_LINE : LINE;
+                lineBlank = true;
+            } else if (isSpace(c)) {
+                rank = SPACE;
+            } else {
+                lineBlank = false;
+                if (isSentenceEnd(i)) {
+                    rank = SENTENCE;
+                }
+            }
+            if (rank >= 0 && cut >= low
+                    && (best[rank] < 0 || Math.abs(cut - target) < Math.abs(best[rank] - target))) {
+                best[rank] = cut;
+            }
+        }
+        for (int rank = BLANK_LINE; rank >= SPACE; rank--) {
+            if (best[rank] >= 0) {
+                return best[rank];
+            }
+        }
+        return Character.isHighSurrogate(buffer.charAt(target - 1)) ? target - 1 : target;
+    }
+
+    // index 앞쪽(같은 줄)이 모두 공백인지 (탐색 구간 시작 시점의 줄 상태)
+    private boolean isLineBlankBefore(int index) {
+        for (int i = index - 1; i >= start; i--) {
+            char c = buffer.charAt(i);
+            if (c == '\n') {
+                return true;
+            }
+            if (!isSpace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * index의 글자 뒤에서 문장이 끝나는지 확인합니다.
+     *
+     * 마침표/물음표/느낌표/말줄임표(전각 포함) 뒤에 닫는 따옴표·괄호가 올 수 있고("했어요.”"),
+     * 그 뒤가 공백이나 줄바꿈이어야 문장 끝으로 봅니다. 숫자 뒤의 마침표("1.", "3.14")는 제외합니다.
+     */
+    private boolean isSentenceEnd(int index) {
+        if (!isSpace(buffer.charAt(index + 1)) && buffer.charAt(index + 1) != '\n') {
+            return false;
+        }
+        int i = index;
+        while (i > start && isClosing(buffer.charAt(i))) {
+            i--;
+        }
+        char c = buffer.charAt(i);
+        if (c == '.') {
+            return i > start && !Character.isDigit(buffer.charAt(i - 1));
+        }
+        return c == '?' || c == '!' || c == '…' || c == '。' || c == '？' || c == '！';
+    }
+
+    private static boolean isClosing(char c) {
+        return switch (c) {
+            case '"', '\'', '”', '’', '」', '』', ')', ']', '》', '〉' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '　';
+    }
+}
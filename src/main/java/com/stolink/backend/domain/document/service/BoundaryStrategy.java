@@ -0,0 +1,34 @@
+package com.stolink.backend.domain.document.service;
+
+/**
+ * 원고 경계(챕터/섹션) 판별 전략
+ *
+ * 파서 엔진은 줄 읽기, 병렬 분류, 이벤트 전달을 담당하고, 전략은 어느 줄에서 문서를 나눌지만 결정합니다.
+ * 전략 인스턴스는 앞 줄 문맥을 상태로 가지므로 원고 하나를 파싱할 때마다 새로 만들어 사용합니다.
+ */
+public interface BoundaryStrategy {
+
+    /**
+     * 순차 모드에서 accept에 전달되는 플래그 (분류 전)
+     */
+    int UNCLASSIFIED = -1;
+
+    /**
+     * 줄 자체만으로 판단한 플래그를 반환합니다. (0~127)
+     *
+     * 앞 줄 문맥에 의존하지 않아야 하며, 병렬 모드에서는 여러 스레드에서 동시에 호출됩니다.
+     */
+    int classify(String line);
+
+    /**
+     * 원고 순서대로 한 줄씩 호출됩니다.
+     *
+     * @param flags 병렬 모드에서 미리 계산한 classify 결과 (순차 모드는 UNCLASSIFIED)
+     */
+    void accept(String line, int flags, SectionAssembler assembler);
+
+    /**
+     * 원고 끝에서 남은 내용을 내보냅니다.
+     */
+    void finish(SectionAssembler assembler);
+}
@@ -0,0 +1,175 @@
+package com.stolink.backend.domain.document.service;
+
+/**
+ * 챕터 헤더 판별기 (한 줄을 한 번만 순회, 할당 없음)
+ *
+ * 금지 문자(따옴표, 말줄임표), 문장 부호(?, !), 챕터 키워드(장/편/부/권), 선행 숫자 구간을
+ * 한 번의 순회로 수집하고, 챕터 마커는 첫 글자로 후보를 하나만 골라 접두어를 비교합니다.
+ * 판별 규칙은 기존 마커/금지 문자 목록을 순회하던 검증과 같습니다.
+ *
+ * 줄 자체만으로 판단하는 부분(classify)과 앞 줄 문맥(빈 줄 수)에 따른 판단(acceptsContext)을
+ * 분리하여, 병렬 모드에서는 classify만 여러 스레드에서 미리 수행합니다.
+ */
+final class ChapterHeaderClassifier {
+
+    static final int MAX_TITLE_LENGTH = 100; // 제목 길이 상한
+    static final int MIN_EMPTY_LINES_BEFORE_CHAPTER = 2; // 최소 2줄 공백
+
+    // classify 결과 플래그
+    static final int HEADER = 1; // 문맥을 제외한 헤더 조건을 모두 만족
+    static final int STRONG = 2; // 강력한 헤더 패턴 ("제1장", "Chapter" 등)
+
+    private ChapterHeaderClassifier() {
+    }
+
+    /**
+     * 헤더 여부를 판단합니다. (순차 모드)
+     *
+     * @param trimmed 앞뒤 공백을 제거한 줄
+     */
+    static boolean isHeader(String trimmed, int emptyLineCount, boolean isFirstLine) {
+        int flags = classify(trimmed);
+        return (flags & HEADER) != 0 && acceptsContext(flags, emptyLineCount, isFirstLine);
+    }
+
+    /**
+     * 문맥 고려: 챕터 제목 앞에는 보통 빈 줄이 있음 (또는 파일 시작)
+     */
+    static boolean acceptsContext(int flags, int emptyLineCount, boolean isFirstLine) {
+        if (!isFirstLine && emptyLineCount < MIN_EMPTY_LINES_BEFORE_CHAPTER) {
+            // 공백이 부족해도, "강력한 마커"로 시작하면 빈 줄 1개로 허용 (예: "제1장")
+            return emptyLineCount >= 1 && (flags & STRONG) != 0;
+        }
+        return true;
+    }
+
+    /**
+     * 줄 자체만으로 판단한 헤더 플래그(HEADER, STRONG)를 반환합니다.
+     *
+     * @param trimmed 앞뒤 공백을 제거한 줄
+     */
+    static int classify(String trimmed) {
+        int length = trimmed.length();
+        if (length == 0 || length > MAX_TITLE_LENGTH) {
+            return 0;
+        }
+
+        boolean forbidden = false; // 따옴표 또는 "..."
+        boolean sentencePunctuation = false; // ? 또는 !
+        boolean chapterKeyword = false; // 장/편/부/권
+        int numberEnd = -1; // 선행 숫자(아라비아/로마) 구간의 끝
+        int dots = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = trimmed.charAt(i);
+            if (numberEnd < 0 && !isNumeral(c)) {
+                numberEnd = i;
+            }
+            switch (c) {
+                case '"', '\'', '“', '”', '‘', '’' -> forbidden = true;
+                case '?', '!' -> sentencePunctuation = true;
+                case '장', '편', '부', '권' -> chapterKeyword = true;
+                default -> {
+                }
+            }
+            dots = c == '.' ? dots + 1 : 0;
+            if (dots >= 3) {
+                forbidden = true;
+            }
+        }
+        if (numberEnd < 0) {
+            numberEnd = length;
+        }
+
+        char first = trimmed.charAt(0);
+        char upperFirst = Character.toUpperCase(first);
+
+        boolean strong = (first == '제' && chapterKeyword)
+                || (upperFirst == 'C' && startsWithIgnoreCase(trimmed, "CHAPTER"))
+                || (upperFirst == 'P' && startsWithIgnoreCase(trimmed, "PART"))
+                || (upperFirst == 'B' && startsWithIgnoreCase(trimmed, "BOOK"));
+        int flags = strong ? STRONG : 0;
+
+        // 1차 필터: 대화문/문장 형태 기각
+        if (forbidden) {
+            return flags;
+        }
+        if (!strong && sentencePunctuation) {
+            return flags;
+        }
+        if (trimmed.charAt(length - 1) == '.' && !Character.isDigit(first) && !strong) {
+            return flags;
+        }
+
+        // 2차 검증: 숫자 헤더 ("1.", "1장", "IV") 또는 챕터 마커
+        if (numberEnd > 0 && isValidNumberedHeader(trimmed, numberEnd)) {
+            return flags | HEADER;
+        }
+        if (isValidMarkerHeader(trimmed, first, upperFirst, chapterKeyword)) {
+            return flags | HEADER;
+        }
+        return flags;
+    }
+
+    // 숫자 바로 뒤에 오는 문자가 없거나 점(.), 공백, 단위(장, 편, 부, 권)여야 함 ("10년 뒤"는 기각)
+    private static boolean isValidNumberedHeader(String text, int numberEnd) {
+        if (numberEnd == text.length()) {
+            return true;
+        }
+        char afterNumber = text.charAt(numberEnd);
+        return afterNumber == '.' || Character.isWhitespace(afterNumber)
+                || afterNumber == '장' || afterNumber == '편' || afterNumber == '부' || afterNumber == '권';
+    }
+
+    // 마커는 첫 글자가 모두 달라 첫 글자로 후보가 하나로 정해짐
+    private static boolean isValidMarkerHeader(String text, char first, char upperFirst, boolean chapterKeyword) {
+        switch (first) {
+            case '제', '第':
+                // "제1장" 형태인지 추가 검증
+                return chapterKeyword;
+            case '편', '부', '권':
+                return true;
+            case '서':
+                return text.startsWith("서문");
+            case '프':
+                return text.startsWith("프롤로그");
+            case '에':
+                return text.startsWith("에필로그");
+            default:
+                break;
+        }
+        // 영문 마커는 대소문자 구분 없이 확인하며, 뒤에 숫자가 와야 함
+        String marker = switch (upperFirst) {
+            case 'C' -> "Chapter";
+            case 'P' -> "Part";
+            case 'B' -> "Book";
+            case 'V' -> "Volume";
+            case 'S' -> "Section";
+            default -> null;
+        };
+        return marker != null && startsWithIgnoreCase(text, marker) && isNumberAfter(text, marker.length());
+    }
+
+    // 마커 뒤 공백을 건너뛴 첫 글자가 숫자(아라비아 or 로마)인지
+    private static boolean isNumberAfter(String text, int from) {
+        int i = from;
+        while (i < text.length() && text.charAt(i) <= ' ') {
+            i++;
+        }
+        return i < text.length() && isNumeral(text.charAt(i));
+    }
+
+    private static boolean isNumeral(char c) {
+        if (Character.isDigit(c)) {
+            return true;
+        }
+        return switch (Character.toUpperCase(c)) {
+            case 'I', 'V', 'X', 'L', 'C', 'D', 'M' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return text.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+}
@@ -0,0 +1,168 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.UpdateContentRequest;
+import com.stolink.backend.domain.document.entity.Document;
+
+import java.util.List;
+
+/**
+ * 본문 편집 연산(삽입/삭제) 적용기
+ *
+ * 연산마다 변경 구간을 감싸는 줄(또는 태그 사이) 구간만 다시 세어 글자 수를 증분 갱신합니다.
+ * 구간 경계가 태그 중간에 걸리거나 본문 앞뒤 공백에 영향을 주는 경우에는
+ * {@link Document#calculateWordCount(String)}로 전체를 다시 셉니다.
+ */
+public final class ContentPatcher {
+
+    private ContentPatcher() {
+    }
+
+    public record Result(String content, int wordCount) {
+    }
+
+    /**
+     * @param content   현재 본문
+     * @param wordCount 현재 본문의 글자 수
+     * @param ops       순서대로 적용할 연산 (각 연산의 위치는 직전 연산이 적용된 본문 기준)
+     */
+    public static Result apply(String content, int wordCount, List<UpdateContentRequest.Operation> ops) {
+        StringBuilder text = new StringBuilder(content != null ? content : "");
+        int count = wordCount;
+        boolean incremental = true;
+
+        for (UpdateContentRequest.Operation op : ops) {
+            int position = requirePosition(op, text.length());
+            int removeLength = 0;
+            String insertText = "";
+
+            if (op.getType() == UpdateContentRequest.OperationType.INSERT) {
+                if (op.getText() == null) {
+                    throw new IllegalArgumentException("INSERT 연산에는 text가 필요합니다.");
+                }
+                insertText = op.getText();
+            } else {
+                if (op.getLength() == null || op.getLength() < 0 || position + op.getLength() > text.length()) {
+                    throw new IllegalArgumentException("DELETE 연산의 length가 본문 범위를 벗어났습니다.");
+                }
+                removeLength = op.getLength();
+            }
+
+            int windowStart = windowStart(text, position);
+            int windowEnd = windowEnd(text, position + removeLength);
+            int before = 0;
+            if (incremental) {
+                incremental = isSafeWindow(text, windowStart, windowEnd);
+                if (incremental) {
+                    before = countVisible(text, windowStart, windowEnd);
+                }
+            }
+
+            text.replace(position, position + removeLength, insertText);
+
+            if (incremental) {
+                int newWindowEnd = windowEnd - removeLength + insertText.length();
+                incremental = isSafeWindow(text, windowStart, newWindowEnd);
+                if (incremental) {
+                    count += countVisible(text, windowStart, newWindowEnd) - before;
+                }
+            }
+        }
+
+        String result = text.toString();
+        return new Result(result, incremental ? count : Document.calculateWordCount(result));
+    }
+
+    private static int requirePosition(UpdateContentRequest.Operation op, int length) {
+        if (op == null || op.getType() == null || op.getPosition() == null) {
+            throw new IllegalArgumentException("연산의 type과 position은 필수입니다.");
+        }
+        int position = op.getPosition();
+        if (position < 0 || position > length) {
+            throw new IllegalArgumentException("연산 위치가 본문 범위를 벗어났습니다: " + position);
+        }
+        return position;
+    }
+
+    // 직전 줄바꿈 또는 태그 닫힘('>') 다음 위치
+    private static int windowStart(CharSequence text, int from) {
+        for (int i = from - 1; i >= 0; i--) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '>') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    // 다음 줄바꿈 또는 태그 시작('<') 위치
+    private static int windowEnd(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '<') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    /**
+     * 구간을 독립적으로 세어도 전체 계산과 결과가 같은지 확인합니다.
+     * - 구간 앞/구간 안에서 마지막 괄호가 '<'이면 태그가 경계를 넘을 수 있음
+     * - 구간 앞뒤에 보이는 글자가 없으면 trim 결과가 달라질 수 있음
+     */
+    private static boolean isSafeWindow(StringBuilder text, int start, int end) {
+        return lastBracket(text, 0, start) != '<'
+                && lastBracket(text, start, end) != '<'
+                && hasVisible(text, 0, start)
+                && hasVisible(text, end, text.length());
+    }
+
+    private static char lastBracket(CharSequence text, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            char c = text.charAt(i);
+            if (c == '<' || c == '>') {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    // 태그(<...>)를 제외한 글자 수 (공백 포함)
+    private static int countVisible(StringBuilder text, int from, int to) {
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            if (text.charAt(i) == '<') {
+                int close = text.indexOf(">", i + 1);
+                if (close >= 0) {
+                    i = close + 1;
+                    continue;
+                }
+            }
+            count++;
+            i++;
+        }
+        return count;
+    }
+
+    // [from, to) 구간에 태그와 공백을 제외한 글자가 있는지 (from 위치는 태그 밖이어야 함)
+    private static boolean hasVisible(StringBuilder text, int from, int to) {
+        int i = from;
+        while (i < to) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                int close = text.indexOf(">", i + 1);
+                if (close >= 0) {
+                    i = close + 1;
+                    continue;
+                }
+            }
+            // String.trim()과 동일한 공백 기준
+            if (c > ' ') {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,327 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.DocumentContentState;
+import com.stolink.backend.domain.document.entity.Document;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.global.common.exception.ResourceNotFoundException;
+import com.stolink.backend.global.util.ContentHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 자동 저장 본문 쓰기 지연(write-behind) 버퍼
+ *
+ * 에디터의 짧은 주기 자동 저장을 문서별로 메모리에 모아 두었다가,
+ * 마지막 저장 후 idle 시간이 지나거나 최초 저장 후 최대 지연 시간이 지나면 최신 본문만 한 번에 기록합니다.
+ * 본문 조회는 버퍼를 먼저 확인하므로 자신이 저장한 내용을 항상 다시 읽을 수 있으며,
+ * 종료 시 남은 본문을 모두 기록합니다.
+ *
+ * 버퍼에 쌓인 쓰기마다 논리 버전이 1씩 증가하며, 기록 시 해당 버전이 그대로 version 컬럼에 반영됩니다.
+ * 기록은 DB 버전이 더 낮은 경우에만 적용되므로(version 가드) 늦게 도착한 기록이 최신 본문을 덮어쓰지 않습니다.
+ * DB 조회와 기록은 맵 잠금 밖에서 수행하고, 버퍼 항목은 기록이 커밋된 뒤 변경되지 않은 경우에만 제거합니다.
+ *
+ * 버퍼는 노드별 메모리에 있으므로 다중 노드 배포에서는 같은 문서의 저장/조회가 한 노드로 라우팅되어야(sticky)
+ * 자신이 저장한 내용을 다시 읽을 수 있습니다. 라우팅이 보장되지 않아도 version 가드로 본문이 역행하지는 않지만,
+ * 다른 노드의 최신 기록에 밀린 버퍼 본문은 버려지므로(stale 카운터) 그런 환경에서는 버퍼를 끕니다.
+ * (app.document.autosave.enabled=false)
+ */
+@Slf4j
+@Component
+public class DocumentContentBuffer {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentTreeCache documentTreeCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<UUID, PendingContent> pending = new ConcurrentHashMap<>();
+
+    private final Counter bufferedWrites;
+    private final Counter coalescedWrites;
+    private final Counter flushedWrites;
+    private final Counter failedFlushes;
+    private final Counter staleFlushes;
+    private final Timer flushTimer;
+
+    @Value("${app.document.autosave.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.document.autosave.idle-ms:3000}")
+    private long idleMs;
+
+    @Value("${app.document.autosave.max-delay-ms:30000}")
+    private long maxDelayMs;
+
+    public DocumentContentBuffer(DocumentRepository documentRepository,
+            DocumentTreeCache documentTreeCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.documentRepository = documentRepository;
+        this.documentTreeCache = documentTreeCache;
+        // 쓰기 트랜잭션 밖(스케줄러, 읽기 전용 트랜잭션)에서 기록할 때만 사용
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.bufferedWrites = Counter.builder("stolink.document.autosave.writes")
+                .description("버퍼에 기록된 본문 저장 요청 수")
+                .register(meterRegistry);
+        this.coalescedWrites = Counter.builder("stolink.document.autosave.coalesced")
+                .description("DB 쓰기 없이 버퍼에서 병합된 저장 요청 수")
+                .register(meterRegistry);
+        this.flushedWrites = Counter.builder("stolink.document.autosave.flushes")
+                .description("DB에 기록된 버퍼 본문 수")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("stolink.document.autosave.flush.failures")
+                .description("버퍼 본문 기록 실패 수")
+                .register(meterRegistry);
+        this.staleFlushes = Counter.builder("stolink.document.autosave.flush.stale")
+                .description("DB에 더 높은 버전이 있어 버려진 버퍼 본문 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("stolink.document.autosave.flush.latency")
+                .description("버퍼 본문 1건 기록 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("stolink.document.autosave.pending", pending, Map::size)
+                .description("기록 대기 중인 문서 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 기록 대기 중인 본문을 반환합니다.
+     */
+    public Optional<PendingContent> get(UUID documentId) {
+        return Optional.ofNullable(pending.get(documentId));
+    }
+
+    /**
+     * 본문 변경을 버퍼에 기록합니다.
+     *
+     * 버퍼에 없으면 DB의 현재 상태를 기준으로, 있으면 버퍼의 최신 상태를 기준으로 update를 적용합니다.
+     * DB 조회는 맵 잠금 밖에서 수행하고, 기준 상태가 그 사이 바뀌었으면 새 기준으로 다시 적용합니다.
+     * (update는 부수 효과 없이 버전 검증과 본문 계산만 수행해야 함)
+     */
+    public PendingContent write(UUID documentId, UUID projectId, ContentUpdate update) {
+        while (true) {
+            PendingContent current = pending.get(documentId);
+            long now = System.currentTimeMillis();
+            PendingContent written;
+            if (current == null) {
+                DocumentContentState state = documentRepository.findContentStateById(documentId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+                ContentPatcher.Result result = update.apply(state::content, state.wordCount(), state.version());
+                written = new PendingContent(projectId, result.content(), result.wordCount(), state.version() + 1,
+                        1, now, now);
+                if (pending.putIfAbsent(documentId, written) != null) {
+                    continue;
+                }
+            } else {
+                ContentPatcher.Result result = update.apply(current::content, current.wordCount(),
+                        current.version());
+                written = new PendingContent(projectId, result.content(), result.wordCount(), current.version() + 1,
+                        current.writes() + 1, current.firstWrittenAt(), now);
+                if (!pending.replace(documentId, current, written)) {
+                    continue;
+                }
+            }
+
+            bufferedWrites.increment();
+            if (written.writes() > 1) {
+                coalescedWrites.increment();
+            }
+            return written;
+        }
+    }
+
+    /**
+     * 문서의 대기 본문을 즉시 기록합니다. (엔티티 기반 수정/조회 전에 호출)
+     *
+     * 쓰기 트랜잭션 안에서 호출되면 같은 트랜잭션(같은 커넥션)으로 기록하고 커밋 이후 버퍼에서 제거하므로,
+     * 호출 측이 롤백되면 본문은 버퍼에 남아 다음 주기에 다시 기록됩니다.
+     * 트랜잭션 밖이나 읽기 전용 트랜잭션 안에서는 별도 트랜잭션으로 기록합니다.
+     */
+    public void flush(UUID documentId) {
+        PendingContent content = pending.get(documentId);
+        if (content == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            boolean written = flushTimer.record(() -> writeContent(documentId, content));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    settle(documentId, content, written);
+                }
+            });
+            return;
+        }
+
+        boolean written = flushTimer.record(() -> Boolean.TRUE.equals(
+                transactionTemplate.execute(status -> writeContent(documentId, content))));
+        settle(documentId, content, written);
+    }
+
+    /**
+     * 버전 가드로 본문을 기록합니다.
+     *
+     * @return 기록했거나 같은 본문이 이미 기록되어 있으면 true, 더 높은 버전에 밀렸으면 false
+     */
+    private boolean writeContent(UUID documentId, PendingContent content) {
+        String contentHash = ContentHasher.hash(content.content());
+        int updated = documentRepository.updateContentState(documentId, content.content(), content.wordCount(),
+                content.version(), contentHash, content.updatedAt(),
+                Document.AnalysisStatus.COMPLETED, Document.AnalysisStatus.NONE);
+        if (updated > 0) {
+            // 트리의 글자 수는 커밋 이후 반영 (트리 버전을 올리지 않으므로 프로젝트 행을 잠그지 않음)
+            documentTreeCache.updateWordCount(content.projectId(), documentId, content.wordCount());
+            return true;
+        }
+        // 같은 버전을 이미 기록한 경우(동시 flush, 같은 트랜잭션 내 재기록)는 정상으로 봄
+        return documentRepository.findContentHashById(documentId)
+                .map(contentHash::equals)
+                .orElse(true);
+    }
+
+    /**
+     * 기록이 끝난 본문을 버퍼에서 제거합니다. 기록 중 새 쓰기가 들어왔으면 남겨 두어 다음 주기에 기록합니다.
+     */
+    private void settle(UUID documentId, PendingContent content, boolean written) {
+        if (!pending.remove(documentId, content)) {
+            return;
+        }
+        if (written) {
+            flushedWrites.increment();
+        } else {
+            staleFlushes.increment();
+            log.warn("Discarded stale buffered content for document {} (version {})", documentId,
+                    content.version());
+        }
+    }
+
+    /**
+     * 문서들의 대기 본문을 기록하지 않고 버립니다. (문서 삭제 시)
+     * 트랜잭션 안에서 호출되면 커밋 이후에 버리므로 삭제가 롤백되면 본문은 버퍼에 남습니다.
+     */
+    public void discard(Collection<UUID> documentIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<UUID> ids = List.copyOf(documentIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.keySet().removeAll(ids);
+                }
+            });
+            return;
+        }
+        pending.keySet().removeAll(documentIds);
+    }
+
+    /**
+     * 프로젝트의 대기 본문을 모두 기록합니다. (프로젝트 단위 분석/공유 전에 호출)
+     */
+    public void flushProject(UUID projectId) {
+        List<UUID> documentIds = pending.entrySet().stream()
+                .filter(entry -> entry.getValue().projectId().equals(projectId))
+                .map(Map.Entry::getKey)
+                .toList();
+        documentIds.forEach(this::flush);
+    }
+
+    /**
+     * 프로젝트의 대기 본문을 기록하지 않고 버립니다. (프로젝트 삭제 시)
+     */
+    public void discardProject(UUID projectId) {
+        pending.values().removeIf(content -> content.projectId().equals(projectId));
+    }
+
+    /**
+     * idle 시간 또는 최대 지연 시간을 넘긴 본문을 기록합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.document.autosave.flush-interval-ms:1000}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, PendingContent> entry : pending.entrySet()) {
+            PendingContent content = entry.getValue();
+            if (now - content.lastWrittenAt() >= idleMs || now - content.firstWrittenAt() >= maxDelayMs) {
+                flushQuietly(entry.getKey());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        log.info("Flushing {} buffered document contents before shutdown", pending.size());
+        for (UUID documentId : List.copyOf(pending.keySet())) {
+            flushQuietly(documentId);
+        }
+    }
+
+    private void flushQuietly(UUID documentId) {
+        try {
+            flush(documentId);
+        } catch (Exception e) {
+            // 실패한 본문은 버퍼에 남아 다음 주기에 다시 기록됨
+            failedFlushes.increment();
+            log.error("Failed to flush buffered content for document {}", documentId, e);
+        }
+    }
+
+    /**
+     * 버퍼 기준 본문 변경 함수
+     */
+    @FunctionalInterface
+    public interface ContentUpdate {
+        /**
+         * @param content   현재 본문 (전체 교체 시 읽지 않도록 지연 제공)
+         * @param wordCount 현재 글자 수
+         * @param version   현재 버전
+         */
+        ContentPatcher.Result apply(Supplier<String> content, int wordCount, long version);
+    }
+
+    /**
+     * 기록 대기 중인 본문
+     */
+    public record PendingContent(
+            UUID projectId,
+            String content,
+            int wordCount,
+            long version,
+            int writes,
+            long firstWrittenAt,
+            long lastWrittenAt) {
+
+        public LocalDateTime updatedAt() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastWrittenAt), ZoneId.systemDefault());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.DocumentPlacement;
+import com.stolink.backend.domain.document.entity.Document;
+import com.stolink.backend.domain.document.repository.DocumentJdbcRepository;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.project.entity.Project;
+import com.stolink.backend.domain.project.repository.ProjectRepository;
+import com.stolink.backend.global.common.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 문서 order 값 할당기 (간격 기반 정렬 키)
+ *
+ * 형제 문서의 order를 {@link Document#ORDER_GAP} 간격으로 두고, 사이 삽입/이동 시에는
+ * 앞뒤 문서 order의 중간값을 사용하여 형제 문서의 order는 건드리지 않고 해당 문서의 order만 정합니다.
+ * 간격이 좁아지면 백그라운드에서 형제 그룹 전체를 다시 간격을 두고 번호를 매깁니다.
+ * 간격이 완전히 소진된 경우에만 요청 트랜잭션 안에서 즉시 재배치합니다.
+ *
+ * 마지막 위치 할당을 포함한 모든 할당과 재배치는 프로젝트 행을 잠근 뒤 order를 읽으므로, 동시에 들어온 삽입/이동/재배치가
+ * 같은 order를 받거나 재배치 전 order로 계산되지 않습니다. 따라서 삽입/이동 트랜잭션은 문서 행과 함께 프로젝트 행도 잠급니다.
+ * 형제 그룹마다 부모 행을 잠그지 않고 프로젝트 행을 잠그는 이유는 트리 구조 변경이 모두 같은 행의 tree_version을
+ * 올리므로 잠금 순서를 하나로 유지하기 위함입니다.
+ */
+@Slf4j
+@Component
+public class DocumentOrderAllocator {
+
+    // 삽입 후 남은 간격이 이 값 이하이면 재배치 예약
+    private static final int MIN_GAP = 4;
+
+    private final DocumentRepository documentRepository;
+    private final DocumentJdbcRepository documentJdbcRepository;
+    private final ProjectRepository projectRepository;
+    private final DocumentTreeCache documentTreeCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<SiblingGroup> pendingRebalances = ConcurrentHashMap.newKeySet();
+
+    public DocumentOrderAllocator(DocumentRepository documentRepository,
+            DocumentJdbcRepository documentJdbcRepository,
+            ProjectRepository projectRepository,
+            DocumentTreeCache documentTreeCache,
+            PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.documentJdbcRepository = documentJdbcRepository;
+        this.projectRepository = projectRepository;
+        this.documentTreeCache = documentTreeCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 부모 아래 마지막 위치의 order를 반환합니다.
+     *
+     * 형제 그룹을 잠그므로 호출 측 트랜잭션 안에서 호출해야 합니다.
+     */
+    public int append(Project project, Document parent) {
+        lockSiblings(project.getId());
+        return lastOrder(project, parent);
+    }
+
+    /**
+     * afterId 바로 뒤 또는 beforeId 바로 앞 위치의 order를 반환합니다. 둘 다 없으면 마지막 위치입니다.
+     *
+     * 형제 그룹을 잠그므로 호출 측 트랜잭션 안에서 호출해야 합니다.
+     *
+     * @param excludeId 이동 중인 문서 (자기 자신을 기준으로 삼지 않도록 제외)
+     */
+    public int allocate(Project project, Document parent, UUID afterId, UUID beforeId, UUID excludeId) {
+        lockSiblings(project.getId());
+        if (afterId == null && beforeId == null) {
+            return lastOrder(project, parent);
+        }
+        UUID anchorId = afterId != null ? afterId : beforeId;
+        if (anchorId.equals(excludeId)) {
+            throw new IllegalArgumentException("문서를 자기 자신을 기준으로 이동할 수 없습니다.");
+        }
+
+        Integer order = tryAllocate(project, parent, afterId, beforeId, excludeId);
+        if (order == null) {
+            // 간격 소진: 형제 그룹을 즉시 재배치한 뒤 다시 계산
+            rebalance(project.getId(), parent != null ? parent.getId() : null);
+            order = tryAllocate(project, parent, afterId, beforeId, excludeId);
+        }
+        return order;
+    }
+
+    private int lastOrder(Project project, Document parent) {
+        // 형제 문서 전체를 로딩하지 않고 MAX(order)만 조회
+        return documentRepository.findMaxOrderByProjectAndParent(project, parent)
+                .map(max -> max + Document.ORDER_GAP)
+                .orElse(0);
+    }
+
+    private Integer tryAllocate(Project project, Document parent, UUID afterId, UUID beforeId, UUID excludeId) {
+        Integer previous;
+        Integer next;
+        if (afterId != null) {
+            previous = findSibling(project, parent, afterId).order();
+            next = documentRepository.findNextOrder(project, parent, previous, excludeId).orElse(null);
+        } else {
+            next = findSibling(project, parent, beforeId).order();
+            previous = documentRepository.findPreviousOrder(project, parent, next, excludeId).orElse(null);
+        }
+
+        if (previous == null) {
+            return next - Document.ORDER_GAP;
+        }
+        if (next == null) {
+            return previous + Document.ORDER_GAP;
+        }
+        int gap = next - previous;
+        if (gap < 2) {
+            return null;
+        }
+        if (gap / 2 <= MIN_GAP) {
+            requestRebalance(project.getId(), parent != null ? parent.getId() : null);
+        }
+        return previous + gap / 2;
+    }
+
+    // 재배치 직후에도 최신 order를 읽도록 엔티티 대신 projection으로 조회
+    private DocumentPlacement findSibling(Project project, Document parent, UUID siblingId) {
+        DocumentPlacement sibling = documentRepository.findPlacementsByIds(List.of(siblingId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", siblingId));
+        UUID parentId = parent != null ? parent.getId() : null;
+        if (!sibling.projectId().equals(project.getId()) || !Objects.equals(parentId, sibling.parentId())) {
+            throw new IllegalArgumentException("Document " + siblingId + " does not belong to parent " + parentId);
+        }
+        return sibling;
+    }
+
+    /**
+     * 형제 그룹의 재배치를 예약합니다.
+     */
+    public void requestRebalance(UUID projectId, UUID parentId) {
+        pendingRebalances.add(new SiblingGroup(projectId, parentId));
+    }
+
+    /**
+     * 형제 그룹의 order를 현재 순서대로 ORDER_GAP 간격으로 다시 매깁니다. (현재 트랜잭션에서 실행)
+     */
+    public void rebalance(UUID projectId, UUID parentId) {
+        lockSiblings(projectId);
+        List<UUID> orderedIds = documentRepository.findSiblingIdsOrderByOrder(projectId, parentId);
+        documentJdbcRepository.updateOrders(orderedIds);
+        documentTreeCache.updateOrders(projectId, orderedIds);
+        log.info("Rebalanced order of {} documents under parent {} (project {})", orderedIds.size(), parentId,
+                projectId);
+    }
+
+    /**
+     * 프로젝트의 형제 그룹을 트랜잭션 종료까지 잠급니다. (같은 트랜잭션에서 다시 잠가도 대기하지 않음)
+     */
+    private void lockSiblings(UUID projectId) {
+        projectRepository.lockById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
+    }
+
+    /**
+     * 예약된 형제 그룹을 재배치합니다.
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void rebalancePending() {
+        for (SiblingGroup group : List.copyOf(pendingRebalances)) {
+            pendingRebalances.remove(group);
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(group.projectId(), group.parentId()));
+            } catch (Exception e) {
+                log.error("Failed to rebalance order under parent {} (project {})", group.parentId(),
+                        group.projectId(), e);
+            }
+        }
+    }
+
+    private record SiblingGroup(UUID projectId, UUID parentId) {
+    }
+}
@@ -2,31 +2,52 @@ package com.stolink.backend.domain.document.service;
 
 import com.stolink.backend.domain.document.dto.CreateDocumentRequest;
 import com.stolink.backend.domain.document.dto.DocumentTreeResponse;
+import com.stolink.backend.domain.document.dto.UpdateContentRequest;
 import com.stolink.backend.domain.document.dto.UpdateDocumentRequest;
 import com.stolink.backend.domain.document.dto.ReorderDocumentsRequest;
 import com.stolink.backend.domain.document.dto.BulkUpdateRequest;
+import com.stolink.backend.domain.document.dto.BulkUpdateResponse;
+import com.stolink.backend.domain.document.dto.ContentRange;
+import com.stolink.backend.domain.document.dto.ContentUpdateResponse;
+import com.stolink.backend.domain.document.dto.DocumentPlacement;
+import com.stolink.backend.domain.document.dto.DocumentResponse;
+import com.stolink.backend.domain.document.dto.DocumentContentView;
+import com.stolink.backend.domain.document.dto.DocumentTreeNode;
+import com.stolink.backend.domain.document.dto.SubtreeWordCountResponse;
 import com.stolink.backend.domain.document.entity.Document;
+import com.stolink.backend.domain.document.repository.DocumentJdbcRepository;
 import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.document.repository.SectionRepository;
 import com.stolink.backend.domain.project.entity.Project;
 import com.stolink.backend.domain.project.repository.ProjectRepository;
 import com.stolink.backend.domain.user.entity.User;
 import com.stolink.backend.domain.user.repository.UserRepository;
+import com.stolink.backend.global.common.exception.ConflictException;
 import com.stolink.backend.global.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import com.stolink.backend.domain.document.dto.ManuscriptUploadRequest;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -35,36 +56,50 @@ import com.stolink.backend.domain.document.dto.ManuscriptUploadRequest;
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
+    private final DocumentJdbcRepository documentJdbcRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final DocumentTreeCache documentTreeCache;
+    private final DocumentContentBuffer documentContentBuffer;
+    private final DocumentOrderAllocator documentOrderAllocator;
+    private final SectionRepository sectionRepository;
+
+    private static final int STREAM_CHUNK_SIZE = 16 * 1024;
 
     public List<DocumentTreeResponse> getDocumentTree(UUID userId, UUID projectId) {
-        User user = getUserOrThrow(userId);
-        Project project = getProjectOrThrow(projectId, user);
+        verifyProjectOwner(userId, projectId);
+
+        // 본문을 제외한 메타데이터 트리를 캐시에서 조회 (미스 시 projection 쿼리 1회로 적재)
+        DocumentTreeCache.Snapshot snapshot = documentTreeCache.snapshot(projectId);
 
-        // N+1 문제 해결: 전체 문서를 한 번에 조회 (Parent Fetch Join)
-        List<Document> allDocs = documentRepository.findByProjectWithParent(project);
+        return buildTreeInMemory(projectId, snapshot.nodes());
+    }
 
-        return buildTreeInMemory(allDocs);
+    /**
+     * 문서 트리의 현재 ETag를 반환합니다. (If-None-Match 처리용)
+     */
+    public String getDocumentTreeETag(UUID userId, UUID projectId) {
+        verifyProjectOwner(userId, projectId);
+        return documentTreeCache.getETag(projectId);
     }
 
-    private List<DocumentTreeResponse> buildTreeInMemory(List<Document> documents) {
+    private List<DocumentTreeResponse> buildTreeInMemory(UUID projectId, List<DocumentTreeNode> nodes) {
         Map<UUID, DocumentTreeResponse> dtoMap = new HashMap<>();
         List<DocumentTreeResponse> roots = new ArrayList<>();
 
-        // 1. 모든 문서를 DTO로 변환하여 맵에 저장
-        for (Document doc : documents) {
-            dtoMap.put(doc.getId(), DocumentTreeResponse.from(doc));
+        // 1. 모든 노드를 DTO로 변환하여 맵에 저장
+        for (DocumentTreeNode node : nodes) {
+            dtoMap.put(node.id(), DocumentTreeResponse.from(node, projectId));
         }
 
         // 2. 부모-자식 관계 연결
-        // 입력된 documents가 이미 order 순으로 정렬되어 있으므로, 순서대로 처리하면 자식 리스트도 정렬됨
-        for (Document doc : documents) {
-            DocumentTreeResponse dto = dtoMap.get(doc.getId());
-            if (doc.getParent() == null) {
+        // 입력된 nodes가 이미 order 순으로 정렬되어 있으므로, 순서대로 처리하면 자식 리스트도 정렬됨
+        for (DocumentTreeNode node : nodes) {
+            DocumentTreeResponse dto = dtoMap.get(node.id());
+            if (node.parentId() == null) {
                 roots.add(dto);
             } else {
-                DocumentTreeResponse parentDto = dtoMap.get(doc.getParent().getId());
+                DocumentTreeResponse parentDto = dtoMap.get(node.parentId());
                 if (parentDto != null) {
                     parentDto.getChildren().add(dto);
                 }
@@ -96,7 +131,21 @@ public class DocumentService {
         Page<Document> children = documentRepository.findByParentAndTypeOrderByOrderAsc(
                 folder, Document.DocumentType.TEXT, pageable);
 
-        return children.map(DocumentTreeResponse::from);
+        // 본문은 지연 로딩되므로 페이지 단위로 한 번에 조회 (문서별 추가 쿼리 방지)
+        List<UUID> childIds = children.map(Document::getId).getContent();
+        Map<UUID, String> contents = new HashMap<>();
+        if (!childIds.isEmpty()) {
+            for (DocumentContentView view : documentRepository.findContentsByIds(childIds)) {
+                contents.put(view.id(), view.content());
+            }
+        }
+
+        // 자동 저장 버퍼에 대기 중인 본문 반영
+        for (UUID childId : childIds) {
+            documentContentBuffer.get(childId).ifPresent(pending -> contents.put(childId, pending.content()));
+        }
+
+        return children.map(doc -> DocumentTreeResponse.from(doc, contents.get(doc.getId())));
     }
 
     @Transactional
@@ -124,7 +173,8 @@ public class DocumentService {
                 .title(request.getTitle())
                 .content("")
                 .synopsis(request.getSynopsis() != null ? request.getSynopsis() : "")
-                .order(getNextOrder(project, parent))
+                .order(documentOrderAllocator.allocate(project, parent, request.getAfterId(),
+                        request.getBeforeId(), null))
                 .status(Document.DocumentStatus.DRAFT)
                 .wordCount(0)
                 .includeInCompile(true)
@@ -132,6 +182,7 @@ public class DocumentService {
                 .build();
 
         document = documentRepository.save(document);
+        documentTreeCache.upsert(document);
         log.info("Document created: {} in project: {}", document.getId(), request.getProjectId());
 
         return DocumentTreeResponse.from(document);
@@ -150,59 +201,305 @@ public class DocumentService {
         return document;
     }
 
-    public Map<String, Object> getPagedContent(UUID userId, UUID documentId, int page, int size) {
+    /**
+     * 문서 상세 조회 (자동 저장 버퍼에 대기 중인 본문이 있으면 반영)
+     */
+    public DocumentResponse getDocumentDetail(UUID userId, UUID documentId) {
+        Document document = getDocument(userId, documentId);
+        // 대기 중인 본문이 있으면 엔티티의 본문은 로딩하지 않음
+        return documentContentBuffer.get(documentId)
+                .map(pending -> DocumentResponse.metadataBuilder(document)
+                        .content(pending.content())
+                        .wordCount(pending.wordCount())
+                        .version(pending.version())
+                        .updatedAt(pending.updatedAt())
+                        .build())
+                .orElseGet(() -> DocumentResponse.from(document));
+    }
+
+    /**
+     * 본문 전체 조회 (자동 저장 버퍼 우선)
+     */
+    public String getContent(UUID userId, UUID documentId) {
         Document document = getDocument(userId, documentId);
+        return documentContentBuffer.get(documentId)
+                .map(DocumentContentBuffer.PendingContent::content)
+                .orElseGet(() -> document.getContent() != null ? document.getContent() : "");
+    }
+
+    /**
+     * 본문을 페이지 단위로 반환합니다.
+     * offset이 주어지면 해당 위치부터 읽고 문장 경계에서 잘라 nextOffset을 함께 반환합니다.
+     * 오프셋과 길이는 DB의 char_length/substring과 같은 코드 포인트 기준입니다.
+     * 자동 저장 버퍼 기록이 같은 트랜잭션(커넥션)에 참여하도록 쓰기 트랜잭션으로 실행합니다.
+     */
+    @Transactional
+    public Map<String, Object> getPagedContent(UUID userId, UUID documentId, int page, int size, Integer offset) {
+        // 소유권 검증 (본문은 지연 로딩이므로 여기서 로딩되지 않음)
+        getDocument(userId, documentId);
+        // DB 부분 조회 전에 버퍼에 남은 본문을 기록
+        documentContentBuffer.flush(documentId);
 
         // 최대 사이즈 제한 (예: 100KB)
         int safeSize = Math.min(Math.max(size, 100), 100000);
 
-        // 전체 길이 조회 (DB 부하 적음)
-        int totalLength = document.getContent() != null ? document.getContent().length() : 0;
+        // 전체 길이는 스칼라 쿼리로 조회 (본문 전체를 메모리에 올리지 않음)
+        int totalLength = documentRepository.findContentLength(documentId);
 
-        if (totalLength == 0) {
+        boolean sentenceAware = offset != null;
+        int start = sentenceAware
+                ? Math.min(Math.max(offset, 0), totalLength)
+                : Math.min(page * safeSize, totalLength);
+
+        if (totalLength == 0 || start >= totalLength) {
             return Map.of(
                     "content", "",
                     "page", page,
                     "size", safeSize,
-                    "totalLength", 0,
+                    "offset", start,
+                    "nextOffset", totalLength,
+                    "totalLength", totalLength,
                     "hasNext", false);
         }
 
-        int start = Math.min(page * safeSize, totalLength);
-        // JPQL substring은 1-based index일 수 있으나, Hibernate 구현체에 따라 다름.
-        // 통상적으로 JPQL SUBSTRING(str, pos, len)에서 pos는 1부터 시작.
-        // H2, MySQL, PostgreSQL 등 대부분 1-based.
-
+        // JPQL SUBSTRING(str, pos, len)의 pos는 1부터 시작
         String chunk = documentRepository.findContentPart(documentId, start + 1, safeSize);
         if (chunk == null)
             chunk = "";
 
-        int end = Math.min(start + safeSize, totalLength);
+        int chunkLength = chunk.codePointCount(0, chunk.length());
+        if (sentenceAware && start + chunkLength < totalLength) {
+            // 다음 페이지가 남아있으면 문장 경계에서 자름
+            chunk = chunk.substring(0, TextBoundaries.findCut(chunk));
+            chunkLength = chunk.codePointCount(0, chunk.length());
+        }
+
+        int end = start + chunkLength;
         boolean hasNext = end < totalLength;
 
         return Map.of(
                 "content", chunk,
                 "page", page,
                 "size", safeSize,
+                "offset", start,
+                "nextOffset", end,
                 "totalLength", totalLength,
                 "hasNext", hasNext);
     }
 
+    /**
+     * 스트리밍할 본문 범위를 계산합니다. (소유권 검증 포함)
+     */
+    @Transactional
+    public ContentRange resolveContentRange(UUID userId, UUID documentId, String rangeHeader) {
+        getDocument(userId, documentId);
+        documentContentBuffer.flush(documentId);
+        int totalLength = documentRepository.findContentLength(documentId);
+        return ContentRange.parse(rangeHeader, totalLength);
+    }
+
+    /**
+     * 분석 워커가 가져갈 본문 범위를 계산합니다. (URL 서명 검증은 호출 측에서 수행)
+     * 분석 요청 이후 본문이 바뀌었으면 새 분석 요청이 발행되므로 이전 요청의 조회는 거부합니다.
+     * 스트리밍 중 본문이 바뀌어도 워커가 돌려주는 해시가 현재 해시와 달라 분석 완료로 기록되지 않습니다.
+     */
+    @Transactional
+    public ContentRange resolveAnalysisContentRange(UUID documentId, String contentHash, String rangeHeader) {
+        documentContentBuffer.flush(documentId);
+        String currentHash = documentRepository.findContentHashById(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", documentId));
+        if (!currentHash.equals(contentHash)) {
+            throw new ConflictException("분석 요청 이후 문서 본문이 변경되었습니다.");
+        }
+        int totalLength = documentRepository.findContentLength(documentId);
+        return ContentRange.parse(rangeHeader, totalLength);
+    }
+
+    /**
+     * 만료된 본문 조회 URL로 요청이 들어온 분석을 실패 처리합니다.
+     * 본문이 그대로인 경우에만 QUEUED/PROCESSING 상태를 FAILED로 바꾸며,
+     * 실패한 분석은 재시도 스케줄러가 새 URL로 다시 발행합니다.
+     *
+     * @return 실패 처리되었으면 true
+     */
     @Transactional
-    public Document updateDocumentContent(UUID userId, UUID documentId, String content) {
+    public boolean failAnalysisWithExpiredContentUrl(UUID documentId, String contentHash) {
+        String currentHash = documentRepository.findContentHashById(documentId).orElse(null);
+        if (currentHash == null || !currentHash.equals(contentHash)) {
+            // 본문이 바뀌었으면 변경된 본문으로 이미 새 분석 요청이 발행됨
+            return false;
+        }
+        List<UUID> ids = List.of(documentId);
+        int updated = documentRepository.updateAnalysisStatusByIdsAndStatus(ids,
+                Document.AnalysisStatus.QUEUED, Document.AnalysisStatus.FAILED)
+                + documentRepository.updateAnalysisStatusByIdsAndStatus(ids,
+                        Document.AnalysisStatus.PROCESSING, Document.AnalysisStatus.FAILED);
+        return updated > 0;
+    }
+
+    /**
+     * 본문 범위를 고정 크기 조각으로 나누어 스트림에 기록합니다.
+     * 조각마다 짧은 substring 쿼리를 사용하므로 본문 크기와 무관하게 메모리 사용량이 일정합니다.
+     * 스트리밍 동안 커넥션을 점유하지 않도록 트랜잭션 없이 실행합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamContent(UUID documentId, ContentRange range, OutputStream outputStream) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        int position = range.start();
+        while (position < range.end()) {
+            int length = Math.min(STREAM_CHUNK_SIZE, range.end() - position);
+            String chunk = documentRepository.findContentPart(documentId, position + 1, length);
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            writer.write(chunk);
+            writer.flush();
+            position += length;
+        }
+        writer.flush();
+    }
+
+    @Transactional
+    public ContentUpdateResponse updateDocumentContent(UUID userId, UUID documentId, UpdateContentRequest request) {
         Document document = getDocument(userId, documentId);
-        document.updateContent(content);
-        log.info("Document content updated: {}", documentId);
-        return document;
+
+        // 연산 기반 수정은 기준 버전이 필수 (다른 본문에 연산이 적용되는 것을 방지)
+        if (request.isPatch() && request.getBaseVersion() == null) {
+            throw new IllegalArgumentException("ops 요청에는 baseVersion이 필요합니다.");
+        }
+
+        if (documentContentBuffer.isEnabled()) {
+            // 자동 저장은 버퍼에 모았다가 idle/최대 지연 시점에 한 번에 기록 (트리 글자 수는 기록 커밋 이후 반영)
+            UUID projectId = document.getProject().getId();
+            DocumentContentBuffer.PendingContent pending = documentContentBuffer.write(documentId, projectId,
+                    (content, wordCount, version) -> applyContentUpdate(request, content, wordCount, version));
+            return new ContentUpdateResponse(documentId, pending.wordCount(), pending.version(), pending.updatedAt());
+        }
+
+        ContentPatcher.Result result = applyContentUpdate(request, document::getContent, document.getWordCount(),
+                document.getVersion());
+        document.updateContent(result.content(), result.wordCount());
+        // 응답에 증가된 버전을 담기 위해 즉시 flush
+        documentRepository.saveAndFlush(document);
+        documentTreeCache.updateWordCount(document.getProject().getId(), documentId, document.getWordCount());
+        log.debug("Document content updated: {}", documentId);
+        return new ContentUpdateResponse(documentId, document.getWordCount(), document.getVersion(),
+                document.getUpdatedAt());
+    }
+
+    private ContentPatcher.Result applyContentUpdate(UpdateContentRequest request, Supplier<String> content,
+            int wordCount, long version) {
+        if (request.getBaseVersion() != null && request.getBaseVersion() != version) {
+            throw new ConflictException("문서가 이미 변경되었습니다. (base: " + request.getBaseVersion()
+                    + ", current: " + version + ")");
+        }
+        if (request.isPatch()) {
+            return ContentPatcher.apply(content.get(), wordCount, request.getOps());
+        }
+        return new ContentPatcher.Result(request.getContent(), Document.calculateWordCount(request.getContent()));
     }
 
     @Transactional
     public Document updateDocument(UUID userId, UUID documentId, UpdateDocumentRequest request) {
+        // 엔티티로 수정하기 전에 버퍼에 남은 본문을 먼저 기록 (이후 로딩되는 본문/버전이 최신이 되도록)
+        documentContentBuffer.flush(documentId);
         Document document = getDocument(userId, documentId);
 
+        applyUpdate(document, request, documentRepository::findById);
+        documentTreeCache.upsert(document);
+
+        log.info("Document updated: {}", documentId);
+        return document;
+    }
+
+    /**
+     * 여러 문서를 한 번에 수정합니다.
+     *
+     * 대상 문서와 이동할 부모를 한 번의 쿼리로 미리 조회하고, 소유권은 프로젝트 단위로 한 번만 확인합니다.
+     * 변경 사항은 커밋 시 hibernate.jdbc.batch_size 단위의 배치 UPDATE로 반영됩니다.
+     * 잘못된 항목은 해당 항목만 실패로 기록하고 나머지는 계속 처리합니다.
+     */
+    @Transactional
+    public BulkUpdateResponse bulkUpdateDocuments(UUID userId, BulkUpdateRequest request) {
+        List<BulkUpdateRequest.DocumentUpdate> updates = request.getUpdates() != null
+                ? request.getUpdates()
+                : List.of();
+
+        // 대상 문서 + 이동할 부모 문서 일괄 조회
+        Set<UUID> prefetchIds = new HashSet<>();
+        for (BulkUpdateRequest.DocumentUpdate update : updates) {
+            if (update.getId() != null) {
+                prefetchIds.add(update.getId());
+                // 엔티티로 수정하기 전에 버퍼에 남은 본문을 먼저 기록
+                documentContentBuffer.flush(update.getId());
+            }
+            if (update.getChanges() != null && update.getChanges().getParentId() != null) {
+                prefetchIds.add(update.getChanges().getParentId());
+            }
+        }
+        Map<UUID, Document> documents = new HashMap<>();
+        if (!prefetchIds.isEmpty()) {
+            for (Document document : documentRepository.findAllWithParentByIdIn(prefetchIds)) {
+                documents.put(document.getId(), document);
+            }
+        }
+
+        // 프로젝트 단위 소유권 확인
+        Set<UUID> projectIds = new HashSet<>();
+        for (Document document : documents.values()) {
+            projectIds.add(document.getProject().getId());
+        }
+        Set<UUID> ownedProjectIds = projectIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(projectRepository.findIdsByIdInAndUserId(projectIds, userId));
+
+        List<BulkUpdateResponse.ItemResult> results = new ArrayList<>(updates.size());
+        List<Document> updated = new ArrayList<>();
+        for (BulkUpdateRequest.DocumentUpdate update : updates) {
+            UUID documentId = update.getId();
+            try {
+                if (documentId == null || update.getChanges() == null) {
+                    throw new IllegalArgumentException("id와 changes는 필수입니다.");
+                }
+                Document document = documents.get(documentId);
+                if (document == null) {
+                    throw new ResourceNotFoundException("Document", "id", documentId);
+                }
+                if (!ownedProjectIds.contains(document.getProject().getId())) {
+                    throw new IllegalArgumentException("권한이 없습니다.");
+                }
+                applyUpdate(document, update.getChanges(), id -> Optional.ofNullable(documents.get(id)));
+                updated.add(document);
+                results.add(BulkUpdateResponse.ItemResult.success(documentId));
+            } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                results.add(BulkUpdateResponse.ItemResult.failure(documentId, e.getMessage()));
+            }
+        }
+        documentTreeCache.upsertAll(updated);
+
+        log.info("Bulk updated {} of {} documents", updated.size(), updates.size());
+        return BulkUpdateResponse.of(results);
+    }
+
+    /**
+     * 수정 요청을 문서에 적용합니다.
+     * 위치 계산/검증을 먼저 수행하여 검증에 실패하면 문서가 변경되지 않도록 합니다.
+     */
+    private void applyUpdate(Document document, UpdateDocumentRequest request,
+            Function<UUID, Optional<Document>> documentLoader) {
         // parentId 변경 처리 (문서 이동)
         if (request.getParentId() != null || isParentChangeRequested(request)) {
-            moveDocument(document, request.getParentId());
+            Document newParent = resolveMoveTarget(document, request.getParentId(), documentLoader);
+            // 새 부모 아래에서의 순서 계산 (기준 문서가 없으면 마지막 순서)
+            int newOrder = documentOrderAllocator.allocate(document.getProject(), newParent,
+                    request.getAfterId(), request.getBeforeId(), document.getId());
+            document.updateParent(newParent, newOrder);
+            log.info("Document {} moved to parent {}", document.getId(), request.getParentId());
+        } else if (request.getAfterId() != null || request.getBeforeId() != null) {
+            // 같은 부모 안에서 위치 이동 (이 문서 한 행만 갱신)
+            int newOrder = documentOrderAllocator.allocate(document.getProject(), document.getParent(),
+                    request.getAfterId(), request.getBeforeId(), document.getId());
+            document.updateParent(document.getParent(), newOrder);
         }
 
         if (request.getContent() != null) {
@@ -224,55 +521,56 @@ public class DocumentService {
                 request.getNotes());
 
         document.updateLabel(request.getLabel(), request.getLabelColor());
-
-        log.info("Document updated: {}", documentId);
-        return document;
     }
 
     /**
-     * 문서를 다른 폴더로 이동합니다.
+     * 문서를 이동할 새 부모를 조회하고 검증합니다. (null이면 루트)
      */
-    private void moveDocument(Document document, UUID newParentId) {
-        Document newParent = null;
-
-        if (newParentId != null) {
-            newParent = documentRepository.findById(newParentId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Document", "id", newParentId));
+    private Document resolveMoveTarget(Document document, UUID newParentId,
+            Function<UUID, Optional<Document>> documentLoader) {
+        if (newParentId == null) {
+            return null;
+        }
 
-            // 순환 참조 방지: 자기 자신이나 자신의 하위 폴더로 이동 불가
-            if (document.getId().equals(newParentId)) {
-                throw new IllegalArgumentException("문서를 자기 자신으로 이동할 수 없습니다.");
-            }
+        // 순환 참조 방지: 자기 자신이나 자신의 하위 폴더로 이동 불가
+        if (document.getId().equals(newParentId)) {
+            throw new IllegalArgumentException("문서를 자기 자신으로 이동할 수 없습니다.");
+        }
 
-            if (isDescendant(document, newParent)) {
-                throw new IllegalArgumentException("문서를 자신의 하위 폴더로 이동할 수 없습니다.");
-            }
+        Document newParent = resolveParentFolder(document.getProject(), newParentId, documentLoader);
 
-            // 폴더 타입만 자식을 가질 수 있음
-            if (newParent.getType() != Document.DocumentType.FOLDER) {
-                throw new IllegalArgumentException("일반 문서 아래로는 이동할 수 없습니다. 폴더만 자식을 가질 수 있습니다.");
-            }
+        if (isDescendant(document, newParent)) {
+            throw new IllegalArgumentException("문서를 자신의 하위 폴더로 이동할 수 없습니다.");
         }
+        return newParent;
+    }
 
-        // 새 부모 아래에서의 순서 계산 (마지막 순서)
-        int newOrder = getNextOrder(document.getProject(), newParent);
-        document.updateParent(newParent, newOrder);
+    /**
+     * 같은 프로젝트의 폴더인지 확인하고 반환합니다.
+     */
+    private Document resolveParentFolder(Project project, UUID parentId,
+            Function<UUID, Optional<Document>> documentLoader) {
+        Document parent = documentLoader.apply(parentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", parentId));
+
+        // 다른 프로젝트의 폴더로는 이동 불가
+        if (!parent.getProject().getId().equals(project.getId())) {
+            throw new IllegalArgumentException("다른 프로젝트의 폴더로 이동할 수 없습니다.");
+        }
 
-        log.info("Document {} moved to parent {}", document.getId(), newParentId);
+        // 폴더 타입만 자식을 가질 수 있음
+        if (parent.getType() != Document.DocumentType.FOLDER) {
+            throw new IllegalArgumentException("일반 문서 아래로는 이동할 수 없습니다. 폴더만 자식을 가질 수 있습니다.");
+        }
+        return parent;
     }
 
     /**
      * targetDocument가 ancestorDocument의 하위(자손)인지 확인합니다.
+     * 부모를 한 단계씩 로딩하지 않고 재귀 쿼리 한 번으로 확인합니다.
      */
     private boolean isDescendant(Document ancestorDocument, Document targetDocument) {
-        Document current = targetDocument.getParent();
-        while (current != null) {
-            if (current.getId().equals(ancestorDocument.getId())) {
-                return true;
-            }
-            current = current.getParent();
-        }
-        return false;
+        return documentRepository.isSelfOrDescendantOf(targetDocument.getId(), ancestorDocument.getId());
     }
 
     /**
@@ -285,49 +583,115 @@ public class DocumentService {
         return false;
     }
 
+    /**
+     * 문서와 모든 하위 문서를 삭제합니다.
+     * 하위 트리를 재귀 쿼리 한 번으로 조회한 뒤 Section과 문서를 각각 한 번의 DELETE로 삭제합니다.
+     */
     @Transactional
     public void deleteDocument(UUID userId, UUID documentId) {
         Document document = getDocument(userId, documentId);
-        documentRepository.delete(document);
-        log.info("Document deleted: {}", documentId);
+        UUID projectId = document.getProject().getId();
+
+        List<UUID> subtreeIds = documentRepository.findSubtreeIds(documentId);
+        // 삭제할 문서의 대기 본문은 기록하지 않고 커밋 이후 버림
+        documentContentBuffer.discard(subtreeIds);
+        sectionRepository.deleteAllByDocumentIdIn(subtreeIds);
+        documentRepository.deleteAllByIdIn(subtreeIds);
+
+        documentTreeCache.remove(projectId, documentId);
+        log.info("Document deleted: {} ({} documents in subtree)", documentId, subtreeIds.size());
     }
 
+    /**
+     * 문서(폴더)와 모든 하위 TEXT 문서의 글자 수 합계를 조회합니다.
+     */
     @Transactional
-    public void reorderDocuments(UUID userId, ReorderDocumentsRequest request) {
-        getUserOrThrow(userId);
-
-        for (int i = 0; i < request.getOrderedIds().size(); i++) {
-            UUID documentId = request.getOrderedIds().get(i);
-            Document document = getDocument(userId, documentId);
+    public SubtreeWordCountResponse getSubtreeWordCount(UUID userId, UUID documentId) {
+        Document document = getDocument(userId, documentId);
+        // 자동 저장 버퍼에 남은 글자 수까지 반영
+        documentContentBuffer.flushProject(document.getProject().getId());
 
-            // Verify the document belongs to the same parent
-            UUID currentParentId = document.getParent() != null ? document.getParent().getId() : null;
-            if ((request.getParentId() == null && currentParentId != null) ||
-                    (request.getParentId() != null && !request.getParentId().equals(currentParentId))) {
-                throw new IllegalArgumentException(
-                        "Document " + documentId + " does not belong to parent " + request.getParentId());
-            }
+        DocumentRepository.SubtreeWordCount stats = documentRepository.sumSubtreeWordCount(documentId);
+        return new SubtreeWordCountResponse(documentId, stats.getWordCount(), stats.getDocumentCount());
+    }
 
-            document.update(null, null, i, null, null, null, null);
+    /**
+     * 문서(폴더)와 모든 하위 문서를 복사합니다.
+     * 대상 폴더를 지정하지 않으면 원본 바로 뒤에 복사본을 만듭니다.
+     */
+    @Transactional
+    public DocumentTreeResponse copyDocument(UUID userId, UUID documentId, UUID targetParentId) {
+        Document document = getDocument(userId, documentId);
+        Project project = document.getProject();
+        documentContentBuffer.flushProject(project.getId());
+
+        Document parent;
+        int order;
+        if (targetParentId != null) {
+            parent = resolveParentFolder(project, targetParentId, documentRepository::findById);
+            order = documentOrderAllocator.append(project, parent);
+        } else {
+            parent = document.getParent();
+            order = documentOrderAllocator.allocate(project, parent, documentId, null, null);
         }
 
-        log.info("Reordered {} documents under parent {}", request.getOrderedIds().size(), request.getParentId());
+        UUID copyId = UUID.randomUUID();
+        int copied = documentRepository.copySubtree(documentId, copyId, parent != null ? parent.getId() : null,
+                order, document.getTitle() + " (사본)");
+
+        // 하위 문서가 한꺼번에 추가되므로 트리 캐시는 다시 적재
+        documentTreeCache.evict(project.getId());
+        log.info("Document {} copied to {} ({} documents)", documentId, copyId, copied);
+
+        Document copy = documentRepository.findById(copyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document", "id", copyId));
+        return DocumentTreeResponse.from(copy);
     }
 
     @Transactional
-    public void bulkUpdateDocuments(UUID userId, BulkUpdateRequest request) {
-        for (BulkUpdateRequest.DocumentUpdate update : request.getUpdates()) {
-            updateDocument(userId, update.getId(), update.getChanges());
+    public void reorderDocuments(UUID userId, ReorderDocumentsRequest request) {
+        List<UUID> orderedIds = request.getOrderedIds();
+        if (orderedIds == null || orderedIds.isEmpty()) {
+            return;
+        }
+        if (new HashSet<>(orderedIds).size() != orderedIds.size()) {
+            throw new IllegalArgumentException("중복된 문서 ID가 포함되어 있습니다.");
+        }
+        long startedAt = System.nanoTime();
+
+        // 소유권/부모 검증을 한 번의 projection 쿼리로 수행 (엔티티 로딩 없음)
+        Map<UUID, DocumentPlacement> placements = new HashMap<>();
+        for (DocumentPlacement placement : documentRepository.findPlacementsByIds(orderedIds)) {
+            placements.put(placement.id(), placement);
+        }
+
+        UUID projectId = null;
+        for (UUID documentId : orderedIds) {
+            DocumentPlacement placement = placements.get(documentId);
+            if (placement == null) {
+                throw new ResourceNotFoundException("Document", "id", documentId);
+            }
+            if (!placement.ownerId().equals(userId)) {
+                throw new IllegalArgumentException("권한이 없습니다.");
+            }
+            // Verify the document belongs to the same parent
+            if (!Objects.equals(request.getParentId(), placement.parentId())) {
+                throw new IllegalArgumentException(
+                        "Document " + documentId + " does not belong to parent " + request.getParentId());
+            }
+            // 루트 문서 정렬 시 다른 프로젝트 문서가 섞이지 않도록 확인
+            if (projectId != null && !projectId.equals(placement.projectId())) {
+                throw new IllegalArgumentException("서로 다른 프로젝트의 문서는 함께 정렬할 수 없습니다.");
+            }
+            projectId = placement.projectId();
         }
-        log.info("Bulk updated {} documents", request.getUpdates().size());
-    }
 
-    private int getNextOrder(Project project, Document parent) {
-        List<Document> siblings = parent != null
-                ? documentRepository.findByParentOrderByOrder(parent)
-                : documentRepository.findRootDocuments(project);
+        // 새 order를 단일 JDBC 배치로 반영
+        documentJdbcRepository.updateOrders(orderedIds);
+        documentTreeCache.updateOrders(projectId, orderedIds);
 
-        return siblings.size();
+        log.info("Reordered {} documents under parent {} in {}ms", orderedIds.size(), request.getParentId(),
+                (System.nanoTime() - startedAt) / 1_000_000);
     }
 
     private User getUserOrThrow(UUID userId) {
@@ -340,6 +704,12 @@ public class DocumentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
     }
 
+    private void verifyProjectOwner(UUID userId, UUID projectId) {
+        if (!projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+    }
+
     /**
      * 프로젝트 소유자 ID를 반환합니다. (E2E 테스트용)
      */
@@ -348,173 +718,4 @@ public class DocumentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
         return project.getUser().getId();
     }
-
-    @Transactional
-    public List<DocumentTreeResponse> parseManuscript(UUID userId, ManuscriptUploadRequest request) {
-        User user = getUserOrThrow(userId);
-        Project project = getProjectOrThrow(request.getProjectId(), user);
-
-        String[] lines = request.getContent().split("\\r?\\n");
-
-        Document rootParent = null;
-        if (request.getParentId() != null) {
-            rootParent = documentRepository.findById(request.getParentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Document", "id", request.getParentId()));
-        }
-
-        // Approved Regex Patterns (v5) - 더 엄격한 패턴
-        Pattern folderPattern = Pattern.compile(
-                "^\\s*(?:(?:제|第)\\s*[0-9一二三四五六七八九十]+\\s*(?:부|권|편|장)|(?:Part|Chapter|Book|Volume)\\s+[0-9IVXLCDM]+)\\s*[.:\\-]?\\s*.*$",
-                Pattern.CASE_INSENSITIVE);
-
-        Pattern textPattern = Pattern.compile(
-                "^\\s*[*=-]{3,}\\s*$");
-
-        Document currentChapter = null; // Folder
-        StringBuilder contentBuilder = new StringBuilder();
-        String currentSectionTitle = null;
-
-        int rootOrder = getNextOrder(project, rootParent);
-        int chapterOrderAdj = 0;
-        int sectionOrderAdj = 0;
-        List<Document> documentsToSave = new ArrayList<>();
-
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-
-            Matcher folderMatcher = folderPattern.matcher(line);
-            Matcher textMatcher = textPattern.matcher(line);
-
-            if (folderMatcher.find()) {
-                // 이전 데이터 생성
-                documentsToSave.addAll(createSections(project,
-                        currentChapter != null ? currentChapter : rootParent, contentBuilder,
-                        currentSectionTitle, sectionOrderAdj++));
-
-                // 새로운 챕터(폴더) 생성 (즉시 저장하여 ID 확보 - FK Violation 방지)
-                currentChapter = Document.builder()
-                        .project(project)
-                        .parent(rootParent)
-                        .type(Document.DocumentType.FOLDER)
-                        .title(trimmedLine)
-                        .order(rootOrder + chapterOrderAdj++)
-                        .status(Document.DocumentStatus.DRAFT)
-                        .build();
-                currentChapter = documentRepository.save(currentChapter);
-                // Folder는 Batch Insert 대상에서 제외 (이미 저장됨)
-                // documentsToSave.add(currentChapter); <- 제거
-
-                currentSectionTitle = null;
-                sectionOrderAdj = 0;
-                log.info("Parsed Chapter Folder: {}", trimmedLine);
-            } else if (textMatcher.find()) {
-                // 이전 데이터 생성
-                documentsToSave.addAll(createSections(project,
-                        currentChapter != null ? currentChapter : rootParent, contentBuilder,
-                        currentSectionTitle, sectionOrderAdj++));
-
-                // 새로운 섹션(텍스트) 타이틀 설정
-                currentSectionTitle = trimmedLine;
-                log.info("Parsed Section Trigger: {}", trimmedLine);
-            } else {
-                // 일반 본문
-                if (!trimmedLine.isEmpty() || contentBuilder.length() > 0) {
-                    contentBuilder.append(line).append("\n");
-                }
-            }
-        }
-
-        // 마지막 데이터 생성
-        documentsToSave.addAll(
-                createSections(project, currentChapter != null ? currentChapter : rootParent, contentBuilder,
-                        currentSectionTitle, sectionOrderAdj++));
-
-        // 일괄 저장 (Batch Insert)
-        if (!documentsToSave.isEmpty()) {
-            documentRepository.saveAll(documentsToSave);
-        }
-
-        log.info("Manuscript parsing completed for project: {}. Created {} documents.", request.getProjectId(),
-                documentsToSave.size());
-
-        return documentsToSave.stream()
-                .map(DocumentTreeResponse::from)
-                .collect(java.util.stream.Collectors.toList());
-    }
-
-    /**
-     * 섹션을 생성하되, 5000자가 넘으면 문단/문장 단위로 쪼개어 여러 문서 객체를 반환합니다.
-     */
-    private List<Document> createSections(Project project, Document parent, StringBuilder builder,
-            String title,
-            int order) {
-        List<Document> created = new ArrayList<>();
-        if (builder.length() == 0)
-            return created;
-
-        String rawContent = builder.toString();
-        int partCount = 1;
-        final int MAX_CHARS = 5000;
-
-        while (!rawContent.isEmpty()) {
-            String chunk;
-            String remaining;
-
-            if (rawContent.length() > MAX_CHARS) {
-                int splitIndex = -1;
-
-                // 1차: 줄바꿈으로 분할 시도
-                splitIndex = rawContent.lastIndexOf("\n", MAX_CHARS);
-
-                // 2차: 줄바꿈이 없으면 마침표로 분할 시도
-                if (splitIndex <= 0) {
-                    splitIndex = rawContent.lastIndexOf(". ", MAX_CHARS);
-                    if (splitIndex > 0) {
-                        splitIndex += 1; // 마침표 포함
-                    }
-                }
-
-                // 3차: 그래도 없으면 강제로 MAX_CHARS에서 자르기
-                if (splitIndex <= 0) {
-                    splitIndex = MAX_CHARS;
-                }
-
-                chunk = rawContent.substring(0, splitIndex).trim();
-                remaining = rawContent.substring(splitIndex).trim();
-
-                if (chunk.isEmpty()) {
-                    rawContent = remaining;
-                    continue;
-                }
-            } else {
-                chunk = rawContent.trim();
-                remaining = "";
-            }
-
-            if (!chunk.isEmpty()) {
-                String finalTitle = (title != null && !title.isEmpty()) ? title : (parent != null ? "본문" : "프롤로그");
-                if (partCount > 1 || !remaining.isEmpty()) {
-                    finalTitle += " (" + partCount + ")";
-                }
-
-                Document doc = Document.builder()
-                        .project(project)
-                        .parent(parent)
-                        .type(Document.DocumentType.TEXT)
-                        .title(finalTitle)
-                        .content(chunk)
-                        .wordCount(chunk.length())
-                        .order(order++)
-                        .status(Document.DocumentStatus.DRAFT)
-                        .includeInCompile(true)
-                        .build();
-                // 저장하지 않고 리스트에 추가
-                created.add(doc);
-                partCount++;
-            }
-            rawContent = remaining;
-        }
-        builder.setLength(0);
-        return created;
-    }
 }
@@ -0,0 +1,278 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.DocumentTreeNode;
+import com.stolink.backend.domain.document.entity.Document;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.project.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * 프로젝트별 문서 트리 메타데이터 캐시
+ *
+ * 사이드바 트리 조회 시 본문(content)을 포함한 전체 엔티티를 매번 로딩하지 않도록
+ * 트리에 필요한 메타데이터만 보관합니다. 최초 조회 시 한 번 적재한 뒤에는
+ * 문서 생성/이동/정렬/삭제 시점에 증분 갱신됩니다.
+ *
+ * 트리 버전은 프로젝트 행(tree_version)에 저장되며, 트리 구조(생성/이동/정렬/삭제)를 바꾸는 트랜잭션 안에서 증가하고 ETag로 사용됩니다.
+ * 캐시는 노드별로 존재하므로 조회 시 DB 버전과 캐시 버전을 비교해 다른 노드의 변경이 있었으면 다시 적재합니다.
+ * 증분 갱신은 트랜잭션 커밋 이후에만, 캐시 버전이 바로 이전 버전일 때만 반영하고 그 외에는 캐시를 버립니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DocumentTreeCache {
+
+    private final DocumentRepository documentRepository;
+    private final ProjectRepository projectRepository;
+
+    private final Map<UUID, ProjectTree> trees = new ConcurrentHashMap<>();
+
+    @Value("${app.document.tree-cache.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    /**
+     * 프로젝트 트리의 현재 스냅샷을 반환합니다. 캐시에 없거나 DB 버전보다 오래되었으면 메타데이터 쿼리로 적재합니다.
+     */
+    public Snapshot snapshot(UUID projectId) {
+        return getOrLoad(projectId).snapshot();
+    }
+
+    /**
+     * 프로젝트 트리의 현재 ETag를 반환합니다. (DB 트리 버전 기준이므로 노드와 무관하게 같은 값)
+     */
+    public String getETag(UUID projectId) {
+        return eTag(currentVersion(projectId));
+    }
+
+    /**
+     * 문서 메타데이터를 추가/갱신합니다. (커밋 후 반영)
+     */
+    public void upsert(Document document) {
+        upsertAll(List.of(document));
+    }
+
+    /**
+     * 여러 문서의 메타데이터를 한 번에 추가/갱신합니다. (커밋 후 반영)
+     */
+    public void upsertAll(Collection<Document> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<DocumentTreeNode>> nodesByProject = documents.stream()
+                .collect(Collectors.groupingBy(document -> document.getProject().getId(), LinkedHashMap::new,
+                        Collectors.mapping(DocumentTreeNode::from, Collectors.toList())));
+        nodesByProject.forEach((projectId, nodes) -> change(projectId, tree -> tree.putAll(nodes)));
+    }
+
+    /**
+     * 같은 부모 아래 문서들의 order를 목록 순서대로 ORDER_GAP 간격으로 갱신합니다. (커밋 후 반영)
+     */
+    public void updateOrders(UUID projectId, List<UUID> orderedIds) {
+        change(projectId, tree -> tree.updateOrders(orderedIds));
+    }
+
+    /**
+     * 문서의 글자 수만 갱신합니다. (본문 기록 시, 커밋 후 반영)
+     *
+     * 글자 수는 트리 구조가 아니므로 트리 버전을 올리지 않고 이 노드의 캐시만 고칩니다.
+     * 본문을 저장할 때마다 ETag가 바뀌지 않고, 본문 기록 트랜잭션이 프로젝트 행을 잠그지 않습니다.
+     * 따라서 트리의 글자 수는 ETag에 포함되지 않으며, 다른 노드의 캐시에는 다음 구조 변경으로 다시 적재될 때 반영됩니다.
+     */
+    public void updateWordCount(UUID projectId, UUID documentId, int wordCount) {
+        afterCommit(() -> {
+            ProjectTree tree = trees.get(projectId);
+            if (tree != null) {
+                tree.updateWordCount(documentId, wordCount);
+            }
+        });
+    }
+
+    /**
+     * 문서와 그 하위 문서를 트리에서 제거합니다. (커밋 후 반영)
+     */
+    public void remove(UUID projectId, UUID documentId) {
+        change(projectId, tree -> tree.removeSubtree(documentId));
+    }
+
+    /**
+     * 프로젝트 트리를 캐시에서 제거합니다. (커밋 후 반영, 다른 노드는 버전 변경으로 다시 적재)
+     */
+    public void evict(UUID projectId) {
+        change(projectId, tree -> null);
+    }
+
+    /**
+     * 일정 시간 조회되지 않은 프로젝트 트리를 정리합니다.
+     */
+    @Scheduled(fixedDelay = 300000)
+    public void evictIdleTrees() {
+        long threshold = System.currentTimeMillis() - idleTtlMs;
+        int before = trees.size();
+        trees.entrySet().removeIf(entry -> entry.getValue().lastAccessedAt() < threshold);
+        int evicted = before - trees.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle document trees ({} remaining)", evicted, trees.size());
+        }
+    }
+
+    private ProjectTree getOrLoad(UUID projectId) {
+        // 버전을 노드보다 먼저 읽어, 적재 사이에 커밋된 변경이 있으면 다음 조회에서 다시 적재되도록 함
+        long version = currentVersion(projectId);
+        ProjectTree tree = trees.compute(projectId, (id, cached) -> {
+            if (cached != null && cached.version() >= version) {
+                return cached;
+            }
+            List<DocumentTreeNode> nodes = documentRepository.findTreeNodesByProjectId(id);
+            log.debug("Loaded document tree for project {} ({} nodes, version {})", id, nodes.size(), version);
+            return new ProjectTree(nodes, version);
+        });
+        tree.touch();
+        return tree;
+    }
+
+    /**
+     * 현재 트랜잭션에서 트리 버전을 올리고, 커밋 이후 캐시에 변경을 반영합니다.
+     * 캐시가 바로 이전 버전이 아니면(다른 노드의 변경 누락, 커밋 순서 역전) 캐시를 버려 다음 조회에서 다시 적재합니다.
+     */
+    private void change(UUID projectId, UnaryOperator<ProjectTree> update) {
+        projectRepository.incrementTreeVersion(projectId);
+        long version = currentVersion(projectId);
+        afterCommit(() -> trees.computeIfPresent(projectId, (id, tree) -> tree.version() == version - 1
+                ? tree.advance(update, version)
+                : null));
+    }
+
+    private long currentVersion(UUID projectId) {
+        return projectRepository.findTreeVersionById(projectId).orElse(0L);
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 트리 스냅샷 (order 오름차순으로 정렬된 노드 목록과 ETag)
+     */
+    public record Snapshot(String eTag, List<DocumentTreeNode> nodes) {
+    }
+
+    /**
+     * 단일 프로젝트의 트리 상태
+     */
+    private static class ProjectTree {
+
+        // 적재 순서(= order 순)를 유지하여 동일 order 간 정렬이 요청마다 흔들리지 않도록 함
+        private final Map<UUID, DocumentTreeNode> nodes = new LinkedHashMap<>();
+        private long version;
+        private volatile long lastAccessedAt = System.currentTimeMillis();
+
+        ProjectTree(List<DocumentTreeNode> initialNodes, long version) {
+            for (DocumentTreeNode node : initialNodes) {
+                nodes.put(node.id(), node);
+            }
+            this.version = version;
+        }
+
+        /**
+         * 변경을 적용하고 버전을 올립니다. (update가 null을 반환하면 캐시에서 제거)
+         */
+        synchronized ProjectTree advance(UnaryOperator<ProjectTree> update, long newVersion) {
+            ProjectTree updated = update.apply(this);
+            if (updated != null) {
+                version = newVersion;
+            }
+            return updated;
+        }
+
+        synchronized ProjectTree putAll(List<DocumentTreeNode> updatedNodes) {
+            for (DocumentTreeNode node : updatedNodes) {
+                nodes.put(node.id(), node);
+            }
+            return this;
+        }
+
+        synchronized ProjectTree updateOrders(List<UUID> orderedIds) {
+            for (int i = 0; i < orderedIds.size(); i++) {
+                DocumentTreeNode node = nodes.get(orderedIds.get(i));
+                if (node != null) {
+                    nodes.put(node.id(), node.withOrder(i * Document.ORDER_GAP));
+                }
+            }
+            return this;
+        }
+
+        synchronized ProjectTree updateWordCount(UUID documentId, int wordCount) {
+            DocumentTreeNode node = nodes.get(documentId);
+            if (node != null && (node.wordCount() == null || node.wordCount() != wordCount)) {
+                nodes.put(documentId, node.withWordCount(wordCount));
+            }
+            return this;
+        }
+
+        synchronized ProjectTree removeSubtree(UUID rootId) {
+            Set<UUID> removed = new HashSet<>();
+            removed.add(rootId);
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (DocumentTreeNode node : nodes.values()) {
+                    if (node.parentId() != null && removed.contains(node.parentId()) && removed.add(node.id())) {
+                        changed = true;
+                    }
+                }
+            }
+            nodes.keySet().removeAll(removed);
+            return this;
+        }
+
+        synchronized Snapshot snapshot() {
+            List<DocumentTreeNode> sorted = new ArrayList<>(nodes.values());
+            sorted.sort(Comparator.comparing(DocumentTreeNode::order, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return new Snapshot(eTag(version), sorted);
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        void touch() {
+            lastAccessedAt = System.currentTimeMillis();
+        }
+
+        long lastAccessedAt() {
+            return lastAccessedAt;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.stolink.backend.domain.document.service;
+
+/**
+ * 크기 기준 분할 전략
+ *
+ * 챕터 구조가 없는 원고를 목표 크기({@link AdaptiveChunker}) 단위의 "Part n" 문서로 나눕니다.
+ * 조각이 목표 크기에 도달할 때마다 바로 내보내므로 원고 전체를 보관하지 않습니다.
+ */
+public class FixedSizeBoundaryStrategy implements BoundaryStrategy {
+
+    private final int targetChars;
+    private AdaptiveChunker chunker;
+    private int partNumber = 1;
+
+    public FixedSizeBoundaryStrategy() {
+        this(AdaptiveChunker.DEFAULT_TARGET_CHARS);
+    }
+
+    public FixedSizeBoundaryStrategy(int targetChars) {
+        this.targetChars = targetChars;
+    }
+
+    @Override
+    public int classify(String line) {
+        return 0;
+    }
+
+    @Override
+    public void accept(String line, int flags, SectionAssembler assembler) {
+        chunker(assembler).append(line + "\n");
+    }
+
+    /**
+     * 줄 단위가 아닌 텍스트를 그대로 추가합니다. (휴리스틱 전략의 Fallback용)
+     */
+    void append(CharSequence text, SectionAssembler assembler) {
+        chunker(assembler).append(text);
+    }
+
+    @Override
+    public void finish(SectionAssembler assembler) {
+        if (chunker != null) {
+            chunker.finish();
+        }
+    }
+
+    private AdaptiveChunker chunker(SectionAssembler assembler) {
+        if (chunker == null) {
+            chunker = new AdaptiveChunker(targetChars, chunk -> assembler.emit(
+                    new ImprovedManuscriptParser.ParsedSection("Part " + partNumber++, chunk)));
+        }
+        return chunker;
+    }
+}
@@ -0,0 +1,147 @@
+package com.stolink.backend.domain.document.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 휴리스틱 경계 전략 (정규식 없이 상태 기반으로 챕터 헤더를 검증, 업로드 기본값)
+ *
+ * 챕터는 평면 섹션으로 내보내며, 헤더 바로 다음 줄의 부제는 제목에 합칩니다.
+ * 챕터를 찾지 못했거나 하나뿐인데 너무 크면 크기 기준 분할(Fallback)로 전환하므로,
+ * 두 번째 섹션이 나올 때까지 첫 번째 섹션과 원문을 보관합니다.
+ * 목표 크기를 넘는 챕터는 "제목 (n)" 문서로 나누어 내보냅니다.
+ */
+@Slf4j
+public class HeuristicBoundaryStrategy implements BoundaryStrategy {
+
+    private final int targetChars;
+
+    private String pendingChapterTitle = null;
+    private int sectionNumber = 1;
+    private int emptyLineCount = 10; // 파일 시작 버퍼
+    private boolean isFirstContentLine = true;
+    // 직전 줄이 헤더였으면 이번 줄이 부제인지 확인
+    private boolean awaitingSubtitle = false;
+
+    // Fallback 판단용: 두 번째 섹션이 나올 때까지 첫 섹션과 원문을 보관
+    private int savedCount = 0;
+    private ImprovedManuscriptParser.ParsedSection firstSection;
+    private StringBuilder rawContent = new StringBuilder();
+
+    public HeuristicBoundaryStrategy() {
+        this(AdaptiveChunker.DEFAULT_TARGET_CHARS);
+    }
+
+    public HeuristicBoundaryStrategy(int targetChars) {
+        this.targetChars = targetChars;
+    }
+
+    @Override
+    public int classify(String line) {
+        return ChapterHeaderClassifier.classify(line.trim());
+    }
+
+    @Override
+    public void accept(String line, int flags, SectionAssembler assembler) {
+        if (rawContent != null) {
+            rawContent.append(line).append('\n');
+        }
+        String trimmed = line.trim();
+
+        // [보강] 헤더 바로 다음 줄이 부제인지 확인 (멀티라인 제목 처리)
+        if (awaitingSubtitle) {
+            awaitingSubtitle = false;
+            if (!trimmed.isEmpty() && trimmed.length() < 50 &&
+                    !trimmed.contains("\"") && !trimmed.endsWith(".")) {
+                pendingChapterTitle += " " + trimmed;
+                log.debug("Merged subtitle: {}", trimmed);
+                return;
+            }
+        }
+
+        // 헤더 검증 (후보 조건 + 정밀 검증 + 앞 줄 문맥)
+        boolean isHeader = flags == UNCLASSIFIED
+                ? ChapterHeaderClassifier.isHeader(trimmed, emptyLineCount, isFirstContentLine)
+                : (flags & ChapterHeaderClassifier.HEADER) != 0
+                        && ChapterHeaderClassifier.acceptsContext(flags, emptyLineCount, isFirstContentLine);
+
+        if (isHeader) {
+            log.debug("Detected header at line: {}", trimmed);
+            // 이전 섹션 저장 (내용이 있을 경우)
+            if (assembler.hasContent()) {
+                saveCurrentSection(assembler, sectionNumber++);
+            }
+
+            // 새 챕터 시작
+            pendingChapterTitle = trimmed;
+            awaitingSubtitle = true;
+
+            emptyLineCount = 0;
+            isFirstContentLine = false;
+            return;
+        }
+
+        // 섹션 구분선 처리 (***, ---)
+        if (ImprovedManuscriptParser.isSectionDivider(trimmed)) {
+            if (assembler.hasContent()) {
+                saveCurrentSection(assembler, sectionNumber++);
+            }
+            emptyLineCount = 0;
+            return;
+        }
+
+        // 본문 내용 누적
+        if (trimmed.isEmpty()) {
+            emptyLineCount++;
+        } else {
+            emptyLineCount = 0;
+            isFirstContentLine = false;
+        }
+
+        assembler.appendLine(line);
+    }
+
+    @Override
+    public void finish(SectionAssembler assembler) {
+        // 마지막 섹션 저장
+        if (assembler.hasContent()) {
+            saveCurrentSection(assembler, sectionNumber);
+        }
+
+        log.info("Manuscript parsing complete. Found {} sections.", savedCount);
+
+        // Fallback: 챕터가 하나도 감지되지 않았거나(통째로 1개), 너무 큰 경우
+        if (savedCount == 0 || (savedCount == 1 && firstSection.getContent().length() > targetChars * 1.5)) {
+            log.warn("Chapter detection ineffective. Applying size-based splitting ({} chars).", targetChars);
+            FixedSizeBoundaryStrategy fallback = new FixedSizeBoundaryStrategy(targetChars);
+            fallback.append(rawContent, assembler);
+            rawContent = null;
+            fallback.finish(assembler);
+        } else if (firstSection != null) {
+            emit(assembler, firstSection);
+        }
+    }
+
+    private void saveCurrentSection(SectionAssembler assembler, int number) {
+        String sectionTitle = pendingChapterTitle != null ? pendingChapterTitle : "섹션 " + number;
+        ImprovedManuscriptParser.ParsedSection section = new ImprovedManuscriptParser.ParsedSection(sectionTitle,
+                assembler.takeContent().trim());
+        pendingChapterTitle = null;
+
+        savedCount++;
+        if (savedCount == 1) {
+            firstSection = section;
+            return;
+        }
+        if (savedCount == 2) {
+            // 챕터가 2개 이상이면 Fallback 대상이 아니므로 보관분을 내보내고 원문 버퍼 해제
+            emit(assembler, firstSection);
+            firstSection = null;
+            rawContent = null;
+        }
+        emit(assembler, section);
+    }
+
+    private void emit(SectionAssembler assembler, ImprovedManuscriptParser.ParsedSection section) {
+        AdaptiveChunker.splitSection(section.getTitle(), section.getContent(), targetChars, assembler::emit);
+    }
+}
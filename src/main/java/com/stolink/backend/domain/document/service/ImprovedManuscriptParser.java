@@ -1,210 +1,34 @@
 package com.stolink.backend.domain.document.service;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
-
-import lombok.extern.slf4j.Slf4j;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 /**
- * 정규식을 최소화하고 상태 기반 휴리스틱 검증을 사용하는 개선된 원고 파서
+ * 스트리밍 원고 파싱 엔진
+ *
+ * 원고를 한 줄씩 읽어 경계 전략({@link BoundaryStrategy})에 넘기고, 전략이 만든 폴더/섹션을
+ * 이벤트({@link ManuscriptEvent})로 바로 전달합니다. 경계 판별은 전략마다 다르지만
+ * 줄 읽기, 병렬 분류, 이벤트 전달은 모든 전략이 같은 경로를 사용합니다.
  *
+ * 기본 전략은 정규식을 최소화하고 상태 기반 휴리스틱 검증을 사용하는 {@link HeuristicBoundaryStrategy}이며,
  * 이 버전은 "방어적 파싱(Defensive Parsing)" 원칙을 따릅니다.
  */
-@Slf4j
 public class ImprovedManuscriptParser {
 
-    private static final int MAX_TITLE_LENGTH = 100; // 제목 길이 상한 상향
-    private static final int MIN_EMPTY_LINES_BEFORE_CHAPTER = 2; // 더 엄격하게: 최소 2줄 공백
-    private static final int FALLBACK_CHUNK_SIZE = 10000; // 고정 글자 수 Fallback 크기
-    private static final List<String> CHAPTER_MARKERS = List.of(
-            "제", "第", "Chapter", "Part", "Book", "Volume", "Section", "편", "부", "권", "서문", "프롤로그", "에필로그");
-
-    // 대화문이나 문장 감지를 위한 금지 문자들
-    private static final List<String> FORBIDDEN_CHARS = List.of(
-            "\"", "'", "“", "”", "‘", "’", // 따옴표 (대화문)
-            "..." // 말줄임표 (제목에 잘 안 쓰임)
-    );
-
-    /**
-     * 챕터 헤더 검증 클래스
-     */
-    private static class ChapterHeaderValidator {
-
-        /**
-         * 1차 필터: 헤더 후보인지 빠르게 검증
-         *
-         * 조건:
-         * 1. 빈 줄이 아님
-         * 2. 길이가 MAX_TITLE_LENGTH 이내
-         * 3. 금지된 문자(따옴표 등)가 없어야 함
-         * 4. 앞에 충분한 공백 라인이 존재 (또는 파일 시작)
-         */
-        public static boolean isHeaderCandidate(String line, int emptyLineCount, boolean isFirstLine) {
-            String trimmed = line.trim();
-
-            if (trimmed.isEmpty()) {
-                return false;
-            }
-
-            if (trimmed.length() > MAX_TITLE_LENGTH) {
-                return false;
-            }
-
-            // 강력한 헤더 패턴인 경우, 문장 부호를 포함하고 있어도 후보로 인정
-            boolean isStrong = isStrongHeaderPattern(trimmed);
-
-            // 금지 문자 포함 여부 확인 (대화문 등 제외)
-            for (String forbidden : FORBIDDEN_CHARS) {
-                if (trimmed.contains(forbidden)) {
-                    return false;
-                }
-            }
-
-            // 강력한 마커가 없는데 ?, ! 등이 포함되어 있으면 기각 (문장일 가능성)
-            if (!isStrong) {
-                for (String punc : List.of("?", "!")) {
-                    if (trimmed.contains(punc))
-                        return false;
-                }
-            }
-
-            // 제목이 마침표로 끝나는 경우, 숫자로 시작하거나 강력한 마커가 아니면 의심스러움
-            if (trimmed.endsWith(".") && !Character.isDigit(trimmed.charAt(0)) && !isStrong) {
-                return false;
-            }
-
-            // 문맥 고려: 챕터 제목 앞에는 보통 빈 줄이 있음
-            if (!isFirstLine && emptyLineCount < MIN_EMPTY_LINES_BEFORE_CHAPTER) {
-                // 공백이 부족해도, "강력한 마커"로 시작하고 길이가 아주 짧으면 허용 (예: "제1장")
-                if (emptyLineCount >= 1 && isStrong) {
-                    return true;
-                }
-                return false;
-            }
-
-            return true;
-        }
-
-        // 공백이 부족해도 인정해줄 만한 강력한 패턴인지 확인
-        private static boolean isStrongHeaderPattern(String text) {
-            String upper = text.toUpperCase();
-            // "제"로 시작하고 "장/편/부/권"이 들어있는 짧은 문자열
-            if (text.startsWith("제")
-                    && (text.contains("장") || text.contains("편") || text.contains("부") || text.contains("권")))
-                return true;
-            if (upper.startsWith("CHAPTER") || upper.startsWith("PART") || upper.startsWith("BOOK"))
-                return true;
-            return false;
-        }
-
-        /**
-         * 2차 검증: 실제 챕터 헤더인지 정밀 검증
-         */
-        public static boolean validateHeader(String line) {
-            String trimmed = line.trim();
-            String upper = trimmed.toUpperCase();
-
-            // Case 1: 숫자로 시작 ("1.", "1장", "IV" 등)
-            if (startsWithNumber(trimmed)) {
-                // 숫자로 시작하더라도 뒤에 텍스트가 따라올 때, 그 형식이 "1. 제목" 형태여야 함.
-                if (isValidNumberedHeader(trimmed)) {
-                    return true;
-                }
-            }
-
-            // Case 2: 챕터 마커로 시작 ("제", "Chapter", "프롤로그" 등)
-            for (String marker : CHAPTER_MARKERS) {
-                // 영문 마커는 대소문자 구분 없이 확인
-                boolean matches;
-                if (isEnglishMarker(marker)) {
-                    matches = upper.startsWith(marker.toUpperCase());
-                } else {
-                    matches = trimmed.startsWith(marker);
-                }
-
-                if (matches) {
-                    // "제"로 시작하는 경우 "제1장" 형태인지 추가 검증
-                    if (marker.equals("제") || marker.equals("第")) {
-                        return containsChapterKeyword(trimmed);
-                    }
-                    // 프롤로그, 에필로그, 서문 등은 바로 인정
-                    if (isStandaloneTitle(marker)) {
-                        return true;
-                    }
-                    // Chapter, Part 등은 뒤에 숫자가 와야 함
-                    if (isEnglishMarker(marker)) {
-                        return containsNumberAfterMarker(trimmed, marker);
-                    }
-                    return true;
-                }
-            }
-
-            return false;
-        }
-
-        private static boolean isEnglishMarker(String marker) {
-            return marker.equals("Chapter") || marker.equals("Part") || marker.equals("Book") ||
-                    marker.equals("Volume") || marker.equals("Section");
-        }
-
-        private static boolean isStandaloneTitle(String marker) {
-            return marker.equals("서문") || marker.equals("프롤로그") || marker.equals("에필로그");
-        }
-
-        private static boolean containsNumberAfterMarker(String text, String marker) {
-            String contentAfterMarker = text.substring(marker.length()).trim();
-            if (contentAfterMarker.isEmpty())
-                return false;
-            // 마커 뒤에 숫자가 시작되어야 함 (아라비아 or 로마)
-            char first = contentAfterMarker.charAt(0);
-            return Character.isDigit(first) || "IVXLCDM".indexOf(Character.toUpperCase(first)) >= 0;
-        }
-
-        /**
-         * 숫자로 시작하는지 검증
-         */
-        private static boolean startsWithNumber(String text) {
-            if (text.isEmpty())
-                return false;
-            char first = text.charAt(0);
-            return Character.isDigit(first) || "IVXLCDM".indexOf(Character.toUpperCase(first)) >= 0;
-        }
-
-        /**
-         * 숫자 헤더 유효성 검사 (예: "1. 서론" OK, "10년 뒤" False)
-         */
-        private static boolean isValidNumberedHeader(String text) {
-            int i = 0;
-            int len = text.length();
-
-            // 숫자 부분 스킵
-            while (i < len && (Character.isDigit(text.charAt(i))
-                    || "IVXLCDM".indexOf(Character.toUpperCase(text.charAt(i))) >= 0)) {
-                i++;
-            }
-
-            if (i == len)
-                return true; // 숫자만 있는 경우 ("1") OK
-
-            char afterNumber = text.charAt(i);
-            // 숫자 바로 뒤에 오는 문자가 점(.), 공백( ), 또는 단위(장, 편)여야 함
-            return afterNumber == '.' || Character.isWhitespace(afterNumber) ||
-                    "장편부권".indexOf(afterNumber) >= 0;
-        }
-
-        /**
-         * 챕터 키워드 포함 여부 ("장", "편", "부", "권")
-         */
-        private static boolean containsChapterKeyword(String text) {
-            return text.contains("장") || text.contains("편") ||
-                    text.contains("부") || text.contains("권");
-        }
-    }
+    private static final int PARALLEL_BLOCK_CHARS = 4 * 1024 * 1024; // 병렬 모드 블록 크기
+    private static final int PARALLEL_MIN_LINES = 2048; // 병렬 작업 1개가 처리할 최소 줄 수
 
     /**
      * 파싱된 섹션 정보
      */
-    public static class ParsedSection {
+    public static final class ParsedSection implements ManuscriptEvent {
         private final String title;
         private final String content;
 
@@ -223,188 +47,225 @@ public class ImprovedManuscriptParser {
     }
 
     /**
-     * 원고 텍스트를 챕터 단위로 파싱
+     * 원고 텍스트를 챕터 단위로 파싱 (휴리스틱 전략)
      */
     public static List<ParsedSection> parse(String manuscriptContent) {
         List<ParsedSection> sections = new ArrayList<>();
-        // 줄바꿈 정규화
-        String[] lines = manuscriptContent.split("\\r?\\n");
-
-        StringBuilder contentBuilder = new StringBuilder();
-        String pendingChapterTitle = null;
-        int sectionNumber = 1;
-        int emptyLineCount = 10; // 파일 시작 버퍼
-        boolean isFirstContentLine = true;
-
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i];
-            String trimmed = line.trim();
-
-            boolean isHeader = false;
-
-            // 1. 헤더 후보 검증
-            if (ChapterHeaderValidator.isHeaderCandidate(line, emptyLineCount, isFirstContentLine)) {
-                // 2. 헤더 확정 검증
-                if (ChapterHeaderValidator.validateHeader(line)) {
-                    isHeader = true;
-                }
-            }
-
-            if (isHeader) {
-                log.debug("Detected header at line: {}", trimmed);
-                // 이전 섹션 저장 (내용이 있을 경우)
-                if (contentBuilder.length() > 0) {
-                    saveCurrentSection(sections, contentBuilder, pendingChapterTitle, sectionNumber++);
-                    pendingChapterTitle = null;
-                }
-
-                // 새 챕터 시작
-                pendingChapterTitle = trimmed;
+        try {
+            parse(new StringReader(manuscriptContent), sections::add);
+        } catch (IOException e) {
+            // StringReader는 IOException을 던지지 않음
+            throw new UncheckedIOException(e);
+        }
+        return sections;
+    }
 
-                // [보강] 다음 줄이 부제인지 확인 (멀티라인 제목 처리)
-                if (i + 1 < lines.length) {
-                    String nextLine = lines[i + 1];
-                    String nextTrimmed = nextLine.trim();
-                    if (!nextTrimmed.isEmpty() && nextTrimmed.length() < 50 &&
-                            !nextTrimmed.contains("\"") && !nextTrimmed.endsWith(".")) {
-                        pendingChapterTitle += " " + nextTrimmed;
-                        i++; // 다음 줄 소모
-                        log.debug("Merged subtitle: {}", nextTrimmed);
-                    }
-                }
+    /**
+     * 휴리스틱 전략으로 파싱합니다. (휴리스틱 전략은 섹션 이벤트만 발생)
+     *
+     * @return sink로 전달한 섹션 수
+     */
+    public static int parse(Reader reader, Consumer<ParsedSection> sink) throws IOException {
+        return parse(reader, new HeuristicBoundaryStrategy(), event -> sink.accept((ParsedSection) event));
+    }
 
-                emptyLineCount = 0;
-                isFirstContentLine = false;
-                continue;
-            }
+    /**
+     * 원고를 한 줄씩 읽으면서 전략으로 경계를 감지하고, 완성된 폴더/섹션을 즉시 sink로 전달합니다.
+     *
+     * 원고 전체를 메모리에 올리지 않으며, 메모리 사용량은 가장 큰 챕터 크기에 비례합니다.
+     * (휴리스틱 전략은 Fallback 판단을 위해 두 번째 섹션이 나올 때까지 원문을 보관)
+     *
+     * @param strategy 원고 하나에만 사용하는 새 전략 인스턴스
+     * @return sink로 전달한 이벤트 수
+     */
+    public static int parse(Reader reader, BoundaryStrategy strategy, Consumer<ManuscriptEvent> sink)
+            throws IOException {
+        SectionAssembler assembler = new SectionAssembler(sink);
+        LineReader lineReader = new LineReader(reader);
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            strategy.accept(line, BoundaryStrategy.UNCLASSIFIED, assembler);
+        }
+        strategy.finish(assembler);
+        return assembler.getEmittedCount();
+    }
 
-            // 섹션 구분선 처리 (***, ---)
-            if (isSectionDivider(trimmed)) {
-                if (contentBuilder.length() > 0) {
-                    saveCurrentSection(sections, contentBuilder, pendingChapterTitle, sectionNumber++);
-                    pendingChapterTitle = null;
-                }
-                emptyLineCount = 0;
-                continue;
-            }
+    /**
+     * 휴리스틱 전략의 병렬 모드
+     */
+    public static int parseParallel(Reader reader, Consumer<ParsedSection> sink, ForkJoinPool pool)
+            throws IOException {
+        return parseParallel(reader, new HeuristicBoundaryStrategy(), event -> sink.accept((ParsedSection) event),
+                pool);
+    }
 
-            // 본문 내용 누적
-            if (trimmed.isEmpty()) {
-                emptyLineCount++;
-            } else {
-                emptyLineCount = 0;
-                isFirstContentLine = false;
+    /**
+     * 대용량 원고용 병렬 모드 (결과는 순차 모드와 동일)
+     *
+     * 원고를 PARALLEL_BLOCK_CHARS 단위 블록으로 읽고, 블록을 빈 줄 경계에서 나누어
+     * 줄 단위 분류(classify)를 fork-join 풀에서 수행합니다.
+     * 빈 줄 수/부제 처리처럼 앞 줄에 의존하는 판단은 블록 순서대로 한 스레드에서 적용하므로
+     * 섹션 경계와 제목은 순차 모드와 같습니다. 메모리 사용량은 블록 크기만큼 늘어납니다.
+     */
+    public static int parseParallel(Reader reader, BoundaryStrategy strategy, Consumer<ManuscriptEvent> sink,
+            ForkJoinPool pool) throws IOException {
+        SectionAssembler assembler = new SectionAssembler(sink);
+        LineReader lineReader = new LineReader(reader);
+        List<String> block = new ArrayList<>();
+        long blockChars = 0;
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            block.add(line);
+            blockChars += line.length() + 1;
+            if (blockChars >= PARALLEL_BLOCK_CHARS) {
+                acceptBlock(strategy, assembler, block, pool);
+                block.clear();
+                blockChars = 0;
             }
-
-            contentBuilder.append(line).append("\n");
         }
+        acceptBlock(strategy, assembler, block, pool);
+        strategy.finish(assembler);
+        return assembler.getEmittedCount();
+    }
 
-        // 마지막 섹션 저장
-        if (contentBuilder.length() > 0) {
-            saveCurrentSection(sections, contentBuilder, pendingChapterTitle, sectionNumber);
+    private static void acceptBlock(BoundaryStrategy strategy, SectionAssembler assembler, List<String> block,
+            ForkJoinPool pool) {
+        if (block.isEmpty()) {
+            return;
         }
-
-        log.info("Manuscript parsing complete. Found {} sections.", sections.size());
-
-        // Fallback: 챕터가 하나도 감지되지 않았거나(통째로 1개), 너무 큰 경우
-        if (sections.isEmpty()
-                || (sections.size() == 1 && sections.get(0).getContent().length() > FALLBACK_CHUNK_SIZE * 1.5)) {
-            log.warn("Chapter detection ineffective. Applying fixed-length splitting ({} chars).", FALLBACK_CHUNK_SIZE);
-            return splitByLength(manuscriptContent);
+        byte[] flags = new byte[block.size()];
+        pool.invoke(new ClassifyTask(strategy, block, flags, 0, block.size()));
+        for (int i = 0; i < block.size(); i++) {
+            strategy.accept(block.get(i), flags[i], assembler);
         }
-
-        return sections;
     }
 
-    private static List<ParsedSection> splitByLength(String content) {
-        List<ParsedSection> sections = new ArrayList<>();
-        int length = content.length();
-        int chunkCount = (int) Math.ceil((double) length / FALLBACK_CHUNK_SIZE);
-
-        for (int i = 0; i < chunkCount; i++) {
-            int start = i * FALLBACK_CHUNK_SIZE;
-            int end = Math.min(start + FALLBACK_CHUNK_SIZE, length);
+    /**
+     * 블록의 줄 범위를 빈 줄 경계에서 나누어 병렬로 분류
+     */
+    private static class ClassifyTask extends RecursiveAction {
+
+        private final BoundaryStrategy strategy;
+        private final List<String> lines;
+        private final byte[] flags;
+        private final int from;
+        private final int to;
+
+        ClassifyTask(BoundaryStrategy strategy, List<String> lines, byte[] flags, int from, int to) {
+            this.strategy = strategy;
+            this.lines = lines;
+            this.flags = flags;
+            this.from = from;
+            this.to = to;
+        }
 
-            // 문장이 잘리지 않도록 조정 (마침표, 줄바꿈 등 탐색)
-            if (end < length) {
-                int safeEnd = findSafeCutPoint(content, end);
-                if (safeEnd > start) {
-                    end = safeEnd;
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_MIN_LINES) {
+                for (int i = from; i < to; i++) {
+                    flags[i] = (byte) strategy.classify(lines.get(i));
                 }
+                return;
             }
+            int split = findBlankLine(from + (to - from) / 2);
+            invokeAll(new ClassifyTask(strategy, lines, flags, from, split),
+                    new ClassifyTask(strategy, lines, flags, split, to));
+        }
 
-            String chunk = content.substring(start, end).trim();
-            if (!chunk.isEmpty()) {
-                sections.add(new ParsedSection("Part " + (i + 1), chunk));
+        // 중간 지점 이후 첫 빈 줄에서 분할 (없으면 중간 지점)
+        private int findBlankLine(int middle) {
+            int limit = Math.min(to - 1, middle + PARALLEL_MIN_LINES);
+            for (int i = middle; i < limit; i++) {
+                if (lines.get(i).isBlank()) {
+                    return i + 1;
+                }
             }
-
-            // 다음 시작 위치 조정 (겹치지 않게)
-            // findSafeCutPoint가 뒤로 밀었을 수 있으므로 i 기반 계산 대신 end를 저장해야 함.
-            // (하지만 여기서는 단순화를 위해 loop 변수 조작 대신 start를 직접 제어하는 while문이 나을 수 있음)
+            return middle;
         }
-
-        // Loop 방식 개선 (While문으로 재작성)
-        return splitByLengthIterative(content);
     }
 
-    private static List<ParsedSection> splitByLengthIterative(String content) {
-        List<ParsedSection> sections = new ArrayList<>();
-        int length = content.length();
-        int start = 0;
-        int partNumber = 1;
-
-        while (start < length) {
-            int end = Math.min(start + FALLBACK_CHUNK_SIZE, length);
+    /**
+     * "\\r?\\n" 기준 줄 단위 리더 (String.split과 같이 끝부분의 빈 줄은 반환하지 않음)
+     */
+    private static class LineReader {
 
-            if (end < length) {
-                end = findSafeCutPoint(content, end);
-            }
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
 
-            String chunk = content.substring(start, end).trim();
-            if (!chunk.isEmpty()) {
-                sections.add(new ParsedSection("Part " + partNumber++, chunk));
-            }
+        // 빈 줄은 뒤에 내용이 있는 줄이 나올 때만 반환 (끝부분의 빈 줄 제거)
+        private int pendingEmptyLines;
+        private String pendingLine;
 
-            start = end;
+        LineReader(Reader reader) {
+            this.reader = reader;
         }
 
-        return sections;
-    }
-
-    private static int findSafeCutPoint(String content, int targetIndex) {
-        // targetIndex 주변에서 안전한 자르기 위치 탐색 (최대 500자까지 뒤로 탐색)
-        // 우선순위: 줄바꿈 > 마침표 > 공백
-        int searchLimit = Math.max(0, targetIndex - 500);
-
-        // 1. 줄바꿈 탐색
-        for (int i = targetIndex; i > searchLimit; i--) {
-            if (content.charAt(i) == '\n') {
-                return i + 1; // 줄바꿈 다음부터 시작
+        String readLine() throws IOException {
+            if (pendingEmptyLines > 0) {
+                pendingEmptyLines--;
+                return "";
+            }
+            if (pendingLine != null) {
+                String line = pendingLine;
+                pendingLine = null;
+                return line;
+            }
+            while (true) {
+                String line = readRawLine();
+                if (line == null) {
+                    pendingEmptyLines = 0;
+                    return null;
+                }
+                if (!line.isEmpty()) {
+                    if (pendingEmptyLines == 0) {
+                        return line;
+                    }
+                    pendingLine = line;
+                    pendingEmptyLines--;
+                    return "";
+                }
+                pendingEmptyLines++;
             }
         }
 
-        // 2. 마침표 탐색
-        for (int i = targetIndex; i > searchLimit; i--) {
-            char c = content.charAt(i);
-            if (c == '.' || c == '!' || c == '?') {
-                return i + 1;
+        private String readRawLine() throws IOException {
+            StringBuilder line = null;
+            while (true) {
+                if (position >= limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        // 줄바꿈 없이 끝난 마지막 줄
+                        return line != null && line.length() > 0 ? line.toString() : null;
+                    }
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (line == null) {
+                    line = new StringBuilder();
+                }
+                line.append(buffer, start, position - start);
+                if (position < limit) {
+                    position++; // '\n' 소모
+                    int length = line.length();
+                    if (length > 0 && line.charAt(length - 1) == '\r') {
+                        line.setLength(length - 1);
+                    }
+                    return line.toString();
+                }
             }
         }
-
-        return targetIndex; // 못 찾으면 원래 위치 반환
-    }
-
-    private static void saveCurrentSection(List<ParsedSection> sections, StringBuilder contentBuilder, String title,
-            int sectionNumber) {
-        String sectionTitle = title != null ? title : "섹션 " + sectionNumber;
-        sections.add(new ParsedSection(sectionTitle, contentBuilder.toString().trim()));
-        contentBuilder.setLength(0); // reset
     }
 
     /**
      * 섹션 구분선 확인
      */
-    private static boolean isSectionDivider(String line) {
+    static boolean isSectionDivider(String line) {
         if (line.length() < 3)
             return false;
         // 문자가 모두 같은지, 그리고 그 문자가 구분선 문자(*, -, =)인지
@@ -0,0 +1,16 @@
+package com.stolink.backend.domain.document.service;
+
+/**
+ * 원고 파싱 결과 이벤트
+ *
+ * 파서는 원고를 읽는 순서대로 이벤트를 내보내며, 수신 측은 이벤트마다 문서를 바로 저장합니다.
+ * 폴더 시작 이후의 섹션은 다음 폴더가 시작될 때까지 그 폴더에 속합니다.
+ */
+public sealed interface ManuscriptEvent permits ManuscriptEvent.FolderStarted, ImprovedManuscriptParser.ParsedSection {
+
+    /**
+     * 챕터 폴더 시작 (정규식 전략처럼 폴더 구조를 만드는 전략만 발생)
+     */
+    record FolderStarted(String title) implements ManuscriptEvent {
+    }
+}
@@ -1,18 +1,36 @@
 package com.stolink.backend.domain.document.service;
 
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.stolink.backend.domain.ai.service.AIAnalysisService;
 import com.stolink.backend.domain.document.dto.ManuscriptJobResponse;
 import com.stolink.backend.domain.document.dto.ManuscriptUploadRequest;
 import com.stolink.backend.domain.document.entity.Document;
 import com.stolink.backend.domain.document.entity.ManuscriptJob;
+import com.stolink.backend.domain.document.repository.DocumentJdbcRepository;
 import com.stolink.backend.domain.document.repository.DocumentRepository;
 import com.stolink.backend.domain.document.repository.ManuscriptJobRepository;
 import com.stolink.backend.domain.project.entity.Project;
@@ -20,6 +38,8 @@ import com.stolink.backend.domain.project.repository.ProjectRepository;
 import com.stolink.backend.domain.user.entity.User;
 import com.stolink.backend.domain.user.repository.UserRepository;
 import com.stolink.backend.global.common.exception.ResourceNotFoundException;
+import com.stolink.backend.global.util.CharsetDetector;
+import com.stolink.backend.global.util.FileStorageUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,72 +51,152 @@ public class ManuscriptJobService {
 
     private final ManuscriptJobRepository jobRepository;
     private final DocumentRepository documentRepository;
+    private final DocumentJdbcRepository documentJdbcRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final AIAnalysisService aiAnalysisService;
+    private final DocumentTreeCache documentTreeCache;
+    private final DocumentOrderAllocator documentOrderAllocator;
+    private final FileStorageUtil fileStorageUtil;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final String SOURCE_DIRECTORY = "manuscripts";
+
+    @Value("${app.manuscript.source-retention-days:7}")
+    private long sourceRetentionDays;
+
+    @Value("${app.manuscript.parallel-parse-threshold-bytes:8388608}")
+    private long parallelParseThresholdBytes;
+
+    @Value("${app.manuscript.chunk-target-chars:10000}")
+    private int chunkTargetChars;
+
+    @Value("${app.manuscript.insert-batch-size:500}")
+    private int insertBatchSize;
+
+    @Value("${app.manuscript.insert-batch-chars:4194304}")
+    private long insertBatchChars;
+
+    @Value("${app.manuscript.worker.max-attempts:3}")
+    private int maxAttempts;
 
     /**
      * 원고 처리 작업을 생성하고 즉시 jobId를 반환합니다.
+     * 원고 원문은 스트림 그대로 파일로 저장하고, 작업에는 경로와 체크섬, 판별한 인코딩만 기록합니다.
+     * (인코딩은 스트림 앞부분만 보고 판별하며, 원문은 처리 시 해당 인코딩으로 한 번만 디코딩)
      */
     @Transactional
-    public ManuscriptJobResponse createJob(UUID userId, UUID projectId, ManuscriptUploadRequest request) {
+    public ManuscriptJobResponse createJob(UUID userId, UUID projectId, ManuscriptUploadRequest request,
+            InputStream source) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
         Project project = projectRepository.findByIdAndUser(projectId, user)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
 
-        ManuscriptJob job = ManuscriptJob.builder()
-                .project(project)
-                .userId(userId)
-                .status(ManuscriptJob.JobStatus.PENDING)
-                .progress(0)
-                .message("원고 업로드 대기 중...")
-                .manuscriptContent(request.getContent())
-                .parentId(request.getParentId())
-                .build();
-
-        job = jobRepository.save(job);
-        log.info("Created manuscript job: {} for project: {}", job.getId(), projectId);
-
-        return ManuscriptJobResponse.from(job);
+        InputStream buffered = new BufferedInputStream(source, CharsetDetector.SAMPLE_BYTES);
+        Charset charset;
+        try {
+            charset = CharsetDetector.detect(buffered);
+        } catch (IOException e) {
+            throw new RuntimeException("원고를 읽을 수 없습니다.", e);
+        }
+        FileStorageUtil.StoredFile storedFile = fileStorageUtil.store(buffered, SOURCE_DIRECTORY, ".txt");
+        try {
+            ManuscriptJob job = ManuscriptJob.builder()
+                    .project(project)
+                    .userId(userId)
+                    .status(ManuscriptJob.JobStatus.PENDING)
+                    .progress(0)
+                    .message("원고 업로드 대기 중...")
+                    .sourcePath(storedFile.path())
+                    .sourceSize(storedFile.size())
+                    .sourceChecksum(storedFile.checksum())
+                    .sourceCharset(charset.name())
+                    .parentId(request.getParentId())
+                    .parseMode(request.getParseMode())
+                    .build();
+
+            job = jobRepository.save(job);
+            log.info("Created manuscript job: {} for project: {} ({} bytes, {})", job.getId(), projectId,
+                    storedFile.size(), charset.name());
+
+            return ManuscriptJobResponse.from(job);
+        } catch (RuntimeException e) {
+            fileStorageUtil.delete(storedFile.path());
+            throw e;
+        }
     }
 
     /**
-     * 비동기로 원고를 처리합니다.
+     * 원고를 처리합니다. ({@link ManuscriptJobWorker}가 선점한 작업을 작업 스레드에서 실행)
+     *
+     * 이전 시도에서 체크포인트가 남아 있으면 저장된 문서는 건너뛰고 이어서 처리합니다.
+     * 중단(서버 종료)되거나 재시도 가능한 오류가 나면 문서와 체크포인트를 유지한 채 대기 상태로 돌아가고,
+     * 재시도 횟수를 넘으면 이 작업이 만든 문서를 모두 삭제하고 실패 처리합니다.
+     * AI 분석 트리거는 작업 완료가 기록된 뒤 별도로 실행하므로, 트리거가 실패해도 가져온 문서는 유지됩니다.
+     *
+     * 작업 상태는 선점 토큰(선점 노드, 선점 차수)이 일치할 때만 갱신합니다.
+     * heartbeat가 끊겨 다른 노드가 다시 선점한 뒤에는 이 처리의 갱신이 반영되지 않으며, 그 즉시 처리를 중단합니다.
      */
-    @Async
-    public void processJobAsync(UUID jobId) {
+    public void processJob(UUID jobId) {
         ManuscriptJob job = jobRepository.findById(jobId)
                 .orElseThrow(() -> new ResourceNotFoundException("ManuscriptJob", "id", jobId));
+        Claim claim = new Claim(jobId, job.getClaimedBy(), job.getAttempts());
 
+        int createdCount;
         try {
-            job.setStatus(ManuscriptJob.JobStatus.PROCESSING);
-            job.updateProgress(5, "원고 분석 시작...");
-            jobRepository.save(job);
-
-            List<Document> createdDocuments = parseManuscriptWithProgress(job);
-
-            // Batch Insert로 성능 최적화
-            if (!createdDocuments.isEmpty()) {
-                documentRepository.saveAll(createdDocuments);
+            if (job.getCheckpointDocuments() > 0) {
+                job.updateProgress(job.getProgress(),
+                        String.format("이어서 처리 중... (%d개 문서 저장됨)", job.getCheckpointDocuments()));
+            } else {
+                job.updateProgress(5, "원고 분석 시작...");
             }
+            saveProgress(job, claim);
 
-            job.complete(createdDocuments.size());
-            jobRepository.save(job);
-
-            log.info("Manuscript job {} completed. Created {} documents.", jobId, createdDocuments.size());
+            createdCount = parseManuscriptWithProgress(job, claim);
 
-            // AI 분석 자동 트리거
-            if (!createdDocuments.isEmpty()) {
-                UUID projectId = job.getProject().getId();
-                log.info("Triggering AI analysis for project: {}", projectId);
-                aiAnalysisService.triggerProjectAnalysis(projectId);
-            }
+            job.complete(createdCount);
+            transactionTemplate.executeWithoutResult(status -> claim.verify(jobRepository.completeIfOwned(
+                    jobId, claim.owner(), claim.attempt(), ManuscriptJob.JobStatus.PROCESSING,
+                    ManuscriptJob.JobStatus.COMPLETED, job.getTotalDocuments(), job.getMessage(),
+                    job.getCompletedAt())));
 
+            log.info("Manuscript job {} completed. Created {} documents.", jobId, createdCount);
         } catch (Exception e) {
+            // 인터럽트 상태를 해제해야 이후 DB 작업이 정상 수행됨
+            boolean interrupted = Thread.interrupted();
+            if (isClaimLost(e)) {
+                log.warn("Manuscript job {} lost its claim (attempt {} on {}), abandoning this attempt", jobId,
+                        claim.attempt(), claim.owner());
+                return;
+            }
+            if (interrupted || e instanceof CancellationException) {
+                log.info("Manuscript job {} interrupted after {} documents, returning to queue", jobId,
+                        job.getCheckpointDocuments());
+                requeue(job, claim, "서버 재시작으로 중단되어 마지막 저장 지점부터 다시 처리합니다.");
+                return;
+            }
+            if (job.getAttempts() < maxAttempts) {
+                log.warn("Manuscript job {} failed (attempt {}/{}), retrying from checkpoint: {}", jobId,
+                        job.getAttempts(), maxAttempts, e.getMessage(), e);
+                requeue(job, claim, "일시적인 오류로 마지막 저장 지점부터 다시 처리합니다.");
+                return;
+            }
             log.error("Manuscript job {} failed: {}", jobId, e.getMessage(), e);
-            job.fail("처리 중 오류가 발생했습니다: " + e.getMessage());
-            jobRepository.save(job);
+            fail(job, claim, "처리 중 오류가 발생했습니다: " + e.getMessage());
+            return;
+        }
+
+        // AI 분석 자동 트리거 (실패해도 완료된 작업을 재시도하거나 문서를 삭제하지 않음)
+        if (createdCount > 0) {
+            UUID projectId = job.getProject().getId();
+            log.info("Triggering AI analysis for project: {}", projectId);
+            try {
+                aiAnalysisService.triggerProjectAnalysis(projectId);
+            } catch (RuntimeException e) {
+                log.error("Failed to trigger AI analysis for project {} after manuscript job {}: {}",
+                        projectId, jobId, e.getMessage(), e);
+            }
         }
     }
 
@@ -111,80 +211,391 @@ public class ManuscriptJobService {
 
     /**
      * 진행률을 업데이트하면서 원고를 파싱합니다.
+     *
+     * 원고를 한 줄씩 읽으며 완성된 챕터를 insert-batch-size(또는 insert-batch-chars)만큼 모아 저장하므로,
+     * 전체 섹션/문서 목록을 메모리에 쌓아 두지 않고 DB 왕복은 배치 수만큼만 발생합니다.
+     *
+     * 배치를 저장하는 트랜잭션에서 체크포인트(저장된 문서 수, 읽은 바이트 수)를 함께 기록합니다.
+     * 재개할 때는 원문을 처음부터 다시 파싱하되 체크포인트까지의 문서는 저장하지 않습니다.
+     * (파서 상태가 진행 중인 챕터 본문을 포함하므로 바이트 위치로 건너뛰는 대신 재생하며,
+     * 문서 ID와 order가 작업 ID와 문서 순번으로 정해지므로 재생한 문서는 저장된 문서와 같음)
+     *
+     * @return 생성된 문서 수 (이전 시도에서 저장한 문서 포함)
      */
-    private List<Document> parseManuscriptWithProgress(ManuscriptJob job) {
-        String content = job.getManuscriptContent();
+    private int parseManuscriptWithProgress(ManuscriptJob job, Claim claim) throws IOException {
         Project project = job.getProject();
 
-        Document rootParent = null;
+        Document parent = null;
         if (job.getParentId() != null) {
-            rootParent = documentRepository.findById(job.getParentId()).orElse(null);
+            parent = documentRepository.findById(job.getParentId()).orElse(null);
+        }
+        Document rootParent = parent;
+
+        // 시작 order는 첫 시도에서만 할당 (재개 시 이미 저장된 문서 뒤에 다시 할당되지 않도록)
+        // 할당은 형제 그룹을 잠그므로 시작 order를 기록하는 트랜잭션 안에서 수행
+        if (job.getRootOrder() == null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                job.setRootOrder(documentOrderAllocator.append(project, rootParent));
+                job.updateProgress(10, "챕터 구조 분석 중...");
+                saveProgress(job, claim);
+            });
+        }
+        int rootOrder = job.getRootOrder();
+        int resumeFrom = job.getCheckpointDocuments();
+
+        int[] topLevelCount = { 0 };
+        int[] childCount = { 0 };
+        int[] sectionCount = { 0 };
+        int[] documentCount = { 0 };
+        Document[] currentFolder = { null };
+        long totalSize = Math.max(1, job.getSourceSize() != null ? job.getSourceSize() : 0);
+
+        MessageDigest digest = newSha256();
+        try (InputStream source = fileStorageUtil.open(job.getSourcePath());
+                CountingInputStream counted = new CountingInputStream(new DigestInputStream(source, digest))) {
+            Reader reader = CharsetDetector.newReader(counted, sourceCharset(job));
+
+            // 생성된 문서를 모아 한 번의 JDBC 배치로 저장하고, 같은 트랜잭션에서 체크포인트와 진행률 갱신 (읽은 바이트 기준)
+            // 선점을 잃었으면 체크포인트 갱신 행 수가 0이므로 문서 저장까지 함께 롤백
+            List<Document> batch = new ArrayList<>();
+            long[] batchChars = { 0 };
+            Runnable flushBatch = () -> {
+                if (batch.isEmpty()) {
+                    return;
+                }
+                List<Document> saved = List.copyOf(batch);
+                int progress = 10 + (int) (Math.min(1.0, (double) counted.getCount() / totalSize) * 80);
+                transactionTemplate.executeWithoutResult(status -> {
+                    documentJdbcRepository.insertAll(saved);
+                    job.checkpoint(documentCount[0], counted.getCount());
+                    job.updateProgress(progress, String.format("문서 생성 중... (%d개 챕터)", sectionCount[0]));
+                    claim.verify(jobRepository.checkpointIfOwned(claim.jobId(), claim.owner(), claim.attempt(),
+                            ManuscriptJob.JobStatus.PROCESSING, job.getCheckpointDocuments(),
+                            job.getCheckpointOffset(), job.getProgress(), job.getMessage(), job.getHeartbeatAt()));
+                    documentTreeCache.upsertAll(saved);
+                });
+                batch.clear();
+                batchChars[0] = 0;
+            };
+
+            // 폴더 이후의 섹션은 다음 폴더 전까지 그 폴더에 속함 (ID를 미리 할당하므로 폴더와 자식을 같은 배치로 저장)
+            Consumer<ManuscriptEvent> saveEvent = event -> {
+                // 서버 종료 시 배치 사이에서 멈춤 (마지막 체크포인트까지는 저장된 상태)
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Manuscript job interrupted");
+                }
+
+                Document document;
+                if (event instanceof ManuscriptEvent.FolderStarted folderStarted) {
+                    document = createFolderDocument(documentId(job, documentCount[0]), project, rootParent,
+                            folderStarted.title(), rootOrder + topLevelCount[0]++ * Document.ORDER_GAP);
+                    currentFolder[0] = document;
+                    childCount[0] = 0;
+                } else {
+                    ImprovedManuscriptParser.ParsedSection section = (ImprovedManuscriptParser.ParsedSection) event;
+                    sectionCount[0]++;
+                    Document parent = currentFolder[0] != null ? currentFolder[0] : rootParent;
+                    int order = currentFolder[0] != null
+                            ? childCount[0]++ * Document.ORDER_GAP
+                            : rootOrder + topLevelCount[0]++ * Document.ORDER_GAP;
+                    document = createSectionDocument(documentId(job, documentCount[0]), project, parent,
+                            section.getContent(), section.getTitle(), order);
+                    if (document == null) {
+                        return;
+                    }
+                }
+
+                // 이전 시도에서 이미 저장된 문서
+                if (documentCount[0]++ < resumeFrom) {
+                    return;
+                }
+
+                batch.add(document);
+                batchChars[0] += document.getContent().length();
+                if (batch.size() >= insertBatchSize || batchChars[0] >= insertBatchChars) {
+                    flushBatch.run();
+                }
+            };
+
+            // 대용량 원고는 줄 단위 분류를 병렬 수행
+            BoundaryStrategy strategy = createBoundaryStrategy(job.getParseMode());
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            if (totalSize >= parallelParseThresholdBytes && pool.getParallelism() > 1) {
+                ImprovedManuscriptParser.parseParallel(reader, strategy, saveEvent, pool);
+            } else {
+                ImprovedManuscriptParser.parse(reader, strategy, saveEvent);
+            }
+            flushBatch.run();
         }
 
-        job.updateProgress(10, "챕터 구조 분석 중...");
-        jobRepository.save(job);
+        // 저장된 원문이 업로드 시점과 같은지 확인 (다르면 실패 처리되어 생성된 문서가 정리됨)
+        String checksum = HexFormat.of().formatHex(digest.digest());
+        if (job.getSourceChecksum() != null && !job.getSourceChecksum().equals(checksum)) {
+            throw new IllegalStateException("원고 파일 체크섬이 일치하지 않습니다.");
+        }
 
-        // 정규식 없는 상태 기반 파서 사용 (Defensive Parsing)
-        List<ImprovedManuscriptParser.ParsedSection> sections = ImprovedManuscriptParser.parse(content);
+        job.updateProgress(95, "문서 저장 완료, 마무리 중...");
+        saveProgress(job, claim);
 
-        List<Document> createdDocuments = new ArrayList<>();
-        int rootOrder = getNextOrder(project, rootParent);
-        int documentOrder = 0;
-        int totalSections = sections.size();
+        return documentCount[0];
+    }
 
-        for (int i = 0; i < totalSections; i++) {
-            ImprovedManuscriptParser.ParsedSection section = sections.get(i);
+    /**
+     * 업로드 시 판별한 원고 인코딩 (판별 이전에 생성된 작업은 UTF-8)
+     */
+    private static Charset sourceCharset(ManuscriptJob job) {
+        return job.getSourceCharset() != null ? Charset.forName(job.getSourceCharset()) : StandardCharsets.UTF_8;
+    }
 
-            // 섹션 생성 (저장하지 않고 객체만 반환)
-            createdDocuments
-                    .addAll(createSectionDocuments(project, rootParent, section.getContent(), section.getTitle(),
-                            rootOrder + documentOrder++));
+    /**
+     * 작업에서 n번째로 생성되는 문서의 ID (재개 시 같은 문서에 같은 ID가 할당되도록 작업 ID와 순번으로 결정)
+     */
+    private static UUID documentId(ManuscriptJob job, int index) {
+        return UUID.nameUUIDFromBytes((job.getId() + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
 
-            // 진행률 업데이트
-            if (i % 5 == 0 || i == totalSections - 1) { // 너무 잦은 업데이트 방지
-                int progress = 10 + (int) (((double) (i + 1) / totalSections) * 80);
-                job.updateProgress(progress, String.format("문서 생성 중... (%d/%d 챕터)", i + 1, totalSections));
-                jobRepository.save(job);
-            }
+    /**
+     * 작업에 지정된 경계 판별 전략을 만듭니다. (지정하지 않으면 정규식 없는 상태 기반 파서, Defensive Parsing)
+     */
+    private BoundaryStrategy createBoundaryStrategy(ManuscriptJob.ParseMode parseMode) {
+        if (parseMode == null) {
+            return new HeuristicBoundaryStrategy(chunkTargetChars);
         }
-
-        job.updateProgress(95, "문서 저장 완료, 마무리 중...");
-        jobRepository.save(job);
-
-        return createdDocuments;
+        return switch (parseMode) {
+            case HEURISTIC -> new HeuristicBoundaryStrategy(chunkTargetChars);
+            case REGEX -> new RegexBoundaryStrategy(chunkTargetChars);
+            case FIXED_SIZE -> new FixedSizeBoundaryStrategy(chunkTargetChars);
+        };
     }
 
-    private int getNextOrder(Project project, Document parent) {
-        return documentRepository.findMaxOrderByProjectAndParent(project, parent)
-                .map(max -> max + 1)
-                .orElse(0);
+    private Document createFolderDocument(UUID id, Project project, Document parent, String title, int order) {
+        return Document.builder()
+                .id(id)
+                .project(project)
+                .parent(parent)
+                .type(Document.DocumentType.FOLDER)
+                .title(title)
+                .content("")
+                .synopsis("")
+                .wordCount(0)
+                .order(order)
+                .status(Document.DocumentStatus.DRAFT)
+                .includeInCompile(true)
+                .build();
     }
 
-    private List<Document> createSectionDocuments(Project project, Document parent,
+    private Document createSectionDocument(UUID id, Project project, Document parent,
             String contentRaw, String title, int order) {
-        List<Document> created = new ArrayList<>();
         String content = contentRaw.trim();
 
         if (content.isEmpty())
-            return created;
+            return null;
 
         String finalTitle = (title != null && !title.isEmpty()) ? title : (parent != null ? "본문" : "프롤로그");
 
-        Document doc = Document.builder()
+        return Document.builder()
+                .id(id)
                 .project(project)
                 .parent(parent)
                 .type(Document.DocumentType.TEXT)
                 .title(finalTitle)
                 .content(content) // 전체 내용 저장
-                .wordCount(content.length())
+                .synopsis("")
+                .wordCount(Document.calculateWordCount(content))
                 .targetWordCount(0)
-                .order(order++)
+                .order(order)
                 .status(Document.DocumentStatus.DRAFT)
                 .includeInCompile(true)
                 .build();
-        // save 호출 제거 (Batch Insert를 위해 객체만 리턴)
-        created.add(doc);
+    }
 
-        return created;
+    /**
+     * 선점 토큰이 일치할 때만 진행률(과 시작 order)을 기록합니다.
+     */
+    private void saveProgress(ManuscriptJob job, Claim claim) {
+        transactionTemplate.executeWithoutResult(status -> claim.verify(jobRepository.updateProgressIfOwned(
+                claim.jobId(), claim.owner(), claim.attempt(), ManuscriptJob.JobStatus.PROCESSING,
+                job.getProgress(), job.getMessage(), job.getRootOrder(), job.getHeartbeatAt())));
+    }
+
+    /**
+     * 선점 토큰이 일치할 때만 대기 상태로 되돌립니다. (이미 다시 선점된 작업은 그대로 둠)
+     */
+    private void requeue(ManuscriptJob job, Claim claim, String message) {
+        job.requeue(message);
+        Integer updated = transactionTemplate.execute(status -> jobRepository.requeueIfOwned(claim.jobId(),
+                claim.owner(), claim.attempt(), ManuscriptJob.JobStatus.PROCESSING,
+                ManuscriptJob.JobStatus.PENDING, message));
+        if (updated == null || updated == 0) {
+            log.warn("Manuscript job {} was already reclaimed, skipping requeue of attempt {}", claim.jobId(),
+                    claim.attempt());
+        }
+    }
+
+    /**
+     * 실패를 기록하고 이 작업이 만든 문서를 같은 트랜잭션에서 삭제합니다.
+     * 실패 기록이 선점 토큰 조건으로 작업 행을 잠그므로, 다시 선점된 작업의 문서는 삭제하지 않습니다.
+     * 문서 삭제에 실패하면 남은 문서 수를 체크포인트로 남긴 채 실패만 기록합니다.
+     */
+    private void fail(ManuscriptJob job, Claim claim, String message) {
+        job.fail(message);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                claim.verify(jobRepository.failIfOwned(claim.jobId(), claim.owner(), claim.attempt(),
+                        ManuscriptJob.JobStatus.PROCESSING, ManuscriptJob.JobStatus.FAILED, message, 0,
+                        job.getCompletedAt()));
+                discardCreatedDocuments(job);
+            });
+        } catch (ClaimLostException e) {
+            log.warn("Manuscript job {} was already reclaimed, skipping failure of attempt {}", claim.jobId(),
+                    claim.attempt());
+        } catch (RuntimeException e) {
+            log.error("Failed to discard {} documents of failed manuscript job {}", job.getCheckpointDocuments(),
+                    job.getId(), e);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.failIfOwned(claim.jobId(),
+                    claim.owner(), claim.attempt(), ManuscriptJob.JobStatus.PROCESSING,
+                    ManuscriptJob.JobStatus.FAILED, message, job.getCheckpointDocuments(), job.getCompletedAt()));
+        }
+    }
+
+    /**
+     * heartbeat가 끊긴 채 재개 횟수를 모두 사용한 작업을 실패 처리하고, 이 작업이 만든 문서를 삭제합니다.
+     * (처리 중 노드가 반복해서 중단된 경우에도 원고를 일부만 가져온 상태로 남기지 않음)
+     *
+     * 작업 행을 한 건씩 SKIP LOCKED로 잠그고, 실패 기록과 문서 삭제를 같은 트랜잭션에서 수행합니다.
+     * 실패 기록은 잠근 시점의 선점 토큰을 조건으로 하므로, 늦게 살아난 이전 처리의 체크포인트는 반영되지 않습니다.
+     *
+     * @return 실패 처리한 작업 수
+     */
+    public int failStaleJobs(LocalDateTime threshold, int maxAttempts, String message) {
+        int failed = 0;
+        while (Boolean.TRUE.equals(transactionTemplate.execute(
+                status -> failNextStaleJob(threshold, maxAttempts, message)))) {
+            failed++;
+        }
+        return failed;
+    }
+
+    private boolean failNextStaleJob(LocalDateTime threshold, int maxAttempts, String message) {
+        List<UUID> ids = jobRepository.lockStaleJobIds(threshold, maxAttempts, 1);
+        if (ids.isEmpty()) {
+            return false;
+        }
+        ManuscriptJob job = jobRepository.findById(ids.get(0))
+                .orElseThrow(() -> new ResourceNotFoundException("ManuscriptJob", "id", ids.get(0)));
+        jobRepository.failIfOwned(job.getId(), job.getClaimedBy(), job.getAttempts(),
+                ManuscriptJob.JobStatus.PROCESSING, ManuscriptJob.JobStatus.FAILED, message, 0, LocalDateTime.now());
+        discardCreatedDocuments(job);
+        log.warn("Failed stale manuscript job {} after {} attempts, discarded {} documents", job.getId(),
+                job.getAttempts(), job.getCheckpointDocuments());
+        return true;
+    }
+
+    /**
+     * 실패한 작업에서 이미 저장된 문서를 삭제합니다. (작업 단위로 전부 생성되거나 전혀 생성되지 않도록)
+     * 문서 ID는 순번으로 정해지므로 체크포인트까지의 ID를 다시 계산하여 이전 시도에서 저장한 문서도 함께 삭제합니다.
+     */
+    private void discardCreatedDocuments(ManuscriptJob job) {
+        int savedCount = job.getCheckpointDocuments();
+        if (savedCount == 0) {
+            return;
+        }
+        List<UUID> createdDocumentIds = new ArrayList<>(savedCount);
+        for (int i = 0; i < savedCount; i++) {
+            createdDocumentIds.add(documentId(job, i));
+        }
+        documentRepository.deleteAllByIdInBatch(createdDocumentIds);
+        documentTreeCache.evict(job.getProject().getId());
+    }
+
+    private static boolean isClaimLost(Throwable e) {
+        // 병렬 파싱 중 발생한 예외는 감싸져 전달될 수 있음
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ClaimLostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 작업 선점 토큰 (선점 노드, 선점 차수)
+     * 선점할 때마다 attempts가 증가하므로 같은 노드가 다시 선점한 경우도 구분됩니다.
+     */
+    private record Claim(UUID jobId, String owner, int attempt) {
+
+        void verify(int updated) {
+            if (updated == 0) {
+                throw new ClaimLostException(jobId);
+            }
+        }
+    }
+
+    private static class ClaimLostException extends RuntimeException {
+
+        ClaimLostException(UUID jobId) {
+            super("Manuscript job " + jobId + " is no longer claimed by this worker");
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 완료 작업의 원고 원문 파일을 삭제합니다.
+     * 실패한 작업의 원문은 재처리를 위해 남겨 둡니다.
+     */
+    @Scheduled(fixedDelay = 3600000)
+    public void cleanupCompletedSources() {
+        LocalDateTime threshold = LocalDateTime.now().minusDays(sourceRetentionDays);
+        List<ManuscriptJob> jobs = jobRepository.findByStatusAndCompletedAtBeforeAndSourcePathIsNotNull(
+                ManuscriptJob.JobStatus.COMPLETED, threshold);
+        for (ManuscriptJob job : jobs) {
+            fileStorageUtil.delete(job.getSourcePath());
+            job.setSourcePath(null);
+            jobRepository.save(job);
+        }
+        if (!jobs.isEmpty()) {
+            log.info("Deleted {} manuscript source files older than {} days", jobs.size(), sourceRetentionDays);
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 읽은 바이트 수를 세는 InputStream (진행률 계산용)
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        long getCount() {
+            return count;
+        }
     }
 }
@@ -0,0 +1,259 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.entity.ManuscriptJob;
+import com.stolink.backend.domain.document.repository.ManuscriptJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 원고 처리 전용 작업자
+ *
+ * manuscript_jobs 테이블을 작업 큐로 사용합니다. 대기(PENDING) 작업을 FOR UPDATE SKIP LOCKED로 선점하므로
+ * 서버가 재시작되어도 대기 작업이 유실되지 않고, 여러 노드가 같은 테이블에서 작업을 나누어 가져갑니다.
+ *
+ * 작업은 크기가 고정된 전용 스레드 풀과 제한된 대기열에서 실행됩니다. 대기열에 남은 자리만큼만 선점하므로
+ * 업로드가 몰려도 요청 스레드나 다른 비동기 작업에 영향을 주지 않고, 나머지는 DB에서 대기합니다.
+ *
+ * 처리 중이던 노드가 종료되면 작업은 대기 상태로 돌아가고, 다음 선점 시 마지막 체크포인트부터 재개됩니다.
+ */
+@Slf4j
+@Component
+public class ManuscriptJobWorker {
+
+    private final ManuscriptJobService manuscriptJobService;
+    private final ManuscriptJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+    private final int capacity;
+    private final String workerId;
+
+    // 선점 후 완료되지 않은 작업 수 (대기열 + 실행 중)
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong pendingInDatabase = new AtomicLong();
+
+    private final Counter claimedJobs;
+    private final Counter staleJobs;
+    private final Counter requeuedJobs;
+    private final Timer waitTimer;
+    private final Timer processTimer;
+
+    @Value("${app.manuscript.worker.stale-timeout-ms:600000}")
+    private long staleTimeoutMs;
+
+    @Value("${app.manuscript.worker.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.manuscript.worker.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    public ManuscriptJobWorker(ManuscriptJobService manuscriptJobService,
+            ManuscriptJobRepository jobRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.manuscript.worker.threads:2}") int threads,
+            @Value("${app.manuscript.worker.queue-capacity:8}") int queueCapacity) {
+        this.manuscriptJobService = manuscriptJobService;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = threads + queueCapacity;
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // 선점 수를 capacity로 제한하므로 거부 정책(AbortPolicy)은 안전장치로만 동작
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "manuscript-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.claimedJobs = Counter.builder("stolink.manuscript.jobs.claimed")
+                .description("이 노드가 선점한 원고 처리 작업 수")
+                .register(meterRegistry);
+        this.staleJobs = Counter.builder("stolink.manuscript.jobs.stale")
+                .description("heartbeat가 끊겨 재개 횟수를 넘어 실패 처리된 작업 수")
+                .register(meterRegistry);
+        this.requeuedJobs = Counter.builder("stolink.manuscript.jobs.requeued")
+                .description("heartbeat가 끊겨 체크포인트부터 재개하도록 되돌린 작업 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("stolink.manuscript.job.wait")
+                .description("작업 생성부터 처리 시작까지 대기 시간")
+                .register(meterRegistry);
+        this.processTimer = Timer.builder("stolink.manuscript.job.duration")
+                .description("작업 처리 시간")
+                .register(meterRegistry);
+        Gauge.builder("stolink.manuscript.queue.depth", executor, e -> e.getQueue().size())
+                .description("로컬 대기열에서 실행을 기다리는 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("stolink.manuscript.workers.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("처리 중인 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("stolink.manuscript.jobs.pending", pendingInDatabase, AtomicLong::get)
+                .description("DB에서 선점을 기다리는 작업 수 (마지막 폴링 기준)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 작업이 등록되었을 때 다음 폴링을 기다리지 않고 바로 선점을 시도합니다.
+     */
+    public void wakeUp() {
+        try {
+            claimAndDispatch();
+        } catch (Exception e) {
+            // 실패해도 다음 폴링에서 다시 선점됨
+            log.warn("Failed to dispatch manuscript jobs immediately: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 대기열 여유만큼 대기 작업을 선점하여 작업 스레드에 넘깁니다.
+     */
+    @Scheduled(fixedDelayString = "${app.manuscript.worker.poll-interval-ms:2000}")
+    public synchronized void claimAndDispatch() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        int available = capacity - inFlight.get();
+        if (available > 0) {
+            List<UUID> claimed = transactionTemplate.execute(status -> {
+                List<UUID> ids = jobRepository.lockPendingJobIds(available);
+                if (!ids.isEmpty()) {
+                    jobRepository.markClaimed(ids, ManuscriptJob.JobStatus.PROCESSING, workerId,
+                            LocalDateTime.now());
+                }
+                return ids;
+            });
+            for (UUID jobId : claimed) {
+                dispatch(jobId);
+            }
+        }
+        pendingInDatabase.set(jobRepository.countByStatus(ManuscriptJob.JobStatus.PENDING));
+    }
+
+    private void dispatch(UUID jobId) {
+        claimedJobs.increment();
+        inFlight.incrementAndGet();
+        try {
+            executor.execute(new JobTask(jobId));
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            log.warn("Manuscript worker queue is full, releasing job {}", jobId);
+            release(List.of(jobId));
+        }
+    }
+
+    /**
+     * 처리 노드가 중단되어 heartbeat가 끊긴 작업을 대기 상태로 돌립니다. (재개 횟수를 넘으면 실패 처리 후 생성된 문서 삭제)
+     */
+    @Scheduled(fixedDelayString = "${app.manuscript.worker.stale-check-interval-ms:60000}")
+    public void recoverStaleJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(Duration.ofMillis(staleTimeoutMs));
+        Integer requeued = transactionTemplate.execute(status -> jobRepository.requeueStaleJobs(threshold,
+                maxAttempts, ManuscriptJob.JobStatus.PROCESSING, ManuscriptJob.JobStatus.PENDING,
+                "처리 중 서버가 중단되어 마지막 저장 지점부터 다시 처리합니다."));
+        if (requeued != null && requeued > 0) {
+            requeuedJobs.increment(requeued);
+            log.warn("Requeued {} stale manuscript jobs to resume from their checkpoints", requeued);
+        }
+        // 재개 횟수를 넘은 작업은 생성된 문서를 함께 삭제 (작업 단위로 전부 생성되거나 전혀 생성되지 않도록)
+        int failed = manuscriptJobService.failStaleJobs(threshold, maxAttempts,
+                "처리 중 서버가 반복해서 중단되어 작업이 취소되었습니다. 다시 업로드해 주세요.");
+        if (failed > 0) {
+            staleJobs.increment(failed);
+            log.warn("Marked {} stale manuscript jobs as failed", failed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 아직 시작하지 않은 작업은 다른 노드나 재시작 후에 처리되도록 대기 상태로 되돌림
+        List<UUID> notStarted = new ArrayList<>();
+        for (Runnable runnable : executor.shutdownNow()) {
+            if (runnable instanceof JobTask task) {
+                notStarted.add(task.jobId());
+            }
+        }
+        if (!notStarted.isEmpty()) {
+            log.info("Releasing {} queued manuscript jobs before shutdown", notStarted.size());
+            release(notStarted);
+        }
+        // 실행 중인 작업은 인터럽트를 받으면 현재 배치 이후 멈추고 체크포인트를 남긴 채 대기 상태로 돌아감
+        try {
+            if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Manuscript jobs still running after {} ms, they will resume after restart",
+                        shutdownTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void release(List<UUID> jobIds) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.releaseClaims(jobIds,
+                    ManuscriptJob.JobStatus.PENDING, ManuscriptJob.JobStatus.PROCESSING));
+        } catch (Exception e) {
+            log.error("Failed to release manuscript jobs {}", jobIds, e);
+        }
+    }
+
+    /**
+     * 선점한 작업 1건 (종료 시 시작하지 않은 작업을 되돌리기 위해 jobId를 보관)
+     */
+    private class JobTask implements Runnable {
+
+        private final UUID jobId;
+
+        JobTask(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        UUID jobId() {
+            return jobId;
+        }
+
+        @Override
+        public void run() {
+            process(jobId);
+        }
+    }
+
+    private void process(UUID jobId) {
+        try {
+            jobRepository.findById(jobId).ifPresent(job -> {
+                if (job.getCreatedAt() != null) {
+                    waitTimer.record(Duration.between(job.getCreatedAt(), LocalDateTime.now()));
+                }
+            });
+            processTimer.record(() -> manuscriptJobService.processJob(jobId));
+        } catch (Exception e) {
+            log.error("Manuscript job {} terminated unexpectedly", jobId, e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.stolink.backend.domain.document.service;
+
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 정규식 경계 전략 (프로젝트 생성 시 함께 입력한 원고용)
+ *
+ * "제1장", "Chapter 1" 형태의 줄은 챕터 폴더로, "***" 구분선은 폴더 안의 섹션 경계로 처리합니다.
+ * 목표 크기를 넘는 섹션은 {@link AdaptiveChunker}로 나누어 "제목 (n)" 문서로 내보냅니다.
+ */
+@Slf4j
+public class RegexBoundaryStrategy implements BoundaryStrategy {
+
+    static final int FOLDER = 1;
+    static final int DIVIDER = 2;
+
+    // Approved Regex Patterns (v5) - 더 엄격한 패턴
+    private static final Pattern FOLDER_PATTERN = Pattern.compile(
+            "^\\s*(?:(?:제|第)\\s*[0-9一二三四五六七八九十]+\\s*(?:부|권|편|장)|(?:Part|Chapter|Book|Volume)\\s+[0-9IVXLCDM]+)\\s*[.:\\-]?\\s*.*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DIVIDER_PATTERN = Pattern.compile(
+            "^\\s*[*=-]{3,}\\s*$");
+
+    private final int targetChars;
+    private boolean insideFolder = false;
+
+    public RegexBoundaryStrategy() {
+        this(AdaptiveChunker.DEFAULT_TARGET_CHARS);
+    }
+
+    public RegexBoundaryStrategy(int targetChars) {
+        this.targetChars = targetChars;
+    }
+
+    @Override
+    public int classify(String line) {
+        if (FOLDER_PATTERN.matcher(line).find()) {
+            return FOLDER;
+        }
+        if (DIVIDER_PATTERN.matcher(line).find()) {
+            return DIVIDER;
+        }
+        return 0;
+    }
+
+    @Override
+    public void accept(String line, int flags, SectionAssembler assembler) {
+        int type = flags == UNCLASSIFIED ? classify(line) : flags;
+        String trimmedLine = line.trim();
+
+        if (type == FOLDER) {
+            // 이전 데이터 생성 후 새로운 챕터(폴더) 시작
+            emitSections(assembler);
+            assembler.emit(new ManuscriptEvent.FolderStarted(trimmedLine));
+            insideFolder = true;
+            log.debug("Parsed Chapter Folder: {}", trimmedLine);
+        } else if (type == DIVIDER) {
+            emitSections(assembler);
+        } else if (!trimmedLine.isEmpty() || assembler.hasContent()) {
+            // 일반 본문 (섹션 앞의 빈 줄은 제외)
+            assembler.appendLine(line);
+        }
+    }
+
+    @Override
+    public void finish(SectionAssembler assembler) {
+        // 마지막 데이터 생성
+        emitSections(assembler);
+    }
+
+    /**
+     * 누적된 본문을 섹션으로 내보냅니다. (목표 크기를 넘으면 문단/문장 단위로 나눔)
+     */
+    private void emitSections(SectionAssembler assembler) {
+        if (!assembler.hasContent()) {
+            return;
+        }
+        String content = assembler.takeContent().trim();
+        if (content.isEmpty()) {
+            return;
+        }
+        AdaptiveChunker.splitSection(insideFolder ? "본문" : "프롤로그", content, targetChars, assembler::emit);
+    }
+}
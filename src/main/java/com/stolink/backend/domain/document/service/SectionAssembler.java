@@ -0,0 +1,43 @@
+package com.stolink.backend.domain.document.service;
+
+import java.util.function.Consumer;
+
+/**
+ * 전략이 누적한 본문을 이벤트로 만들어 수신 측에 전달합니다.
+ */
+public final class SectionAssembler {
+
+    private final Consumer<ManuscriptEvent> sink;
+    private final StringBuilder content = new StringBuilder();
+    private int emittedCount = 0;
+
+    SectionAssembler(Consumer<ManuscriptEvent> sink) {
+        this.sink = sink;
+    }
+
+    public void appendLine(String line) {
+        content.append(line).append('\n');
+    }
+
+    public boolean hasContent() {
+        return content.length() > 0;
+    }
+
+    /**
+     * 누적된 본문을 꺼내고 비웁니다.
+     */
+    public String takeContent() {
+        String text = content.toString();
+        content.setLength(0); // reset
+        return text;
+    }
+
+    public void emit(ManuscriptEvent event) {
+        sink.accept(event);
+        emittedCount++;
+    }
+
+    int getEmittedCount() {
+        return emittedCount;
+    }
+}
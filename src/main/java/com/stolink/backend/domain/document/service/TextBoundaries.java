@@ -0,0 +1,77 @@
+package com.stolink.backend.domain.document.service;
+
+/**
+ * 본문 분할 지점 탐색 유틸리티
+ *
+ * 문장 중간에서 잘리지 않도록 문장 끝(한국어/영어 종결 부호, 줄바꿈) 또는 공백 위치를 찾습니다.
+ */
+public final class TextBoundaries {
+
+    // 종결 부호 뒤에 붙어도 같은 문장으로 취급하는 닫는 따옴표/괄호
+    private static final String CLOSING_CHARS = "\"'”’」』)]";
+
+    private TextBoundaries() {
+    }
+
+    /**
+     * text[from, to) 구간에서 마지막 문장 끝 다음 위치를 반환합니다. 없으면 -1.
+     */
+    public static int lastSentenceEnd(CharSequence text, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                return i + 1;
+            }
+            if (isSentenceTerminator(c)) {
+                int end = i + 1;
+                while (end < to && CLOSING_CHARS.indexOf(text.charAt(end)) >= 0) {
+                    end++;
+                }
+                // "3.14", "Mr.Kim" 처럼 바로 뒤에 글자가 붙는 경우는 문장 끝이 아님
+                if (end == to || Character.isWhitespace(text.charAt(end))) {
+                    return end;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * text[from, to) 구간에서 마지막 공백 다음 위치를 반환합니다. 없으면 -1.
+     */
+    public static int lastWhitespaceEnd(CharSequence text, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * text 앞부분을 잘라낼 위치를 반환합니다. (문장 끝 > 공백 > 전체 순으로 우선)
+     * 앞쪽 절반 이전에서만 경계가 발견되면 너무 짧게 잘리므로 다음 우선순위로 넘어갑니다.
+     */
+    public static int findCut(CharSequence text) {
+        int length = text.length();
+        int minCut = length / 2;
+
+        int cut = lastSentenceEnd(text, minCut, length);
+        if (cut > 0) {
+            return cut;
+        }
+        cut = lastWhitespaceEnd(text, minCut, length);
+        if (cut > 0) {
+            return cut;
+        }
+        // 서로게이트 쌍이 갈라지지 않도록 조정
+        if (length > 1 && Character.isHighSurrogate(text.charAt(length - 1))) {
+            return length - 1;
+        }
+        return length;
+    }
+
+    public static boolean isSentenceTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '。' || c == '…' || c == '！' || c == '？';
+    }
+}
@@ -0,0 +1,73 @@
+package com.stolink.backend.domain.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 발행 대기 메시지 (transactional outbox)
+ *
+ * 메시지를 발행하는 비즈니스 변경과 같은 트랜잭션에서 기록하고, {@code OutboxRelay}가 커밋 이후에
+ * 브로커로 발행합니다. 본문은 RabbitTemplate의 메시지 변환기로 미리 직렬화한 바이트를 그대로 보관하므로
+ * 직접 convertAndSend로 보낸 메시지와 같은 형태로 발행됩니다. 발행이 확인(confirm)된 행은 삭제됩니다.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_messages_status_available_at", columnList = "status, available_at")
+})
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class OutboxMessage {
+
+    // 일괄 저장(JDBC 배치)을 위해 호출 측에서 할당
+    @Id
+    private UUID id;
+
+    // 기본 exchange("")면 routingKey가 큐 이름
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    // 메시지 대상 (문서/프로젝트 ID, 추적용)
+    private UUID aggregateId;
+
+    @Column(length = 100)
+    private String contentType;
+
+    @Column(length = 50)
+    private String contentEncoding;
+
+    // Jackson 메시지 변환기의 __TypeId__ 헤더
+    private String typeId;
+
+    @Column(nullable = false)
+    private byte[] body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // 이 시각 이후에 발행 대상 (발행 중 선점 기간, 실패 후 재시도 대기에 사용)
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING, // 발행 대기 (또는 재시도 대기)
+        FAILED // 재시도 횟수 초과
+    }
+}
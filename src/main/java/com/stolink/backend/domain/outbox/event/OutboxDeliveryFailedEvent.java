@@ -0,0 +1,14 @@
+package com.stolink.backend.domain.outbox.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * outbox 메시지 발행 최종 실패 이벤트
+ * 재시도 횟수를 모두 사용해 FAILED가 된 메시지의 대상 ID를 큐(routingKey)별로 전달합니다.
+ * (발행 결과를 반영한 트랜잭션이 커밋된 후 발생)
+ */
+public record OutboxDeliveryFailedEvent(
+        String routingKey,
+        List<UUID> aggregateIds) {
+}
@@ -0,0 +1,49 @@
+package com.stolink.backend.domain.outbox.repository;
+
+import com.stolink.backend.domain.outbox.entity.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 발행 대기 메시지 일괄 저장용 JDBC 저장소
+ *
+ * JPA 트랜잭션과 같은 커넥션을 사용하므로 호출 측 트랜잭션에 함께 묶입니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_messages (id, exchange, routing_key, aggregate_id, "
+            + "content_type, content_encoding, type_id, body, status, attempts, available_at, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 메시지를 한 번의 배치로 저장합니다. (reWriteBatchedInserts로 다중 행 INSERT로 전송)
+     */
+    public void insertAll(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setObject(1, message.getId());
+            ps.setString(2, message.getExchange());
+            ps.setString(3, message.getRoutingKey());
+            ps.setObject(4, message.getAggregateId(), Types.OTHER);
+            ps.setString(5, message.getContentType());
+            ps.setString(6, message.getContentEncoding());
+            ps.setString(7, message.getTypeId());
+            ps.setBytes(8, message.getBody());
+            ps.setString(9, message.getStatus().name());
+            ps.setInt(10, message.getAttempts());
+            ps.setTimestamp(11, Timestamp.valueOf(message.getAvailableAt()));
+            ps.setTimestamp(12, Timestamp.valueOf(message.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.stolink.backend.domain.outbox.repository;
+
+import com.stolink.backend.domain.outbox.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    long countByStatus(OutboxMessage.Status status);
+
+    /**
+     * 발행할 수 있는 메시지를 오래된 순으로 잠그고 ID를 반환합니다.
+     * 다른 노드가 잠근 행은 건너뛰므로 여러 노드의 relay가 같은 메시지를 동시에 선점하지 않습니다.
+     */
+    @Query(value = "SELECT id FROM outbox_messages WHERE status = 'PENDING' AND available_at <= :now "
+            + "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockAvailableIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 선점한 메시지를 선점 기간 동안 다른 relay가 가져가지 않도록 합니다. (발행 중 노드가 종료되면 기간 후 재발행)
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.availableAt = :leaseUntil WHERE m.id IN :ids")
+    int extendLease(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT m FROM OutboxMessage m WHERE m.id IN :ids ORDER BY m.createdAt")
+    List<OutboxMessage> findAllByIdInOrderByCreatedAt(@Param("ids") Collection<UUID> ids);
+
+    List<OutboxMessage> findAllByIdInAndStatus(Collection<UUID> ids, OutboxMessage.Status status);
+
+    /**
+     * 발행이 확인되지 않은 메시지의 재시도를 예약합니다. (재시도 횟수를 넘으면 FAILED)
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.attempts = m.attempts + 1, m.lastError = :error, "
+            + "m.availableAt = :retryAt, "
+            + "m.status = CASE WHEN m.attempts + 1 >= :maxAttempts THEN :failed ELSE m.status END "
+            + "WHERE m.id IN :ids")
+    int scheduleRetry(@Param("ids") Collection<UUID> ids,
+            @Param("error") String error,
+            @Param("retryAt") LocalDateTime retryAt,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("failed") OutboxMessage.Status failed);
+}
@@ -0,0 +1,244 @@
+package com.stolink.backend.domain.outbox.service;
+
+import com.stolink.backend.domain.outbox.entity.OutboxMessage;
+import com.stolink.backend.domain.outbox.event.OutboxDeliveryFailedEvent;
+import com.stolink.backend.domain.outbox.repository.OutboxMessageRepository;
+import com.stolink.backend.global.infrastructure.rabbitmq.ConfirmedPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * outbox_messages 테이블의 메시지를 브로커로 발행하는 relay
+ *
+ * 발행할 수 있는 메시지를 batch-size 단위로 FOR UPDATE SKIP LOCKED 선점하고(선점 기간 동안 다른 노드는 건너뜀),
+ * 트랜잭션 밖에서 {@link ConfirmedPublisher}로 파이프라인 발행합니다.
+ * 확인(ack)된 메시지는 일괄 삭제하고, 확인되지 않은 메시지는 backoff 후 재시도하며 max-attempts를 넘으면 FAILED로 남깁니다.
+ * FAILED가 된 메시지는 {@link OutboxDeliveryFailedEvent}로 알려 발행 측이 대상 상태를 되돌릴 수 있게 합니다.
+ *
+ * 커밋 직후 {@link #wakeUp()}으로 바로 발행하고, 놓친 메시지는 주기적인 폴링으로 발행합니다.
+ * 선점 기간 안에 확인되지 않은 메시지는 다시 발행되므로 전달은 at-least-once입니다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate agentRabbitTemplate;
+    private final ConfirmedPublisher confirmedPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 커밋 후 깨우기 요청을 한 스레드에서 처리 (대기 중인 요청이 있으면 추가 요청은 합쳐짐)
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong pendingInDatabase = new AtomicLong();
+
+    private final Counter publishedMessages;
+    private final Counter retriedMessages;
+    private final Timer batchTimer;
+
+    @Value("${app.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${app.outbox.relay.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${app.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+            @Qualifier("agentRabbitTemplate") RabbitTemplate agentRabbitTemplate,
+            ConfirmedPublisher confirmedPublisher,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.agentRabbitTemplate = agentRabbitTemplate;
+        this.confirmedPublisher = confirmedPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-relay");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        this.publishedMessages = Counter.builder("stolink.outbox.published")
+                .description("발행이 확인되어 outbox에서 삭제된 메시지 수")
+                .register(meterRegistry);
+        this.retriedMessages = Counter.builder("stolink.outbox.retried")
+                .description("nack/시간 초과/전송 오류로 재시도를 예약한 메시지 수")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("stolink.outbox.batch.duration")
+                .description("한 batch 발행부터 전체 confirm 수신까지 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("stolink.outbox.pending", pendingInDatabase, AtomicLong::get)
+                .description("발행을 기다리는 outbox 메시지 수 (마지막 폴링 기준)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 메시지가 커밋되었을 때 다음 폴링을 기다리지 않고 발행합니다. (호출 스레드를 막지 않음)
+     */
+    public void wakeUp() {
+        if (!executor.isShutdown()) {
+            executor.execute(this::drainQuietly);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval-ms:1000}")
+    public void poll() {
+        drainQuietly();
+        pendingInDatabase.set(outboxMessageRepository.countByStatus(OutboxMessage.Status.PENDING));
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            // 선점 기간이 지나면 다음 폴링에서 다시 발행됨
+            log.warn("Failed to relay outbox messages: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 발행할 수 있는 메시지가 없을 때까지 batch 단위로 발행합니다.
+     *
+     * @return 발행이 확인된 메시지 수
+     */
+    public synchronized int drain() {
+        int published = 0;
+        while (true) {
+            List<OutboxMessage> batch = claim();
+            if (batch.isEmpty()) {
+                return published;
+            }
+            published += batchTimer.record(() -> publish(batch));
+            if (batch.size() < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> ids = outboxMessageRepository.lockAvailableIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxMessageRepository.extendLease(ids, now.plusNanos(leaseMs * 1_000_000));
+            return outboxMessageRepository.findAllByIdInOrderByCreatedAt(ids);
+        });
+    }
+
+    /**
+     * batch를 파이프라인으로 발행하고, confirm 결과를 한 트랜잭션에서 반영합니다.
+     */
+    private int publish(List<OutboxMessage> batch) {
+        List<ConfirmedPublisher.Request> requests = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            requests.add(new ConfirmedPublisher.Request(message.getId().toString(), message.getExchange(),
+                    message.getRoutingKey(), toAmqpMessage(message)));
+        }
+        ConfirmedPublisher.Result result = confirmedPublisher.publish(agentRabbitTemplate, requests);
+
+        List<UUID> acked = result.confirmed().stream().map(UUID::fromString).toList();
+        Map<UUID, String> failures = new LinkedHashMap<>();
+        result.failed().forEach((id, reason) -> failures.put(UUID.fromString(id), reason));
+
+        List<OutboxMessage> exhausted = transactionTemplate.execute(status -> {
+            if (!acked.isEmpty()) {
+                outboxMessageRepository.deleteAllByIdInBatch(acked);
+            }
+            if (failures.isEmpty()) {
+                return Collections.<OutboxMessage>emptyList();
+            }
+            String error = truncate(failures.values().iterator().next());
+            outboxMessageRepository.scheduleRetry(failures.keySet(), error,
+                    LocalDateTime.now().plusNanos(retryBackoffMs * 1_000_000), maxAttempts,
+                    OutboxMessage.Status.FAILED);
+            return outboxMessageRepository.findAllByIdInAndStatus(failures.keySet(), OutboxMessage.Status.FAILED);
+        });
+        publishDeliveryFailures(exhausted);
+
+        publishedMessages.increment(acked.size());
+        if (!failures.isEmpty()) {
+            retriedMessages.increment(failures.size());
+            log.warn("Outbox relay: {} of {} messages not confirmed, retrying later ({})",
+                    failures.size(), batch.size(), failures.values().iterator().next());
+        }
+        return acked.size();
+    }
+
+    /**
+     * 이번 batch에서 재시도 횟수를 모두 사용한 메시지를 큐별로 알립니다.
+     */
+    private void publishDeliveryFailures(List<OutboxMessage> exhausted) {
+        if (exhausted == null || exhausted.isEmpty()) {
+            return;
+        }
+        log.error("Outbox relay: {} messages failed permanently after {} attempts", exhausted.size(), maxAttempts);
+        exhausted.stream()
+                .filter(message -> message.getAggregateId() != null)
+                .collect(Collectors.groupingBy(OutboxMessage::getRoutingKey,
+                        Collectors.mapping(OutboxMessage::getAggregateId, Collectors.toList())))
+                .forEach((routingKey, aggregateIds) -> eventPublisher
+                        .publishEvent(new OutboxDeliveryFailedEvent(routingKey, aggregateIds)));
+    }
+
+    private static Message toAmqpMessage(OutboxMessage message) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(message.getContentType());
+        properties.setContentEncoding(message.getContentEncoding());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId(message.getId().toString());
+        if (message.getTypeId() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, message.getTypeId());
+        }
+        return new Message(message.getBody(), properties);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
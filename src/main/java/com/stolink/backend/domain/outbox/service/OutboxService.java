@@ -0,0 +1,95 @@
+package com.stolink.backend.domain.outbox.service;
+
+import com.stolink.backend.domain.outbox.entity.OutboxMessage;
+import com.stolink.backend.domain.outbox.repository.OutboxJdbcRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 메시지 발행 요청을 outbox_messages 테이블에 기록합니다.
+ *
+ * 반드시 비즈니스 변경과 같은 트랜잭션 안에서 호출해야 하며, 트랜잭션이 롤백되면 메시지도 함께 사라집니다.
+ * 브로커 호출은 커밋 이후 {@link OutboxRelay}가 비동기로 수행하므로 브로커가 느려도 DB 트랜잭션이 길어지지 않습니다.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxJdbcRepository outboxJdbcRepository;
+    private final RabbitTemplate agentRabbitTemplate;
+    private final OutboxRelay outboxRelay;
+
+    public OutboxService(OutboxJdbcRepository outboxJdbcRepository,
+            @Qualifier("agentRabbitTemplate") RabbitTemplate agentRabbitTemplate,
+            OutboxRelay outboxRelay) {
+        this.outboxJdbcRepository = outboxJdbcRepository;
+        this.agentRabbitTemplate = agentRabbitTemplate;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * 기본 exchange로 큐(routingKey)에 보낼 메시지 1건을 기록합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String routingKey, UUID aggregateId, Object payload) {
+        enqueueAll(routingKey, List.of(payload), ignored -> aggregateId);
+    }
+
+    /**
+     * 기본 exchange로 큐(routingKey)에 보낼 메시지를 한 번의 배치로 기록합니다.
+     *
+     * @param aggregateId 메시지별 대상 ID (추적용)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void enqueueAll(String routingKey, List<T> payloads, Function<T, UUID> aggregateId) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            // 발행 시와 같은 변환기로 미리 직렬화 (relay는 본문을 그대로 전송)
+            Message message = agentRabbitTemplate.getMessageConverter().toMessage(payload, new MessageProperties());
+            MessageProperties properties = message.getMessageProperties();
+            Object typeId = properties.getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+            messages.add(OutboxMessage.builder()
+                    .id(UUID.randomUUID())
+                    .exchange("")
+                    .routingKey(routingKey)
+                    .aggregateId(aggregateId.apply(payload))
+                    .contentType(properties.getContentType())
+                    .contentEncoding(properties.getContentEncoding())
+                    .typeId(typeId != null ? typeId.toString() : null)
+                    .body(message.getBody())
+                    .status(OutboxMessage.Status.PENDING)
+                    .attempts(0)
+                    .availableAt(now)
+                    .createdAt(now)
+                    .build());
+        }
+        outboxJdbcRepository.insertAll(messages);
+        wakeUpRelayAfterCommit();
+    }
+
+    private void wakeUpRelayAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+}
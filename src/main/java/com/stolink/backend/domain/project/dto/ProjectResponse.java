@@ -22,6 +22,7 @@ public class ProjectResponse {
     private String status;
     private String author;
     private ProjectStats stats;
+    private UUID manuscriptJobId; // 생성 시 함께 입력한 원고의 처리 작업 (GET /jobs/{jobId}로 진행률 조회)
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
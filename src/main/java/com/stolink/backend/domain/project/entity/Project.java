@@ -62,6 +62,12 @@ public class Project extends BaseEntity {
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> extras = new HashMap<>();
 
+    // 문서 트리 버전 (트리 변경 트랜잭션에서 벌크 UPDATE로만 증가, 트리 ETag로 사용)
+    // 엔티티 저장 시 오래된 값으로 덮어쓰지 않도록 insert/update 대상에서 제외
+    @Column(name = "tree_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default 0")
+    private Long treeVersion;
+
     @Builder
     public Project(String author, ProjectStatus status, String coverImage, String description, Genre genre,
             String title, User user, UUID id) {
@@ -5,10 +5,14 @@ import com.stolink.backend.domain.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +26,31 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
 
     boolean existsByIdAndUser(UUID id, User user);
 
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
     @Query("SELECT p FROM Project p JOIN FETCH p.user WHERE p.id = :id")
     Optional<Project> findByIdWithUser(@Param("id") UUID id);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :ids AND p.user.id = :userId")
+    List<UUID> findIdsByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    /**
+     * 프로젝트 행 잠금 (트랜잭션 종료까지 같은 프로젝트의 문서 order 할당/재배치를 직렬화)
+     */
+    @Query(value = "SELECT id FROM projects WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockById(@Param("id") UUID id);
+
+    /**
+     * 문서 트리 버전 증가 (트리 변경과 같은 트랜잭션에서 호출, 트랜잭션 밖이면 단독 커밋)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Project p SET p.treeVersion = p.treeVersion + 1 WHERE p.id = :id")
+    int incrementTreeVersion(@Param("id") UUID id);
+
+    /**
+     * 문서 트리 버전 조회 (트리 ETag, 캐시 최신 여부 확인용)
+     */
+    @Query("SELECT p.treeVersion FROM Project p WHERE p.id = :id")
+    Optional<Long> findTreeVersionById(@Param("id") UUID id);
 }
@@ -1,8 +1,13 @@
 package com.stolink.backend.domain.project.service;
 
+import com.stolink.backend.domain.document.dto.ManuscriptJobResponse;
 import com.stolink.backend.domain.document.dto.ManuscriptUploadRequest;
+import com.stolink.backend.domain.document.entity.ManuscriptJob;
 import com.stolink.backend.domain.document.repository.DocumentRepository;
-import com.stolink.backend.domain.document.service.DocumentService;
+import com.stolink.backend.domain.document.service.DocumentContentBuffer;
+import com.stolink.backend.domain.document.service.DocumentTreeCache;
+import com.stolink.backend.domain.document.service.ManuscriptJobService;
+import com.stolink.backend.domain.document.service.ManuscriptJobWorker;
 import com.stolink.backend.domain.project.dto.CreateProjectRequest;
 import com.stolink.backend.domain.project.dto.ProjectResponse;
 import com.stolink.backend.domain.project.entity.Project;
@@ -16,7 +21,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @Slf4j
@@ -28,7 +37,10 @@ public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final DocumentRepository documentRepository;
-    private final DocumentService documentService;
+    private final ManuscriptJobService manuscriptJobService;
+    private final ManuscriptJobWorker manuscriptJobWorker;
+    private final DocumentTreeCache documentTreeCache;
+    private final DocumentContentBuffer documentContentBuffer;
 
     public Page<ProjectResponse> getProjects(UUID userId, Pageable pageable) {
         User user = getUserOrThrow(userId);
@@ -55,17 +67,22 @@ public class ProjectService {
         project = projectRepository.save(project);
         log.info("Project created: {} by user: {}", project.getId(), userId);
 
-        // 기존 원고가 포함된 경우 파싱 진행
+        ProjectResponse response = ProjectResponse.from(project);
+
+        // 기존 원고가 포함된 경우 업로드와 같은 원고 처리 작업으로 등록 (요청 스레드에서 파싱하지 않음)
         if (request.getManuscript() != null && !request.getManuscript().isBlank()) {
             ManuscriptUploadRequest uploadRequest = new ManuscriptUploadRequest();
             uploadRequest.setProjectId(project.getId());
-            uploadRequest.setContent(request.getManuscript());
             uploadRequest.setCreateFolders(true);
-            documentService.parseManuscript(userId, uploadRequest);
-            log.info("Initial manuscript parsed for project: {}", project.getId());
+            uploadRequest.setParseMode(ManuscriptJob.ParseMode.REGEX);
+            ManuscriptJobResponse job = manuscriptJobService.createJob(userId, project.getId(), uploadRequest,
+                    new ByteArrayInputStream(request.getManuscript().getBytes(StandardCharsets.UTF_8)));
+            response.setManuscriptJobId(job.getJobId());
+            wakeUpWorkerAfterCommit();
+            log.info("Initial manuscript job {} queued for project: {}", job.getJobId(), project.getId());
         }
 
-        return ProjectResponse.from(project);
+        return response;
     }
 
     public ProjectResponse getProject(UUID userId, UUID projectId) {
@@ -100,9 +117,25 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
 
         projectRepository.delete(project);
+        documentTreeCache.evict(projectId);
+        documentContentBuffer.discardProject(projectId);
         log.info("Project deleted: {}", projectId);
     }
 
+    // 작업 행이 커밋된 뒤에 선점해야 작업자가 SKIP LOCKED 조회로 볼 수 있음
+    private void wakeUpWorkerAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    manuscriptJobWorker.wakeUp();
+                }
+            });
+        } else {
+            manuscriptJobWorker.wakeUp();
+        }
+    }
+
     private User getUserOrThrow(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
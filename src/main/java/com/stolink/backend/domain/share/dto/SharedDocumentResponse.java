@@ -1,6 +1,7 @@
 package com.stolink.backend.domain.share.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.stolink.backend.domain.document.dto.DocumentTreeNode;
 import com.stolink.backend.domain.document.entity.Document;
 import lombok.Builder;
 import lombok.Data;
@@ -30,4 +31,15 @@ public class SharedDocumentResponse {
                 .children(new ArrayList<>())
                 .build();
     }
+
+    public static SharedDocumentResponse from(DocumentTreeNode node, String content) {
+        return SharedDocumentResponse.builder()
+                .id(node.id())
+                .title(node.title())
+                .type(node.type().name().toLowerCase())
+                .content(node.type() == Document.DocumentType.TEXT ? content : null)
+                .wordCount(node.wordCount())
+                .children(new ArrayList<>())
+                .build();
+    }
 }
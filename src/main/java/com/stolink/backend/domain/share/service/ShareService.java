@@ -1,7 +1,10 @@
 package com.stolink.backend.domain.share.service;
 
-import com.stolink.backend.domain.document.entity.Document;
+import com.stolink.backend.domain.document.dto.DocumentContentView;
+import com.stolink.backend.domain.document.dto.DocumentTreeNode;
 import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.document.service.DocumentContentBuffer;
+import com.stolink.backend.domain.document.service.DocumentTreeCache;
 import com.stolink.backend.domain.project.entity.Project;
 import com.stolink.backend.domain.project.repository.ProjectRepository;
 import com.stolink.backend.domain.share.dto.SharedDocumentResponse;
@@ -15,6 +18,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -28,6 +32,8 @@ public class ShareService {
     private final ShareRepository shareRepository;
     private final ProjectRepository projectRepository;
     private final DocumentRepository documentRepository;
+    private final DocumentTreeCache documentTreeCache;
+    private final DocumentContentBuffer documentContentBuffer;
 
     public ShareResponse getShareSettings(UUID userId, UUID projectId) {
         Share share = shareRepository.findByProjectIdWithUser(projectId)
@@ -92,46 +98,51 @@ public class ShareService {
                 .orElseThrow(() -> new ResourceNotFoundException("Share link not found"));
 
         Project project = share.getProject();
-        List<Document> allDocuments = documentRepository.findByProjectWithParent(project);
 
-        List<SharedDocumentResponse> documentTree = buildDocumentTree(allDocuments);
+        // 트리 메타데이터는 캐시(projection)에서, 본문은 TEXT 문서만 한 번에 조회 (엔티티 로딩 없음)
+        List<DocumentTreeNode> nodes = documentTreeCache.snapshot(project.getId()).nodes();
+        Map<UUID, String> contents = new HashMap<>();
+        for (DocumentContentView view : documentRepository.findTextContentsByProjectId(project.getId())) {
+            contents.put(view.id(), view.content());
+        }
+        // 자동 저장 버퍼에 대기 중인 본문 반영
+        for (Map.Entry<UUID, String> entry : contents.entrySet()) {
+            documentContentBuffer.get(entry.getKey()).ifPresent(pending -> entry.setValue(pending.content()));
+        }
+
+        List<SharedDocumentResponse> documentTree = buildDocumentTree(nodes, contents);
 
         return SharedProjectResponse.from(project, documentTree);
     }
 
     private static final int MAX_TREE_DEPTH = 10;
 
-    private List<SharedDocumentResponse> buildDocumentTree(List<Document> documents) {
-        // Group by parent ID
-        Map<UUID, List<Document>> childrenMap = documents.stream()
-                .filter(doc -> doc.getParent() != null)
-                .collect(Collectors.groupingBy(doc -> doc.getParent().getId()));
+    private List<SharedDocumentResponse> buildDocumentTree(List<DocumentTreeNode> nodes, Map<UUID, String> contents) {
+        // Group by parent ID (nodes는 이미 order 순으로 정렬되어 있음)
+        Map<UUID, List<DocumentTreeNode>> childrenMap = nodes.stream()
+                .filter(node -> node.parentId() != null)
+                .collect(Collectors.groupingBy(DocumentTreeNode::parentId));
 
         // Start with root documents
-        List<Document> rootDocs = documents.stream()
-                .filter(doc -> doc.getParent() == null)
-                .sorted((d1, d2) -> Integer.compare(d1.getOrder(), d2.getOrder()))
-                .collect(Collectors.toList());
-
-        return rootDocs.stream()
-                .map(doc -> convertToSharedResponse(doc, childrenMap, 0))
+        return nodes.stream()
+                .filter(node -> node.parentId() == null)
+                .map(node -> convertToSharedResponse(node, childrenMap, contents, 0))
                 .collect(Collectors.toList());
     }
 
-    private SharedDocumentResponse convertToSharedResponse(Document doc, Map<UUID, List<Document>> childrenMap,
-            int depth) {
-        SharedDocumentResponse response = SharedDocumentResponse.from(doc);
+    private SharedDocumentResponse convertToSharedResponse(DocumentTreeNode node,
+            Map<UUID, List<DocumentTreeNode>> childrenMap, Map<UUID, String> contents, int depth) {
+        SharedDocumentResponse response = SharedDocumentResponse.from(node, contents.get(node.id()));
 
         if (depth >= MAX_TREE_DEPTH) {
             response.setChildren(new ArrayList<>());
             return response;
         }
 
-        List<Document> children = childrenMap.getOrDefault(doc.getId(), new ArrayList<>());
-        children.sort((d1, d2) -> Integer.compare(d1.getOrder(), d2.getOrder()));
+        List<DocumentTreeNode> children = childrenMap.getOrDefault(node.id(), List.of());
 
         List<SharedDocumentResponse> childResponses = children.stream()
-                .map(child -> convertToSharedResponse(child, childrenMap, depth + 1))
+                .map(child -> convertToSharedResponse(child, childrenMap, contents, depth + 1))
                 .collect(Collectors.toList());
 
         response.setChildren(childResponses);
@@ -4,6 +4,7 @@ import com.stolink.backend.global.common.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -37,6 +38,19 @@ public class GlobalExceptionHandler {
                                                 .build());
         }
 
+        @ExceptionHandler(ConflictException.class)
+        public ResponseEntity<ApiResponse<Void>> handleConflict(ConflictException ex) {
+                log.warn("Conflict: {}", ex.getMessage());
+                return conflict(ex.getMessage());
+        }
+
+        @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+        public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(
+                        ObjectOptimisticLockingFailureException ex) {
+                log.warn("Optimistic locking failure: {}", ex.getMessage());
+                return conflict("다른 요청에 의해 이미 변경되었습니다. 최신 버전을 다시 불러와 주세요.");
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ApiResponse<Void>> handleValidationException(MethodArgumentNotValidException ex) {
                 String message = ex.getBindingResult()
@@ -65,6 +79,15 @@ public class GlobalExceptionHandler {
                                                 .build());
         }
 
+        private ResponseEntity<ApiResponse<Void>> conflict(String message) {
+                return ResponseEntity
+                                .status(HttpStatus.CONFLICT)
+                                .body(ApiResponse.<Void>builder()
+                                                .status(HttpStatus.CONFLICT)
+                                                .message(message)
+                                                .build());
+        }
+
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ApiResponse<Void>> handleGenericException(Exception ex) {
                 log.error("Internal server error", ex);
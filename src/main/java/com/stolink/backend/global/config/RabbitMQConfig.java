@@ -2,11 +2,14 @@ package com.stolink.backend.global.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stolink.backend.global.infrastructure.rabbitmq.CompressingMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -62,6 +65,24 @@ public class RabbitMQConfig {
     @Value("${app.rabbitmq.agent.virtual-host}")
     private String agentVirtualHost;
 
+    // 채널 캐시 (기본 25개, 캐시가 모자라면 채널을 매번 새로 열고 닫음)
+    @Value("${app.rabbitmq.channel-cache-size:64}")
+    private int channelCacheSize;
+
+    // 0보다 크면 캐시 크기가 채널 수 상한이 되고, 빈 채널을 이 시간만큼 기다림 (0이면 상한 없음)
+    @Value("${app.rabbitmq.channel-checkout-timeout-ms:0}")
+    private long channelCheckoutTimeoutMs;
+
+    // 메시지 압축 (소비자가 gzip contentEncoding을 지원하는 프로필에서만 켬, 꺼도 수신 메시지의 압축 해제는 유지)
+    @Value("${app.rabbitmq.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${app.rabbitmq.compression.threshold-bytes:4096}")
+    private int compressionThresholdBytes;
+
+    @Value("${app.rabbitmq.compression.level:1}")
+    private int compressionLevel;
+
     @Bean
     public Queue analysisQueue() {
         return new Queue(analysisQueue, true);
@@ -90,13 +111,17 @@ public class RabbitMQConfig {
 
     /**
      * JSON 메시지 변환기 (UTF-8 인코딩 및 snake_case 직렬화 지원)
+     *
+     * 압축을 켠 경우 직렬화 결과가 threshold-bytes 이상이면 gzip으로 압축하고, 수신 시 contentEncoding을 보고 압축을 해제합니다.
      */
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
+    public MessageConverter messageConverter(MeterRegistry meterRegistry) {
         ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
                 .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
                 .build();
-        return new Jackson2JsonMessageConverter(objectMapper);
+        int thresholdBytes = compressionEnabled ? compressionThresholdBytes : Integer.MAX_VALUE;
+        return new CompressingMessageConverter(new Jackson2JsonMessageConverter(objectMapper), thresholdBytes,
+                compressionLevel, meterRegistry);
     }
 
     /**
@@ -111,11 +136,15 @@ public class RabbitMQConfig {
         factory.setUsername(imageUsername);
         factory.setPassword(imagePassword);
         factory.setVirtualHost(imageVirtualHost);
+        configureChannelCache(factory);
         return factory;
     }
 
     /**
      * Agent RabbitMQ ConnectionFactory
+     *
+     * 발행 측이 브로커 수신 여부를 확인할 수 있도록 correlated publisher confirm을 사용합니다.
+     * confirm을 기다리는 채널도 캐시로 돌아가 재사용되므로 파이프라인 발행 중 채널을 새로 열지 않습니다.
      */
     @Bean
     public ConnectionFactory agentConnectionFactory() {
@@ -125,18 +154,28 @@ public class RabbitMQConfig {
         factory.setUsername(agentUsername);
         factory.setPassword(agentPassword);
         factory.setVirtualHost(agentVirtualHost);
+        factory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        configureChannelCache(factory);
         return factory;
     }
 
+    private void configureChannelCache(CachingConnectionFactory factory) {
+        factory.setChannelCacheSize(channelCacheSize);
+        if (channelCheckoutTimeoutMs > 0) {
+            factory.setChannelCheckoutTimeout(channelCheckoutTimeoutMs);
+        }
+    }
+
     /**
      * Image RabbitTemplate (기본)
      */
     @Bean
     @Primary
     public RabbitTemplate imageRabbitTemplate(
-            @Qualifier("imageConnectionFactory") ConnectionFactory connectionFactory) {
+            @Qualifier("imageConnectionFactory") ConnectionFactory connectionFactory,
+            MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        template.setMessageConverter(messageConverter);
         return template;
     }
 
@@ -145,9 +184,10 @@ public class RabbitMQConfig {
      */
     @Bean
     public RabbitTemplate agentRabbitTemplate(
-            @Qualifier("agentConnectionFactory") ConnectionFactory connectionFactory) {
+            @Qualifier("agentConnectionFactory") ConnectionFactory connectionFactory,
+            MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        template.setMessageConverter(messageConverter);
         return template;
     }
 }
@@ -0,0 +1,78 @@
+package com.stolink.backend.global.infrastructure.rabbitmq;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+import org.springframework.amqp.support.postprocessor.GZipPostProcessor;
+
+/**
+ * 크기 기반 압축 메시지 변환기
+ *
+ * 위임 변환기(JSON)가 만든 본문이 임계값 이상이면 gzip으로 압축하고, contentEncoding을
+ * Spring AMQP 압축 post processor와 같은 "gzip:UTF-8" 형식으로 기록합니다.
+ * 수신 시에는 contentEncoding을 보고 압축을 해제한 뒤 위임 변환기로 역직렬화하므로
+ * 이 변환기를 쓰는 리스너는 압축 여부와 관계없이 같은 객체를 받습니다.
+ * 임계값 미만이거나 압축해도 작아지지 않는 본문은 그대로 보냅니다.
+ */
+public class CompressingMessageConverter implements MessageConverter {
+
+    private final MessageConverter delegate;
+    private final int thresholdBytes;
+    private final GZipPostProcessor compressor;
+    private final DelegatingDecompressingPostProcessor decompressor = new DelegatingDecompressingPostProcessor();
+
+    private final Counter compressedCounter;
+    private final DistributionSummary compressionRatio;
+
+    /**
+     * @param thresholdBytes 압축을 시작하는 직렬화 본문 크기
+     * @param level          gzip 압축 레벨 (1: 속도 우선 ~ 9: 압축률 우선)
+     */
+    public CompressingMessageConverter(MessageConverter delegate, int thresholdBytes, int level,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.thresholdBytes = thresholdBytes;
+        this.compressor = new GZipPostProcessor();
+        this.compressor.setLevel(level);
+
+        this.compressedCounter = Counter.builder("stolink.rabbitmq.message.compressed")
+                .description("gzip으로 압축해 발행한 메시지 수")
+                .register(meterRegistry);
+        this.compressionRatio = DistributionSummary.builder("stolink.rabbitmq.message.compression.ratio")
+                .description("압축한 메시지의 압축 후/전 크기 비율")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties)
+            throws MessageConversionException {
+        Message message = delegate.toMessage(object, messageProperties);
+        byte[] body = message.getBody();
+        if (body.length < thresholdBytes) {
+            return message;
+        }
+
+        // 압축 post processor는 전달받은 properties의 contentEncoding을 바꾸므로 원래 값을 보관
+        String contentEncoding = message.getMessageProperties().getContentEncoding();
+        Message compressed = compressor.postProcessMessage(message);
+        if (compressed.getBody().length >= body.length) {
+            message.getMessageProperties().setContentEncoding(contentEncoding);
+            return message;
+        }
+
+        compressedCounter.increment();
+        compressionRatio.record((double) compressed.getBody().length / body.length);
+        return compressed;
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        // 압축되지 않은 메시지(contentEncoding이 gzip/deflate/zip이 아님)는 그대로 통과
+        return delegate.fromMessage(decompressor.postProcessMessage(message));
+    }
+}
@@ -0,0 +1,205 @@
+package com.stolink.backend.global.infrastructure.rabbitmq;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * publisher confirm 기반 파이프라인 발행기
+ *
+ * 메시지를 하나씩 보내고 confirm을 기다리는 대신, 최대 window개의 메시지가 확인을 기다리는 동안 계속 발행합니다.
+ * 모든 메시지를 보낸 뒤 남은 confirm을 기다리고, nack 또는 전송 오류가 난 메시지만 backoff 후 다시 보냅니다.
+ * confirm 시간 초과는 브로커가 이미 받았을 수 있으므로 재전송하지 않고 실패로 반환합니다.
+ *
+ * correlated publisher confirm이 켜진 ConnectionFactory의 RabbitTemplate에만 사용할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class ConfirmedPublisher {
+
+    /**
+     * 발행할 메시지 (id는 결과에서 메시지를 구분하는 값)
+     */
+    public record Request(String id, String exchange, String routingKey, Message message) {
+    }
+
+    /**
+     * 발행 결과 (confirmed: ack 받은 메시지 id, failed: 재시도 후에도 확인되지 않은 메시지 id와 사유)
+     */
+    public record Result(List<String> confirmed, Map<String, String> failed) {
+    }
+
+    private final Counter confirmedMessages;
+    private final Counter nackedMessages;
+    private final Counter retriedMessages;
+    private final Counter failedMessages;
+    private final Timer confirmLatency;
+    private final AtomicLong lastThroughput = new AtomicLong();
+
+    @Value("${app.rabbitmq.publisher.window:256}")
+    private int window;
+
+    @Value("${app.rabbitmq.publisher.confirm-timeout-ms:10000}")
+    private long confirmTimeoutMs;
+
+    @Value("${app.rabbitmq.publisher.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.rabbitmq.publisher.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    public ConfirmedPublisher(MeterRegistry meterRegistry) {
+        this.confirmedMessages = Counter.builder("stolink.rabbitmq.publish.confirmed")
+                .description("브로커가 수신을 확인(ack)한 메시지 수")
+                .register(meterRegistry);
+        this.nackedMessages = Counter.builder("stolink.rabbitmq.publish.nacked")
+                .description("nack 또는 전송 오류가 난 발행 시도 수")
+                .register(meterRegistry);
+        this.retriedMessages = Counter.builder("stolink.rabbitmq.publish.retried")
+                .description("nack/전송 오류 후 다시 보낸 메시지 수")
+                .register(meterRegistry);
+        this.failedMessages = Counter.builder("stolink.rabbitmq.publish.failed")
+                .description("재시도 후에도 확인되지 않은 메시지 수")
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder("stolink.rabbitmq.publish.confirm.latency")
+                .description("메시지 발행부터 confirm 수신까지 걸린 시간")
+                .register(meterRegistry);
+        Gauge.builder("stolink.rabbitmq.publish.throughput", lastThroughput, AtomicLong::get)
+                .description("마지막 일괄 발행의 처리량 (confirm 기준 messages/sec)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지를 파이프라인으로 발행하고 confirm 결과를 반환합니다.
+     */
+    public Result publish(RabbitTemplate template, List<Request> requests) {
+        long startedAt = System.nanoTime();
+        List<String> confirmed = new ArrayList<>(requests.size());
+        Map<String, String> failed = new LinkedHashMap<>();
+
+        List<Request> round = requests;
+        for (int attempt = 0; !round.isEmpty(); attempt++) {
+            if (attempt > 0) {
+                retriedMessages.increment(round.size());
+                if (!sleep(retryBackoffMs << (attempt - 1))) {
+                    round.forEach(request -> failed.put(request.id(), "interrupted"));
+                    break;
+                }
+            }
+            Map<Request, String> retryable = publishRound(template, round, confirmed, failed);
+            nackedMessages.increment(retryable.size());
+            if (attempt >= maxRetries) {
+                retryable.forEach((request, reason) -> failed.put(request.id(), reason));
+                break;
+            }
+            round = new ArrayList<>(retryable.keySet());
+        }
+
+        confirmedMessages.increment(confirmed.size());
+        failedMessages.increment(failed.size());
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+        lastThroughput.set(confirmed.size() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        if (!failed.isEmpty()) {
+            log.warn("Publisher confirms: {}/{} messages not confirmed ({})", failed.size(), requests.size(),
+                    failed.values().iterator().next());
+        }
+        return new Result(confirmed, failed);
+    }
+
+    /**
+     * 한 차례 발행 (window만큼 확인을 기다리는 메시지가 쌓이면 confirm이 올 때까지 대기)
+     *
+     * @return 다시 보낼 메시지와 사유 (nack, 전송 오류)
+     */
+    private Map<Request, String> publishRound(RabbitTemplate template, List<Request> round, List<String> confirmed,
+            Map<String, String> failed) {
+        Semaphore inFlight = new Semaphore(window);
+        Map<Request, Outstanding> outstanding = new LinkedHashMap<>();
+        Map<Request, String> retryable = new LinkedHashMap<>();
+
+        for (int i = 0; i < round.size(); i++) {
+            Request request = round.get(i);
+            try {
+                // window가 찼는데 confirm-timeout 동안 하나도 확인되지 않으면 브로커가 멈춘 것으로 보고 중단
+                if (!inFlight.tryAcquire(confirmTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    round.subList(i, round.size()).forEach(rest -> failed.put(rest.id(), "confirm timeout"));
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                round.subList(i, round.size()).forEach(rest -> failed.put(rest.id(), "interrupted"));
+                break;
+            }
+            CorrelationData correlation = new CorrelationData(request.id());
+            long sentAt = System.nanoTime();
+            correlation.getFuture().whenComplete((confirm, error) -> {
+                inFlight.release();
+                if (confirm != null) {
+                    confirmLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                }
+            });
+            try {
+                template.send(request.exchange(), request.routingKey(), request.message(), correlation);
+            } catch (AmqpException e) {
+                correlation.getFuture().completeExceptionally(e);
+            }
+            outstanding.put(request, new Outstanding(correlation, sentAt));
+        }
+
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (Map.Entry<Request, Outstanding> entry : outstanding.entrySet()) {
+            Request request = entry.getKey();
+            Outstanding pending = entry.getValue();
+            try {
+                long remaining = Math.max(0, pending.sentAt() + timeoutNanos - System.nanoTime());
+                CorrelationData.Confirm confirm = pending.correlation().getFuture()
+                        .get(remaining, TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    confirmed.add(request.id());
+                } else {
+                    retryable.put(request, "nack: " + confirm.getReason());
+                }
+            } catch (ExecutionException e) {
+                retryable.put(request, "send failed: " + e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                failed.put(request.id(), "confirm timeout");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed.put(request.id(), "interrupted");
+            }
+        }
+        return retryable;
+    }
+
+    // 발행 후 confirm을 기다리는 메시지 (confirm 시간 초과는 발행 시각 기준)
+    private record Outstanding(CorrelationData correlation, long sentAt) {
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.stolink.backend.global.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 내부 본문 조회 URL 서명기
+ *
+ * 분석 워커가 메시지에 담긴 URL로 본문을 직접 가져갈 수 있도록 (문서 ID, 본문 해시, 만료 시각)을
+ * HMAC-SHA256으로 서명합니다. 서명에 본문 해시가 포함되므로 URL은 발행 당시 본문에만 유효합니다.
+ *
+ * 전용 시크릿(app.content-access.secret)을 권장하며, 없으면 JWT 시크릿에서 이 용도 전용 키를 파생합니다.
+ * (JWT 서명 키를 그대로 다른 HMAC 용도에 쓰지 않음)
+ */
+@Component
+public class ContentAccessSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String KEY_DERIVATION_LABEL = "stolink:content-access:v1";
+
+    public enum Verification {
+        VALID, EXPIRED, INVALID
+    }
+
+    /**
+     * 서명 결과
+     *
+     * @param expiresAt 만료 시각 (epoch seconds)
+     */
+    public record SignedAccess(long expiresAt, String signature) {
+    }
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final Clock clock;
+
+    @Autowired
+    public ContentAccessSigner(
+            @Value("${app.content-access.secret:}") String secret,
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${app.content-access.ttl-seconds:86400}") long ttlSeconds) {
+        this(secret == null || secret.isBlank() ? deriveSecret(jwtSecret) : secret, ttlSeconds, Clock.systemUTC());
+    }
+
+    ContentAccessSigner(String secret, long ttlSeconds, Clock clock) {
+        // 최소 256비트(32자) 이상의 시크릿 키 필요
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalStateException("Content access secret must be at least 32 characters long");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * 현재 시각부터 ttl 동안 유효한 서명을 만듭니다.
+     */
+    public SignedAccess sign(UUID documentId, String contentHash) {
+        long expiresAt = clock.instant().getEpochSecond() + ttlSeconds;
+        return new SignedAccess(expiresAt, signature(documentId, contentHash, expiresAt));
+    }
+
+    public Verification verify(UUID documentId, String contentHash, long expiresAt, String signature) {
+        if (contentHash == null || signature == null) {
+            return Verification.INVALID;
+        }
+        byte[] expected = signature(documentId, contentHash, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            return Verification.INVALID;
+        }
+        // 서명이 맞는 경우에만 만료 여부를 알려줌
+        return clock.instant().getEpochSecond() > expiresAt ? Verification.EXPIRED : Verification.VALID;
+    }
+
+    /**
+     * JWT 시크릿에서 본문 조회 서명 전용 키를 파생합니다. (HMAC-SHA256(jwtSecret, label))
+     */
+    static String deriveSecret(String jwtSecret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            byte[] derived = mac.doFinal(KEY_DERIVATION_LABEL.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(derived);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Content access key derivation failed", e);
+        }
+    }
+
+    private String signature(UUID documentId, String contentHash, long expiresAt) {
+        String payload = documentId + "\n" + contentHash + "\n" + expiresAt;
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            // HmacSHA256은 모든 JRE에서 지원
+            throw new IllegalStateException("HMAC signing failed", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.stolink.backend.global.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 업로드 텍스트 파일의 문자 인코딩 판별기
+ *
+ * 스트림 앞부분(SAMPLE_BYTES)만 확인하며, mark/reset으로 되돌리므로 스트림은 그대로 이어서 사용할 수 있습니다.
+ * 판별 순서:
+ * 1. BOM (UTF-8, UTF-16LE/BE)
+ * 2. 0x00 바이트가 한쪽 자리(짝수/홀수)에만 몰려 있으면 BOM 없는 UTF-16 (공백/줄바꿈/ASCII의 상위 바이트)
+ * 3. UTF-8로 오류 없이 디코딩되면 UTF-8 (ASCII 포함)
+ * 4. CP949로 오류 없이 디코딩되고 한글 비율이 충분하면 EUC-KR (확장 한글이 있으면 CP949)
+ * 5. 그 외에는 UTF-8 (잘못된 바이트는 대체 문자로 디코딩)
+ */
+public final class CharsetDetector {
+
+    public static final int SAMPLE_BYTES = 8192;
+
+    public static final Charset CP949 = Charset.forName("x-windows-949");
+    public static final Charset EUC_KR = Charset.forName("EUC-KR");
+
+    private CharsetDetector() {
+    }
+
+    /**
+     * 스트림 앞부분으로 인코딩을 판별합니다.
+     *
+     * @param in mark를 지원하는 스트림 (판별 후 처음 위치로 되돌림)
+     */
+    public static Charset detect(InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("InputStream must support mark/reset");
+        }
+        in.mark(SAMPLE_BYTES);
+        byte[] sample = new byte[SAMPLE_BYTES];
+        int length = 0;
+        int read;
+        while (length < sample.length && (read = in.read(sample, length, sample.length - length)) > 0) {
+            length += read;
+        }
+        in.reset();
+        return detect(sample, length, length < SAMPLE_BYTES);
+    }
+
+    /**
+     * @param complete 표본이 파일 전체인지 (아니면 끝부분에서 잘린 멀티바이트 문자를 허용)
+     */
+    static Charset detect(byte[] sample, int length, boolean complete) {
+        // 1. BOM
+        if (length >= 3 && (sample[0] & 0xFF) == 0xEF && (sample[1] & 0xFF) == 0xBB && (sample[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (length >= 2 && (sample[0] & 0xFF) == 0xFE && (sample[1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (length >= 2 && (sample[0] & 0xFF) == 0xFF && (sample[1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+
+        // 2. BOM 없는 UTF-16: 8비트 인코딩 텍스트에는 0x00이 없음
+        int evenZeros = 0;
+        int oddZeros = 0;
+        for (int i = 0; i < length; i++) {
+            if (sample[i] == 0) {
+                if ((i & 1) == 0) {
+                    evenZeros++;
+                } else {
+                    oddZeros++;
+                }
+            }
+        }
+        int half = Math.max(1, length / 2);
+        if (evenZeros * 20 >= half && oddZeros * 100 < half) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (oddZeros * 20 >= half && evenZeros * 100 < half) {
+            return StandardCharsets.UTF_16LE;
+        }
+
+        // 3. UTF-8
+        if (decodes(StandardCharsets.UTF_8, sample, length, complete)) {
+            return StandardCharsets.UTF_8;
+        }
+
+        // 4. CP949/EUC-KR: 2바이트 문자 대부분이 한글 음절이어야 함 (다른 2바이트 인코딩과 구분)
+        if (decodes(CP949, sample, length, complete)) {
+            String text = new String(sample, 0, length, CP949);
+            int hangul = 0;
+            int nonAscii = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    nonAscii++;
+                    if (c >= 0xAC00 && c <= 0xD7A3) {
+                        hangul++;
+                    }
+                }
+            }
+            if (nonAscii > 0 && hangul * 2 >= nonAscii) {
+                return isEucKr(sample, length) ? EUC_KR : CP949;
+            }
+        }
+
+        // 5. 알 수 없으면 UTF-8
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 판별한 인코딩으로 한 번만 디코딩하는 Reader를 만듭니다. (BOM은 건너뜀)
+     */
+    public static Reader newReader(InputStream in, Charset charset) throws IOException {
+        PushbackReader reader = new PushbackReader(new InputStreamReader(in, charset), 1);
+        int first = reader.read();
+        if (first >= 0 && first != '\uFEFF') {
+            reader.unread(first);
+        }
+        return reader;
+    }
+
+    // 표본 전체가 오류 없이 디코딩되는지 (표본이 잘렸으면 끝의 미완성 문자는 허용)
+    private static boolean decodes(Charset charset, byte[] sample, int length, boolean complete) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer input = ByteBuffer.wrap(sample, 0, length);
+        CharBuffer output = CharBuffer.allocate(length);
+        CoderResult result = decoder.decode(input, output, complete);
+        if (result.isError()) {
+            return false;
+        }
+        if (complete) {
+            try {
+                return !decoder.flush(output).isError();
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        }
+        // 미완성 문자는 최대 3바이트까지만 남을 수 있음
+        return input.remaining() <= 3;
+    }
+
+    // 모든 2바이트 문자가 EUC-KR(KS X 1001) 영역(선행/후행 바이트 0xA1~0xFE)인지
+    private static boolean isEucKr(byte[] sample, int length) {
+        int i = 0;
+        while (i < length) {
+            int b = sample[i] & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            if (b < 0xA1 || b == 0xFF || i + 1 >= length) {
+                return i + 1 >= length && b >= 0xA1; // 표본 끝에서 잘린 선행 바이트
+            }
+            int trail = sample[i + 1] & 0xFF;
+            if (trail < 0xA1 || trail == 0xFF) {
+                return false;
+            }
+            i += 2;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package com.stolink.backend.global.util;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 본문 내용 해시 계산기 (분석 결과 재사용 판단용)
+ *
+ * 분석 결과에 영향을 주지 않는 차이는 무시하도록 본문을 정규화한 뒤 SHA-256을 계산합니다.
+ * - 줄바꿈(\r\n, \r)은 \n으로 통일
+ * - 각 줄 끝의 공백은 제거
+ * - 본문 앞뒤의 공백/빈 줄은 제거
+ */
+public final class ContentHasher {
+
+    private ContentHasher() {
+    }
+
+    /**
+     * 정규화한 본문의 SHA-256 (소문자 16진수 64자, null은 빈 본문과 같음)
+     */
+    public static String hash(CharSequence content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        CharSequence normalized = normalize(content);
+        digest.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(normalized)));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static CharSequence normalize(CharSequence content) {
+        if (content == null) {
+            return "";
+        }
+        int length = content.length();
+        StringBuilder normalized = new StringBuilder(length);
+        int pendingNewlines = 0; // 마지막 글자 이후의 줄바꿈 수
+        int spacesStart = -1; // 현재 줄에서 마지막 글자 이후 공백의 시작 위치
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                pendingNewlines++;
+                spacesStart = -1;
+            } else if (c <= ' ') {
+                if (spacesStart < 0) {
+                    spacesStart = i;
+                }
+            } else {
+                // 본문 앞의 공백/빈 줄은 버리고, 글자 사이의 줄바꿈과 공백은 그대로 유지
+                if (normalized.length() > 0) {
+                    for (int n = 0; n < pendingNewlines; n++) {
+                        normalized.append('\n');
+                    }
+                    if (spacesStart >= 0) {
+                        normalized.append(content, spacesStart, i);
+                    }
+                }
+                pendingNewlines = 0;
+                spacesStart = -1;
+                normalized.append(c);
+            }
+        }
+        return normalized;
+    }
+}
@@ -6,10 +6,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Slf4j
@@ -47,6 +52,42 @@ public class FileStorageUtil {
         }
     }
 
+    /**
+     * 스트림을 파일로 저장하면서 크기와 SHA-256 체크섬을 함께 계산합니다.
+     * 내용을 메모리에 올리지 않고 디스크로 바로 복사합니다.
+     */
+    public StoredFile store(InputStream inputStream, String subDirectory, String extension) {
+        try {
+            Path uploadPath = Paths.get(basePath, subDirectory);
+            if (!Files.exists(uploadPath)) {
+                Files.createDirectories(uploadPath);
+            }
+
+            String filename = UUID.randomUUID().toString() + (extension != null ? extension : "");
+            Path filePath = uploadPath.resolve(filename);
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (DigestInputStream digestStream = new DigestInputStream(inputStream, digest)) {
+                size = Files.copy(digestStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            log.info("File stored: {} ({} bytes)", filePath, size);
+            return new StoredFile("/" + subDirectory + "/" + filename, size, HexFormat.of().formatHex(digest.digest()));
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Failed to store file", e);
+            throw new RuntimeException("파일 저장에 실패했습니다.", e);
+        }
+    }
+
+    /**
+     * 저장된 파일을 읽기 위한 스트림을 엽니다.
+     */
+    public InputStream open(String filePath) throws IOException {
+        return Files.newInputStream(Paths.get(basePath, filePath));
+    }
+
     public void delete(String filePath) {
         try {
             Path path = Paths.get(basePath, filePath);
@@ -56,4 +97,14 @@ public class FileStorageUtil {
             log.error("Failed to delete file: {}", filePath, e);
         }
     }
+
+    /**
+     * 저장된 파일 정보
+     *
+     * @param path     basePath 기준 상대 경로 (open/delete에 사용)
+     * @param size     바이트 크기
+     * @param checksum SHA-256 (hex)
+     */
+    public record StoredFile(String path, long size, String checksum) {
+    }
 }
@@ -0,0 +1,166 @@
+package com.stolink.backend.global.util;
+
+/**
+ * 본문 글자 수/단어 수 계산기
+ *
+ * HTML 태그(&lt;...&gt;)를 제외하고 한 번의 순회로 집계하며, 중간 문자열을 만들지 않습니다.
+ * 글자 수는 기존 {@code text.replaceAll("<[^>]*>", "").trim().length()}와 같은 값을 반환합니다.
+ * - 태그는 '<'부터 처음 만나는 '>'까지이며, 뒤에 '>'가 없는 '<'는 일반 글자로 셉니다.
+ * - 앞뒤 공백은 String.trim()과 같이 ' ' 이하의 문자를 기준으로 제외합니다.
+ *
+ * 단어는 공백 또는 태그로 구분되는 토큰이며, 한글이 포함되면 한국어 단어(어절),
+ * 한글 없이 영문자가 포함되면 영어 단어로 분류합니다.
+ */
+public final class WordCounter {
+
+    private WordCounter() {
+    }
+
+    public record Result(
+            int characters,
+            int charactersWithoutSpaces,
+            int words,
+            int koreanWords,
+            int englishWords) {
+
+        public static final Result EMPTY = new Result(0, 0, 0, 0, 0);
+    }
+
+    /**
+     * 글자 수만 계산합니다. (Document.wordCount 기준)
+     */
+    public static int countCharacters(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+        int lastTagEnd = lastIndexOf(text, '>');
+        int visible = 0;
+        int leading = -1; // 첫 번째 비공백 글자 이전의 공백 수
+        int trailing = 0; // 마지막 비공백 글자 이후의 공백 수
+
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '<' && i < lastTagEnd) {
+                i = skipTag(text, i);
+                continue;
+            }
+            visible++;
+            if (c <= ' ') {
+                trailing++;
+            } else {
+                if (leading < 0) {
+                    leading = visible - 1;
+                }
+                trailing = 0;
+            }
+        }
+        return leading < 0 ? 0 : visible - leading - trailing;
+    }
+
+    /**
+     * 글자 수, 공백 제외 글자 수, 단어 수를 함께 계산합니다.
+     */
+    public static Result count(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return Result.EMPTY;
+        }
+        int lastTagEnd = lastIndexOf(text, '>');
+        int visible = 0;
+        int leading = -1;
+        int trailing = 0;
+        int withoutSpaces = 0;
+        int words = 0;
+        int koreanWords = 0;
+        int englishWords = 0;
+
+        boolean inWord = false;
+        boolean wordHasKorean = false;
+        boolean wordHasEnglish = false;
+
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '<' && i < lastTagEnd) {
+                i = skipTag(text, i);
+                // 태그는 단어 경계로 취급 (</p><p> 등 문단 구분)
+                if (inWord) {
+                    words++;
+                    koreanWords += wordHasKorean ? 1 : 0;
+                    englishWords += !wordHasKorean && wordHasEnglish ? 1 : 0;
+                    inWord = false;
+                }
+                continue;
+            }
+
+            visible++;
+            if (c <= ' ' || Character.isWhitespace(c)) {
+                if (c <= ' ') {
+                    trailing++;
+                } else {
+                    // 전각 공백 등은 trim 대상은 아니지만 공백으로 취급
+                    trailing = 0;
+                    if (leading < 0) {
+                        leading = visible - 1;
+                    }
+                }
+                if (inWord) {
+                    words++;
+                    koreanWords += wordHasKorean ? 1 : 0;
+                    englishWords += !wordHasKorean && wordHasEnglish ? 1 : 0;
+                    inWord = false;
+                }
+                continue;
+            }
+
+            if (leading < 0) {
+                leading = visible - 1;
+            }
+            trailing = 0;
+            withoutSpaces++;
+
+            if (!inWord) {
+                inWord = true;
+                wordHasKorean = false;
+                wordHasEnglish = false;
+            }
+            if (isHangul(c)) {
+                wordHasKorean = true;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                wordHasEnglish = true;
+            }
+        }
+        if (inWord) {
+            words++;
+            koreanWords += wordHasKorean ? 1 : 0;
+            englishWords += !wordHasKorean && wordHasEnglish ? 1 : 0;
+        }
+
+        int characters = leading < 0 ? 0 : visible - leading - trailing;
+        return new Result(characters, withoutSpaces, words, koreanWords, englishWords);
+    }
+
+    public static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') // 완성형 음절
+                || (c >= 'ᄀ' && c <= 'ᇿ') // 자모
+                || (c >= '㄰' && c <= '㆏'); // 호환용 자모
+    }
+
+    // '<' 위치에서 태그 끝('>') 위치를 반환 (호출 측에서 뒤에 '>'가 있음을 보장)
+    private static int skipTag(CharSequence text, int start) {
+        int i = start + 1;
+        while (text.charAt(i) != '>') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lastIndexOf(CharSequence text, char target) {
+        for (int i = text.length() - 1; i >= 0; i--) {
+            if (text.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.stolink.backend.domain.document.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveChunkerTest {
+
+    private static List<String> chunk(String text, int targetChars) {
+        List<String> chunks = new ArrayList<>();
+        AdaptiveChunker chunker = new AdaptiveChunker(targetChars, chunks::add);
+        chunker.append(text);
+        chunker.finish();
+        return chunks;
+    }
+
+    private static String stripWhitespace(String text) {
+        return text.replaceAll("\\s+", "");
+    }
+
+    @Test
+    @DisplayName("Should prefer a blank line over a line break closer to the target")
+    void shouldPreferParagraphBoundary() {
+        // Given: 빈 줄은 90자 뒤, 줄바꿈은 정확히 100자 뒤
+        String text = "가".repeat(89) + "\n\n" + "나".repeat(9) + "\n" + "다".repeat(200);
+
+        // When
+        List<String> chunks = chunk(text, 100);
+
+        // Then
+        assertThat(chunks.get(0)).isEqualTo("가".repeat(89));
+    }
+
+    @Test
+    @DisplayName("Should split Korean prose at sentence endings, including closing quotes")
+    void shouldSplitAtKoreanSentenceEndings() {
+        // Given
+        String sentence = "그는 천천히 문을 열었다. \"정말 괜찮아요?\" 그녀가 물었다. ";
+        String text = sentence.repeat(20);
+
+        // When
+        List<String> chunks = chunk(text, 100);
+
+        // Then
+        for (String chunk : chunks.subList(0, chunks.size() - 1)) {
+            assertThat(chunk.endsWith("다.") || chunk.endsWith("?\"")).as("chunk=[%s]", chunk).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not treat a period after a number as a sentence ending")
+    void shouldNotSplitAfterNumbers() {
+        // Given: "1." 뒤를 문장 끝으로 보면 93자에서 잘림
+        String text = "가".repeat(90) + " 1. " + "가".repeat(6) + " " + "나".repeat(200);
+
+        // When
+        List<String> chunks = chunk(text, 100);
+
+        // Then: 목표 위치에 가장 가까운 공백에서 자름
+        assertThat(chunks.get(0)).isEqualTo("가".repeat(90) + " 1. " + "가".repeat(6));
+    }
+
+    @Test
+    @DisplayName("Should keep every chunk but the last within 25% of the target and lose no text")
+    void shouldProduceEvenChunksWithoutLosingText() {
+        Random random = new Random(7);
+        String[] pieces = { "그는 걸었다. ", "\"왜?\" ", "정말… ", "\n", "\n\n", "3.14 ", "word ", "가나다라마바사" };
+        for (int round = 0; round < 200; round++) {
+            // Given
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(5000);
+            while (builder.length() < length) {
+                builder.append(pieces[random.nextInt(pieces.length)]);
+            }
+            if (random.nextInt(10) == 0) {
+                builder.append("가".repeat(random.nextInt(3000))); // 경계가 없는 긴 구간
+            }
+            String text = builder.toString();
+            int target = 40 + random.nextInt(400);
+
+            // When
+            List<String> chunks = chunk(text, target);
+
+            // Then
+            assertThat(stripWhitespace(String.join("", chunks))).isEqualTo(stripWhitespace(text));
+            for (String chunk : chunks.subList(0, Math.max(0, chunks.size() - 1))) {
+                assertThat(chunk.length() <= target + target / 4).as("chunk length %d", chunk.length()).isTrue();
+            }
+        }
+    }
+}
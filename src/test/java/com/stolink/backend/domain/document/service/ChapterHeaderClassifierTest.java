@@ -0,0 +1,165 @@
+package com.stolink.backend.domain.document.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChapterHeaderClassifierTest {
+
+    /**
+     * 기존 ChapterHeaderValidator 규칙 (마커/금지 문자 목록 순회 방식, 동등성 검증용 기준 구현)
+     */
+    private static final class ReferenceRules {
+
+        private static final List<String> CHAPTER_MARKERS = List.of(
+                "제", "第", "Chapter", "Part", "Book", "Volume", "Section", "편", "부", "권", "서문", "프롤로그", "에필로그");
+        private static final List<String> FORBIDDEN_CHARS = List.of("\"", "'", "“", "”", "‘", "’", "...");
+
+        static boolean isHeader(String line, int emptyLineCount, boolean isFirstLine) {
+            return isHeaderCandidate(line, emptyLineCount, isFirstLine) && validateHeader(line);
+        }
+
+        static boolean isHeaderCandidate(String line, int emptyLineCount, boolean isFirstLine) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.length() > 100) {
+                return false;
+            }
+            boolean isStrong = isStrongHeaderPattern(trimmed);
+            for (String forbidden : FORBIDDEN_CHARS) {
+                if (trimmed.contains(forbidden)) {
+                    return false;
+                }
+            }
+            if (!isStrong) {
+                for (String punc : List.of("?", "!")) {
+                    if (trimmed.contains(punc))
+                        return false;
+                }
+            }
+            if (trimmed.endsWith(".") && !Character.isDigit(trimmed.charAt(0)) && !isStrong) {
+                return false;
+            }
+            if (!isFirstLine && emptyLineCount < 2) {
+                return emptyLineCount >= 1 && isStrong;
+            }
+            return true;
+        }
+
+        static boolean isStrongHeaderPattern(String text) {
+            String upper = text.toUpperCase();
+            if (text.startsWith("제")
+                    && (text.contains("장") || text.contains("편") || text.contains("부") || text.contains("권")))
+                return true;
+            return upper.startsWith("CHAPTER") || upper.startsWith("PART") || upper.startsWith("BOOK");
+        }
+
+        static boolean validateHeader(String line) {
+            String trimmed = line.trim();
+            String upper = trimmed.toUpperCase();
+            if (startsWithNumber(trimmed) && isValidNumberedHeader(trimmed)) {
+                return true;
+            }
+            for (String marker : CHAPTER_MARKERS) {
+                boolean english = marker.equals("Chapter") || marker.equals("Part") || marker.equals("Book")
+                        || marker.equals("Volume") || marker.equals("Section");
+                boolean matches = english ? upper.startsWith(marker.toUpperCase()) : trimmed.startsWith(marker);
+                if (matches) {
+                    if (marker.equals("제") || marker.equals("第")) {
+                        return trimmed.contains("장") || trimmed.contains("편") || trimmed.contains("부")
+                                || trimmed.contains("권");
+                    }
+                    if (marker.equals("서문") || marker.equals("프롤로그") || marker.equals("에필로그")) {
+                        return true;
+                    }
+                    if (english) {
+                        String after = trimmed.substring(marker.length()).trim();
+                        return !after.isEmpty() && startsWithNumber(after);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        static boolean startsWithNumber(String text) {
+            if (text.isEmpty())
+                return false;
+            char first = text.charAt(0);
+            return Character.isDigit(first) || "IVXLCDM".indexOf(Character.toUpperCase(first)) >= 0;
+        }
+
+        static boolean isValidNumberedHeader(String text) {
+            int i = 0;
+            while (i < text.length() && (Character.isDigit(text.charAt(i))
+                    || "IVXLCDM".indexOf(Character.toUpperCase(text.charAt(i))) >= 0)) {
+                i++;
+            }
+            if (i == text.length())
+                return true;
+            char afterNumber = text.charAt(i);
+            return afterNumber == '.' || Character.isWhitespace(afterNumber) || "장편부권".indexOf(afterNumber) >= 0;
+        }
+    }
+
+    private static final String[] FRAGMENTS = {
+            "제", "第", "장", "편", "부", "권", "서문", "프롤로그", "에필로그", "Chapter", "chapter", "CHAPTER", "Part",
+            "part", "Book", "Volume", "Section", "section", "1", "12", "IV", "iv", "x", "M", ".", "..", "...", "?", "!",
+            "\"", "'", "“", "’", " ", "  ", "\t", "년", "그는", "시작", "끝", "a", "z", "٣", "ſ", "—"
+    };
+
+    private static String randomLine(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int parts = random.nextInt(6);
+        for (int i = 0; i < parts; i++) {
+            builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        if (random.nextInt(50) == 0) {
+            builder.append("가".repeat(random.nextInt(120)));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    @DisplayName("Should classify common chapter headers")
+    void shouldClassifyCommonHeaders() {
+        assertThat(ChapterHeaderClassifier.isHeader("제1장 시작", 2, false)).isTrue();
+        assertThat(ChapterHeaderClassifier.isHeader("제1장 시작", 1, false)).isTrue();
+        assertThat(ChapterHeaderClassifier.isHeader("Chapter 12", 2, false)).isTrue();
+        assertThat(ChapterHeaderClassifier.isHeader("1. 서론", 2, false)).isTrue();
+        assertThat(ChapterHeaderClassifier.isHeader("프롤로그", 0, true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject dialogue, sentences and headers without enough blank lines")
+    void shouldRejectNonHeaders() {
+        assertThat(ChapterHeaderClassifier.isHeader("\"제1장이라고?\"", 2, false)).isFalse();
+        assertThat(ChapterHeaderClassifier.isHeader("10년 뒤", 2, false)).isFalse();
+        assertThat(ChapterHeaderClassifier.isHeader("Chapter", 2, false)).isFalse();
+        assertThat(ChapterHeaderClassifier.isHeader("프롤로그...", 2, false)).isFalse();
+        assertThat(ChapterHeaderClassifier.isHeader("1. 서론", 1, false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match the previous marker-loop rules for random lines and contexts")
+    void shouldMatchReferenceRules() {
+        Random random = new Random(20240601L);
+        for (int i = 0; i < 200_000; i++) {
+            // Given
+            String line = randomLine(random);
+            int emptyLineCount = random.nextInt(4);
+            boolean isFirstLine = random.nextInt(5) == 0;
+
+            // When
+            boolean actual = ChapterHeaderClassifier.isHeader(line.trim(), emptyLineCount, isFirstLine);
+
+            // Then
+            assertThat(actual)
+                    .as("line=[%s], empty=%d, first=%s", line, emptyLineCount, isFirstLine)
+                    .isEqualTo(ReferenceRules.isHeader(line, emptyLineCount, isFirstLine));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.UpdateContentRequest;
+import com.stolink.backend.domain.document.dto.UpdateContentRequest.Operation;
+import com.stolink.backend.domain.document.dto.UpdateContentRequest.OperationType;
+import com.stolink.backend.domain.document.entity.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentPatcherTest {
+
+    private static Operation insert(int position, String text) {
+        return Operation.builder().type(OperationType.INSERT).position(position).text(text).build();
+    }
+
+    private static Operation delete(int position, int length) {
+        return Operation.builder().type(OperationType.DELETE).position(position).length(length).build();
+    }
+
+    private static ContentPatcher.Result apply(String content, List<Operation> ops) {
+        return ContentPatcher.apply(content, Document.calculateWordCount(content), ops);
+    }
+
+    @Test
+    @DisplayName("Should apply insert and delete operations in order")
+    void shouldApplyOperationsInOrder() {
+        // Given
+        String content = "<p>그는 문을 열었다.</p>\n<p>밖은 어두웠다.</p>";
+
+        // When
+        ContentPatcher.Result result = apply(content, List.of(
+                insert(3, "조용히 "),
+                delete(content.indexOf("어두웠다") + 4, 4),
+                insert(content.indexOf("어두웠다") + 4, "고요했다")));
+
+        // Then
+        assertThat(result.content()).isEqualTo("<p>조용히 그는 문을 열었다.</p>\n<p>밖은 고요했다.</p>");
+        assertThat(result.wordCount()).isEqualTo(Document.calculateWordCount(result.content()));
+    }
+
+    @Test
+    @DisplayName("Should match full recount for edits touching tags and edges")
+    void shouldMatchFullRecountAroundTags() {
+        String content = "  <p>첫 줄</p>\n<p>둘째 <b>줄</b></p>  ";
+
+        assertThat(apply(content, List.of(insert(0, "x"))).wordCount())
+                .isEqualTo(Document.calculateWordCount("x" + content));
+        assertThat(apply(content, List.of(delete(content.indexOf("<b>"), 3))).wordCount())
+                .isEqualTo(Document.calculateWordCount(content.replace("<b>", "")));
+        assertThat(apply(content, List.of(insert(content.indexOf("둘째"), "<i"))).wordCount())
+                .isEqualTo(Document.calculateWordCount(content.replace("둘째", "<i둘째")));
+        assertThat(apply(content, List.of(delete(0, content.length()))).wordCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep incremental word count equal to full recount for random edits")
+    void shouldMatchFullRecountForRandomEdits() {
+        Random random = new Random(42);
+        String alphabet = "가나다 abc.\n<>/p";
+
+        for (int round = 0; round < 200; round++) {
+            String content = "<p>시작</p>\n<p>본문 내용입니다.</p>\n<p>끝</p>";
+            List<Operation> ops = new ArrayList<>();
+            StringBuilder expected = new StringBuilder(content);
+
+            for (int i = 0; i < 20; i++) {
+                if (random.nextBoolean() || expected.length() == 0) {
+                    int position = random.nextInt(expected.length() + 1);
+                    StringBuilder text = new StringBuilder();
+                    for (int j = random.nextInt(4) + 1; j > 0; j--) {
+                        text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                    }
+                    ops.add(insert(position, text.toString()));
+                    expected.insert(position, text);
+                } else {
+                    int position = random.nextInt(expected.length());
+                    int length = random.nextInt(Math.min(3, expected.length() - position)) + 1;
+                    ops.add(delete(position, length));
+                    expected.delete(position, position + length);
+                }
+            }
+
+            ContentPatcher.Result result = apply(content, ops);
+
+            assertThat(result.content()).isEqualTo(expected.toString());
+            assertThat(result.wordCount()).isEqualTo(Document.calculateWordCount(expected.toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject operations outside the content range")
+    void shouldRejectOutOfRangeOperations() {
+        assertThatThrownBy(() -> apply("abc", List.of(insert(4, "x"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> apply("abc", List.of(delete(2, 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> apply("abc", List.of(new UpdateContentRequest.Operation())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
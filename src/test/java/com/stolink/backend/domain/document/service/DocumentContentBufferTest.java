@@ -0,0 +1,174 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.DocumentContentState;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.project.repository.ProjectRepository;
+import com.stolink.backend.global.util.ContentHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentContentBufferTest {
+
+    private static final UUID DOCUMENT_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentContentBuffer buffer;
+
+    /**
+     * 단일 문서 행 (updateContentState의 version 가드 포함)
+     */
+    private static class DocumentRow {
+        String content = "처음";
+        int wordCount = 2;
+        long version = 1;
+        final List<Long> writtenVersions = new ArrayList<>();
+
+        int update(String newContent, int newWordCount, long newVersion) {
+            if (version >= newVersion) {
+                return 0;
+            }
+            content = newContent;
+            wordCount = newWordCount;
+            version = newVersion;
+            writtenVersions.add(newVersion);
+            return 1;
+        }
+    }
+
+    private final DocumentRow row = new DocumentRow();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(documentRepository.findContentStateById(DOCUMENT_ID)).thenAnswer(invocation -> Optional.of(
+                new DocumentContentState(DOCUMENT_ID, row.content, row.wordCount, row.version)));
+        lenient().when(documentRepository.findContentHashById(DOCUMENT_ID))
+                .thenAnswer(invocation -> Optional.of(ContentHasher.hash(row.content)));
+        lenient().when(documentRepository.updateContentState(eq(DOCUMENT_ID), anyString(), anyInt(), anyLong(),
+                anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> row.update(invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3)));
+        buffer = new DocumentContentBuffer(documentRepository,
+                new DocumentTreeCache(documentRepository, projectRepository), transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    private DocumentContentBuffer.PendingContent write(String content) {
+        return buffer.write(DOCUMENT_ID, PROJECT_ID,
+                (current, wordCount, version) -> new ContentPatcher.Result(content, content.length()));
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should coalesce buffered writes and flush only the latest version")
+    void shouldFlushLatestCoalescedVersion() {
+        // Given
+        write("첫 번째");
+        write("두 번째");
+        DocumentContentBuffer.PendingContent latest = write("세 번째");
+
+        // When
+        buffer.flush(DOCUMENT_ID);
+
+        // Then
+        assertThat(latest.version()).isEqualTo(4L);
+        assertThat(row.writtenVersions).containsExactly(4L);
+        assertThat(row.content).isEqualTo("세 번째");
+        assertThat(buffer.get(DOCUMENT_ID)).isEmpty();
+        // 글자 수 반영은 트리 버전을 올리지 않으므로 프로젝트 행을 잠그지 않음
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    @DisplayName("Should drop stale buffered content instead of overwriting a newer database version")
+    void shouldNotOverwriteNewerVersion() {
+        // Given
+        write("버퍼 본문");
+        row.content = "다른 노드의 최신 본문";
+        row.version = 5;
+
+        // When
+        buffer.flush(DOCUMENT_ID);
+
+        // Then
+        assertThat(row.content).isEqualTo("다른 노드의 최신 본문");
+        assertThat(row.version).isEqualTo(5L);
+        assertThat(buffer.get(DOCUMENT_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep buffered content until the surrounding transaction commits")
+    void shouldRemoveOnlyAfterCommit() {
+        // Given
+        write("트랜잭션 안 기록");
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        buffer.flush(DOCUMENT_ID);
+        boolean bufferedBeforeCommit = buffer.get(DOCUMENT_ID).isPresent();
+        write("커밋 전 추가 저장");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertThat(row.content).isEqualTo("트랜잭션 안 기록");
+        assertThat(bufferedBeforeCommit).isTrue();
+        assertThat(buffer.get(DOCUMENT_ID).map(DocumentContentBuffer.PendingContent::content))
+                .hasValue("커밋 전 추가 저장");
+    }
+
+    @Test
+    @DisplayName("Should discard buffered content of deleted documents only after commit")
+    void shouldDiscardAfterCommit() {
+        // Given
+        write("삭제될 본문");
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        buffer.discard(List.of(DOCUMENT_ID));
+        boolean bufferedBeforeCommit = buffer.get(DOCUMENT_ID).isPresent();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertThat(bufferedBeforeCommit).isTrue();
+        assertThat(buffer.get(DOCUMENT_ID)).isEmpty();
+        assertThat(row.writtenVersions).isEmpty();
+    }
+}
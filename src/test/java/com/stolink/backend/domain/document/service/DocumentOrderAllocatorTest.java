@@ -0,0 +1,167 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.DocumentPlacement;
+import com.stolink.backend.domain.document.repository.DocumentJdbcRepository;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.project.entity.Project;
+import com.stolink.backend.domain.project.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentOrderAllocatorTest {
+
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final UUID FIRST_ID = UUID.randomUUID();
+    private static final UUID SECOND_ID = UUID.randomUUID();
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private DocumentJdbcRepository documentJdbcRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentOrderAllocator allocator;
+
+    // 루트 형제 문서들의 order
+    private final Map<UUID, Integer> orders = new LinkedHashMap<>();
+    private final Project project = Project.builder().id(PROJECT_ID).build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(projectRepository.lockById(PROJECT_ID)).thenReturn(Optional.of(PROJECT_ID));
+        lenient().when(projectRepository.incrementTreeVersion(PROJECT_ID)).thenReturn(1);
+        lenient().when(projectRepository.findTreeVersionById(PROJECT_ID)).thenReturn(Optional.of(1L));
+        lenient().when(documentRepository.findPlacementsByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> new DocumentPlacement(id, PROJECT_ID, null, null, orders.get(id)))
+                    .toList();
+        });
+        lenient().when(documentRepository.findNextOrder(eq(project), any(), anyInt(), any()))
+                .thenAnswer(invocation -> siblingOrders(invocation.getArgument(3))
+                        .filter(order -> order > (int) invocation.getArgument(2))
+                        .min(Comparator.naturalOrder()));
+        lenient().when(documentRepository.findPreviousOrder(eq(project), any(), anyInt(), any()))
+                .thenAnswer(invocation -> siblingOrders(invocation.getArgument(3))
+                        .filter(order -> order < (int) invocation.getArgument(2))
+                        .max(Comparator.naturalOrder()));
+        lenient().when(documentRepository.findMaxOrderByProjectAndParent(eq(project), any()))
+                .thenAnswer(invocation -> siblingOrders(null).max(Comparator.naturalOrder()));
+        lenient().when(documentRepository.findSiblingIdsOrderByOrder(PROJECT_ID, null))
+                .thenAnswer(invocation -> orderedIds());
+        doAnswer(invocation -> {
+            List<UUID> orderedIds = invocation.getArgument(0);
+            for (int i = 0; i < orderedIds.size(); i++) {
+                orders.put(orderedIds.get(i), i * 1024);
+            }
+            return null;
+        }).when(documentJdbcRepository).updateOrders(anyList());
+
+        allocator = new DocumentOrderAllocator(documentRepository, documentJdbcRepository, projectRepository,
+                new DocumentTreeCache(documentRepository, projectRepository), transactionManager);
+    }
+
+    private Stream<Integer> siblingOrders(UUID excludeId) {
+        return orders.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(excludeId))
+                .map(Map.Entry::getValue);
+    }
+
+    private List<UUID> orderedIds() {
+        return orders.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should lock the project row before reading the last order when appending")
+    void shouldLockBeforeAppending() {
+        // Given
+        orders.put(FIRST_ID, 0);
+        orders.put(SECOND_ID, 1024);
+
+        // When
+        int order = allocator.append(project, null);
+
+        // Then
+        assertThat(order).isEqualTo(2048);
+        InOrder inOrder = inOrder(projectRepository, documentRepository);
+        inOrder.verify(projectRepository).lockById(PROJECT_ID);
+        inOrder.verify(documentRepository).findMaxOrderByProjectAndParent(project, null);
+    }
+
+    @Test
+    @DisplayName("Should rebalance siblings under the lock when the midpoint gap is exhausted")
+    void shouldRebalanceWhenGapIsExhausted() {
+        // Given
+        orders.put(FIRST_ID, 0);
+        orders.put(SECOND_ID, 1);
+
+        // When
+        int order = allocator.allocate(project, null, FIRST_ID, null, null);
+
+        // Then
+        assertThat(order).isEqualTo(512);
+        assertThat(orders.get(SECOND_ID)).isEqualTo(1024);
+        InOrder inOrder = inOrder(projectRepository, documentRepository, documentJdbcRepository);
+        inOrder.verify(projectRepository).lockById(PROJECT_ID);
+        inOrder.verify(documentRepository).findPlacementsByIds(List.of(FIRST_ID));
+        inOrder.verify(projectRepository).lockById(PROJECT_ID);
+        inOrder.verify(documentJdbcRepository).updateOrders(List.of(FIRST_ID, SECOND_ID));
+    }
+
+    @Test
+    @DisplayName("Should use the midpoint and defer the rebalance to a locked background pass when the gap runs low")
+    void shouldScheduleRebalanceWhenGapRunsLow() {
+        // Given
+        orders.put(FIRST_ID, 0);
+        orders.put(SECOND_ID, 8);
+
+        // When
+        int order = allocator.allocate(project, null, null, SECOND_ID, null);
+        verify(documentJdbcRepository, never()).updateOrders(anyList());
+        allocator.rebalancePending();
+
+        // Then
+        assertThat(order).isEqualTo(4);
+        assertThat(orderedIds()).containsExactly(FIRST_ID, SECOND_ID);
+        assertThat(orders.get(SECOND_ID)).isEqualTo(1024);
+        verify(projectRepository, times(2)).lockById(PROJECT_ID);
+        InOrder inOrder = inOrder(projectRepository, documentJdbcRepository);
+        inOrder.verify(projectRepository, times(2)).lockById(PROJECT_ID);
+        inOrder.verify(documentJdbcRepository).updateOrders(List.of(FIRST_ID, SECOND_ID));
+    }
+}
@@ -0,0 +1,177 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.document.dto.DocumentTreeNode;
+import com.stolink.backend.domain.document.entity.Document;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.project.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentTreeCacheTest {
+
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final UUID FOLDER_ID = UUID.randomUUID();
+    private static final UUID CHAPTER_ID = UUID.randomUUID();
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private DocumentTreeCache cache;
+
+    // 저장된 트리 노드와 프로젝트 트리 버전
+    // 트랜잭션 안에서는 커밋 전 버전을, 밖(다른 요청)에서는 커밋된 버전을 읽음
+    private final List<DocumentTreeNode> nodes = new ArrayList<>(List.of(
+            node(FOLDER_ID, null, 0),
+            node(CHAPTER_ID, FOLDER_ID, 0)));
+    private long committedVersion;
+    private long pendingVersion;
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(documentRepository.findTreeNodesByProjectId(PROJECT_ID))
+                .thenAnswer(invocation -> List.copyOf(nodes));
+        lenient().when(projectRepository.incrementTreeVersion(PROJECT_ID)).thenAnswer(invocation -> {
+            pendingVersion++;
+            return 1;
+        });
+        lenient().when(projectRepository.findTreeVersionById(PROJECT_ID))
+                .thenAnswer(invocation -> Optional.of(inTransaction ? pendingVersion : committedVersion));
+        cache = new DocumentTreeCache(documentRepository, projectRepository);
+    }
+
+    private static DocumentTreeNode node(UUID id, UUID parentId, int wordCount) {
+        Document.DocumentType type = parentId == null ? Document.DocumentType.FOLDER : Document.DocumentType.TEXT;
+        return new DocumentTreeNode(id, parentId, type, "제목", 0, null, wordCount, null, null);
+    }
+
+    private void commitElsewhere() {
+        committedVersion++;
+        pendingVersion = committedVersion;
+    }
+
+    private void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+        inTransaction = true;
+    }
+
+    /**
+     * 현재 트랜잭션을 커밋한 것처럼 버전을 확정하고 afterCommit 콜백을 실행합니다.
+     */
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        inTransaction = false;
+        committedVersion = pendingVersion;
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply tree changes only after commit and take the ETag from the database version")
+    void shouldApplyChangesAfterCommit() {
+        // Given
+        assertThat(cache.snapshot(PROJECT_ID).nodes()).hasSize(2);
+        begin();
+
+        // When
+        cache.updateOrders(PROJECT_ID, List.of(FOLDER_ID, CHAPTER_ID));
+        cache.remove(PROJECT_ID, CHAPTER_ID);
+        inTransaction = false;
+        DocumentTreeCache.Snapshot beforeCommit = cache.snapshot(PROJECT_ID);
+        inTransaction = true;
+        commit();
+        DocumentTreeCache.Snapshot afterCommit = cache.snapshot(PROJECT_ID);
+
+        // Then
+        assertThat(beforeCommit.nodes()).hasSize(2);
+        assertThat(beforeCommit.eTag()).isEqualTo("\"0\"");
+        assertThat(afterCommit.nodes()).hasSize(1);
+        assertThat(afterCommit.eTag()).isEqualTo("\"2\"");
+        assertThat(cache.getETag(PROJECT_ID)).isEqualTo("\"2\"");
+        verify(documentRepository, times(1)).findTreeNodesByProjectId(PROJECT_ID);
+    }
+
+    @Test
+    @DisplayName("Should reload the tree when another node has committed a newer tree version")
+    void shouldReloadWhenDatabaseVersionIsNewer() {
+        // Given
+        cache.snapshot(PROJECT_ID);
+        nodes.remove(1);
+        commitElsewhere();
+
+        // When
+        DocumentTreeCache.Snapshot snapshot = cache.snapshot(PROJECT_ID);
+
+        // Then
+        assertThat(snapshot.nodes()).hasSize(1);
+        assertThat(snapshot.eTag()).isEqualTo("\"1\"");
+        verify(documentRepository, times(2)).findTreeNodesByProjectId(PROJECT_ID);
+    }
+
+    @Test
+    @DisplayName("Should drop the cached tree instead of applying a change that skips a version")
+    void shouldDropTreeOnVersionGap() {
+        // Given
+        cache.snapshot(PROJECT_ID);
+        commitElsewhere();
+        begin();
+
+        // When
+        cache.updateOrders(PROJECT_ID, List.of(FOLDER_ID, CHAPTER_ID));
+        commit();
+        nodes.set(1, node(CHAPTER_ID, FOLDER_ID, 300));
+        DocumentTreeCache.Snapshot snapshot = cache.snapshot(PROJECT_ID);
+
+        // Then
+        verify(documentRepository, times(2)).findTreeNodesByProjectId(PROJECT_ID);
+        assertThat(snapshot.eTag()).isEqualTo("\"2\"");
+        assertThat(snapshot.nodes().get(1).wordCount()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Should patch word counts after commit without bumping the tree version")
+    void shouldUpdateWordCountWithoutVersionBump() {
+        // Given
+        cache.snapshot(PROJECT_ID);
+        begin();
+
+        // When
+        cache.updateWordCount(PROJECT_ID, CHAPTER_ID, 120);
+        commit();
+        DocumentTreeCache.Snapshot snapshot = cache.snapshot(PROJECT_ID);
+
+        // Then
+        assertThat(snapshot.nodes().get(1).wordCount()).isEqualTo(120);
+        assertThat(snapshot.eTag()).isEqualTo("\"0\"");
+        verify(projectRepository, never()).incrementTreeVersion(PROJECT_ID);
+        verify(documentRepository, times(1)).findTreeNodesByProjectId(PROJECT_ID);
+    }
+}
@@ -0,0 +1,142 @@
+package com.stolink.backend.domain.document.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImprovedManuscriptParserTest {
+
+    private static List<String> flatten(List<ImprovedManuscriptParser.ParsedSection> sections) {
+        List<String> flattened = new ArrayList<>();
+        for (ImprovedManuscriptParser.ParsedSection section : sections) {
+            flattened.add(section.getTitle() + "\u0000" + section.getContent());
+        }
+        return flattened;
+    }
+
+    private static String describe(ManuscriptEvent event) {
+        if (event instanceof ManuscriptEvent.FolderStarted folder) {
+            return "folder:" + folder.title();
+        }
+        ImprovedManuscriptParser.ParsedSection section = (ImprovedManuscriptParser.ParsedSection) event;
+        return "section:" + section.getTitle() + ":" + section.getContent();
+    }
+
+    private static List<ImprovedManuscriptParser.ParsedSection> parseParallel(String content) throws IOException {
+        List<ImprovedManuscriptParser.ParsedSection> sections = new ArrayList<>();
+        ImprovedManuscriptParser.parseParallel(new StringReader(content), sections::add, new ForkJoinPool(4));
+        return sections;
+    }
+
+    private static String randomManuscript(Random random, int chapters) {
+        String[] lines = {
+                "", "", "", "그는 천천히 고개를 들었다.", "\"정말 괜찮아?\" 그녀가 물었다.", "10년 뒤의 일이었다.",
+                "***", "Chapter 3", "chapter IV", "1. 서론", "부제목", "It was a long night.", "정말?", "  "
+        };
+        StringBuilder builder = new StringBuilder();
+        for (int chapter = 1; chapter <= chapters; chapter++) {
+            builder.append("\n\n제").append(chapter).append("장 새로운 시작\n");
+            int paragraphs = random.nextInt(400);
+            for (int i = 0; i < paragraphs; i++) {
+                builder.append(lines[random.nextInt(lines.length)]).append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    @Test
+    @DisplayName("Should split chapters and merge subtitles into the title")
+    void shouldSplitChaptersWithSubtitles() {
+        // Given
+        String content = "제1장 시작\n첫 만남\n\n그는 문을 열었다.\n\n\n제2장\n\n밖은 어두웠다.\n";
+
+        // When
+        List<ImprovedManuscriptParser.ParsedSection> sections = ImprovedManuscriptParser.parse(content);
+
+        // Then
+        assertThat(sections).hasSize(2);
+        assertThat(sections.get(0).getTitle()).isEqualTo("제1장 시작 첫 만남");
+        assertThat(sections.get(0).getContent()).isEqualTo("그는 문을 열었다.");
+        assertThat(sections.get(1).getTitle()).isEqualTo("제2장");
+        assertThat(sections.get(1).getContent()).isEqualTo("밖은 어두웠다.");
+    }
+
+    @Test
+    @DisplayName("Should not treat dialogue or sentences as chapter headers")
+    void shouldIgnoreDialogueLines() {
+        // Given
+        String content = "프롤로그\n\n\n\"제1장이라고?\" 그가 물었다.\n\n\n10년 뒤 그는 돌아왔다.\n";
+
+        // When
+        List<ImprovedManuscriptParser.ParsedSection> sections = ImprovedManuscriptParser.parse(content);
+
+        // Then
+        assertThat(sections).hasSize(1);
+        assertThat(sections.get(0).getTitle()).isEqualTo("프롤로그");
+    }
+
+    @Test
+    @DisplayName("Regex strategy should emit chapter folders followed by their sections")
+    void regexStrategyShouldEmitFolders() throws IOException {
+        // Given
+        String content = "머리말\n\n제1장 시작\n첫 장면\n***\n둘째 장면\n\nChapter 2: 끝\n마지막\n";
+        List<ManuscriptEvent> events = new ArrayList<>();
+
+        // When
+        ImprovedManuscriptParser.parse(new StringReader(content), new RegexBoundaryStrategy(), events::add);
+
+        // Then
+        assertThat(events).extracting(ImprovedManuscriptParserTest::describe).containsExactly(
+                "section:프롤로그:머리말",
+                "folder:제1장 시작",
+                "section:본문:첫 장면",
+                "section:본문:둘째 장면",
+                "folder:Chapter 2: 끝",
+                "section:본문:마지막");
+    }
+
+    @Test
+    @DisplayName("Fixed-size strategy should split on line boundaries without losing text")
+    void fixedSizeStrategyShouldSplitOnLines() throws IOException {
+        // Given
+        String line = "가".repeat(99);
+        String content = (line + "\n").repeat(300);
+        List<ManuscriptEvent> events = new ArrayList<>();
+
+        // When
+        ImprovedManuscriptParser.parse(new StringReader(content), new FixedSizeBoundaryStrategy(), events::add);
+
+        // Then
+        assertThat(events).hasSize(3);
+        StringBuilder joined = new StringBuilder();
+        for (ManuscriptEvent event : events) {
+            joined.append(((ImprovedManuscriptParser.ParsedSection) event).getContent()).append('\n');
+        }
+        assertThat(joined.toString()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Parallel mode should produce the same sections as sequential mode")
+    void parallelModeShouldMatchSequentialMode() throws IOException {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Given
+            String content = randomManuscript(random, 1 + random.nextInt(200));
+
+            // When
+            List<ImprovedManuscriptParser.ParsedSection> sequential = ImprovedManuscriptParser.parse(content);
+            List<ImprovedManuscriptParser.ParsedSection> parallel = parseParallel(content);
+
+            // Then
+            assertThat(flatten(parallel)).isEqualTo(flatten(sequential));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.stolink.backend.domain.document.service;
+
+import com.stolink.backend.domain.ai.service.AIAnalysisService;
+import com.stolink.backend.domain.document.entity.ManuscriptJob;
+import com.stolink.backend.domain.document.repository.DocumentJdbcRepository;
+import com.stolink.backend.domain.document.repository.DocumentRepository;
+import com.stolink.backend.domain.document.repository.ManuscriptJobRepository;
+import com.stolink.backend.domain.project.entity.Project;
+import com.stolink.backend.domain.project.repository.ProjectRepository;
+import com.stolink.backend.domain.user.repository.UserRepository;
+import com.stolink.backend.global.util.FileStorageUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ManuscriptJobServiceTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+    private static final UUID PROJECT_ID = UUID.randomUUID();
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String MESSAGE = "처리 중 서버가 반복해서 중단되어 작업이 취소되었습니다.";
+
+    @Mock
+    private ManuscriptJobRepository jobRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private DocumentJdbcRepository documentJdbcRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AIAnalysisService aiAnalysisService;
+    @Mock
+    private DocumentTreeCache documentTreeCache;
+    @Mock
+    private DocumentOrderAllocator documentOrderAllocator;
+    @Mock
+    private FileStorageUtil fileStorageUtil;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ManuscriptJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ManuscriptJobService(jobRepository, documentRepository, documentJdbcRepository,
+                projectRepository, userRepository, aiAnalysisService, documentTreeCache, documentOrderAllocator,
+                fileStorageUtil, new TransactionTemplate(transactionManager));
+    }
+
+    private static ManuscriptJob staleJob(int checkpointDocuments) {
+        return ManuscriptJob.builder()
+                .id(JOB_ID)
+                .project(Project.builder().id(PROJECT_ID).build())
+                .status(ManuscriptJob.JobStatus.PROCESSING)
+                .claimedBy("crashed-node")
+                .attempts(MAX_ATTEMPTS)
+                .checkpointDocuments(checkpointDocuments)
+                .build();
+    }
+
+    // 작업 ID와 순번으로 정해지는 문서 ID (재개/정리 시 같은 ID를 다시 계산)
+    private static UUID documentId(int index) {
+        return UUID.nameUUIDFromBytes((JOB_ID + ":" + index).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should delete every checkpointed document when a stale job runs out of attempts")
+    void shouldDiscardDocumentsOfStaleJobPastMaxAttempts() {
+        // Given
+        LocalDateTime threshold = LocalDateTime.now();
+        when(jobRepository.lockStaleJobIds(threshold, MAX_ATTEMPTS, 1)).thenReturn(List.of(JOB_ID), List.of());
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(staleJob(3)));
+
+        // When
+        int failed = service.failStaleJobs(threshold, MAX_ATTEMPTS, MESSAGE);
+
+        // Then
+        assertThat(failed).isEqualTo(1);
+        verify(jobRepository).failIfOwned(eq(JOB_ID), eq("crashed-node"), eq(MAX_ATTEMPTS),
+                eq(ManuscriptJob.JobStatus.PROCESSING), eq(ManuscriptJob.JobStatus.FAILED), eq(MESSAGE), eq(0),
+                any(LocalDateTime.class));
+        verify(documentRepository).deleteAllByIdInBatch(List.of(documentId(0), documentId(1), documentId(2)));
+        verify(documentTreeCache).evict(PROJECT_ID);
+    }
+
+    @Test
+    @DisplayName("Should fail a stale job without touching documents when nothing was checkpointed")
+    void shouldFailStaleJobWithoutDocuments() {
+        // Given
+        LocalDateTime threshold = LocalDateTime.now();
+        when(jobRepository.lockStaleJobIds(threshold, MAX_ATTEMPTS, 1)).thenReturn(List.of(JOB_ID), List.of());
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(staleJob(0)));
+
+        // When
+        int failed = service.failStaleJobs(threshold, MAX_ATTEMPTS, MESSAGE);
+
+        // Then
+        assertThat(failed).isEqualTo(1);
+        verify(documentRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(documentTreeCache, never()).evict(PROJECT_ID);
+    }
+}
@@ -0,0 +1,233 @@
+package com.stolink.backend.domain.outbox.service;
+
+import com.stolink.backend.domain.outbox.entity.OutboxMessage;
+import com.stolink.backend.domain.outbox.event.OutboxDeliveryFailedEvent;
+import com.stolink.backend.domain.outbox.repository.OutboxMessageRepository;
+import com.stolink.backend.global.infrastructure.rabbitmq.ConfirmedPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String QUEUE = "document.analysis";
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * outbox_messages 행 (재시도 예약으로 바뀌는 값만 가변)
+     */
+    private static class Row {
+        final UUID id = UUID.randomUUID();
+        final UUID aggregateId = UUID.randomUUID();
+        final LocalDateTime createdAt;
+        OutboxMessage.Status status = OutboxMessage.Status.PENDING;
+        int attempts;
+        String lastError;
+        LocalDateTime availableAt;
+
+        Row(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            this.availableAt = createdAt;
+        }
+
+        OutboxMessage toMessage() {
+            return OutboxMessage.builder()
+                    .id(id)
+                    .exchange("")
+                    .routingKey(QUEUE)
+                    .aggregateId(aggregateId)
+                    .contentType("application/json")
+                    .body("{}".getBytes())
+                    .status(status)
+                    .attempts(attempts)
+                    .lastError(lastError)
+                    .availableAt(availableAt)
+                    .createdAt(createdAt)
+                    .build();
+        }
+    }
+
+    /**
+     * 지정한 메시지만 nack으로 돌려주는 발행기
+     */
+    private static class ScriptedPublisher extends ConfirmedPublisher {
+        final Set<String> nacked;
+        final List<List<String>> published = new ArrayList<>();
+
+        ScriptedPublisher(Set<String> nacked) {
+            super(new SimpleMeterRegistry());
+            this.nacked = nacked;
+        }
+
+        @Override
+        public Result publish(RabbitTemplate template, List<Request> requests) {
+            published.add(requests.stream().map(Request::id).toList());
+            List<String> confirmed = new ArrayList<>();
+            Map<String, String> failed = new LinkedHashMap<>();
+            for (Request request : requests) {
+                if (nacked.contains(request.id())) {
+                    failed.put(request.id(), "nack: rejected");
+                } else {
+                    confirmed.add(request.id());
+                }
+            }
+            return new Result(confirmed, failed);
+        }
+    }
+
+    @Mock
+    private OutboxMessageRepository outboxMessageRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // outbox_messages 테이블
+    private final Map<UUID, Row> rows = new LinkedHashMap<>();
+    private final List<Object> events = new ArrayList<>();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(outboxMessageRepository.lockAvailableIds(any(LocalDateTime.class), anyInt()))
+                .thenAnswer(invocation -> rows.values().stream()
+                        .filter(row -> row.status == OutboxMessage.Status.PENDING
+                                && !row.availableAt.isAfter(invocation.getArgument(0)))
+                        .sorted(Comparator.comparing(row -> row.createdAt))
+                        .limit((int) invocation.getArgument(1))
+                        .map(row -> row.id)
+                        .toList());
+        lenient().when(outboxMessageRepository.extendLease(anyCollection(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    Collection<UUID> ids = invocation.getArgument(0);
+                    ids.forEach(id -> rows.get(id).availableAt = invocation.getArgument(1));
+                    return ids.size();
+                });
+        lenient().when(outboxMessageRepository.findAllByIdInOrderByCreatedAt(anyCollection()))
+                .thenAnswer(invocation -> messages(invocation.getArgument(0), null));
+        lenient().when(outboxMessageRepository.scheduleRetry(anyCollection(), anyString(), any(LocalDateTime.class),
+                anyInt(), eq(OutboxMessage.Status.FAILED))).thenAnswer(invocation -> {
+                    Collection<UUID> ids = invocation.getArgument(0);
+                    for (UUID id : ids) {
+                        Row row = rows.get(id);
+                        row.attempts++;
+                        row.lastError = invocation.getArgument(1);
+                        row.availableAt = invocation.getArgument(2);
+                        if (row.attempts >= (int) invocation.getArgument(3)) {
+                            row.status = OutboxMessage.Status.FAILED;
+                        }
+                    }
+                    return ids.size();
+                });
+        lenient().when(outboxMessageRepository.findAllByIdInAndStatus(anyCollection(), any(OutboxMessage.Status.class)))
+                .thenAnswer(invocation -> messages(invocation.getArgument(0), invocation.getArgument(1)));
+        lenient().doAnswer(invocation -> {
+            Iterable<UUID> ids = invocation.getArgument(0);
+            ids.forEach(rows::remove);
+            return null;
+        }).when(outboxMessageRepository).deleteAllByIdInBatch(anyIterable());
+    }
+
+    private Row addRow(int attempts) {
+        Row row = new Row(LocalDateTime.now().minusSeconds(10 - rows.size()));
+        row.attempts = attempts;
+        rows.put(row.id, row);
+        return row;
+    }
+
+    // status가 null이면 상태와 관계없이 조회
+    private List<OutboxMessage> messages(Collection<UUID> ids, OutboxMessage.Status status) {
+        return ids.stream()
+                .map(rows::get)
+                .filter(row -> status == null || row.status == status)
+                .sorted(Comparator.comparing(row -> row.createdAt))
+                .map(Row::toMessage)
+                .toList();
+    }
+
+    private ScriptedPublisher startRelay(Set<String> nacked) {
+        ScriptedPublisher publisher = new ScriptedPublisher(nacked);
+        relay = new OutboxRelay(outboxMessageRepository, null, publisher, transactionManager, events::add,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(relay, "retryBackoffMs", 5_000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        return publisher;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (relay != null) {
+            relay.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete confirmed messages and back off unconfirmed ones until their retry time")
+    void shouldDeleteConfirmedAndScheduleRetry() {
+        // Given
+        Row confirmed = addRow(0);
+        Row nacked = addRow(0);
+        ScriptedPublisher publisher = startRelay(Set.of(nacked.id.toString()));
+
+        // When
+        int published = relay.drain();
+        int publishedAgain = relay.drain();
+
+        // Then
+        assertThat(published).isEqualTo(1);
+        assertThat(publishedAgain).isEqualTo(0);
+        assertThat(publisher.published).containsExactly(List.of(confirmed.id.toString(), nacked.id.toString()));
+        assertThat(rows.keySet()).containsExactly(nacked.id);
+        assertThat(nacked.status).isEqualTo(OutboxMessage.Status.PENDING);
+        assertThat(nacked.attempts).isEqualTo(1);
+        assertThat(nacked.lastError).isEqualTo("nack: rejected");
+        assertThat(nacked.availableAt.isAfter(LocalDateTime.now())).isTrue();
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should mark a message FAILED and publish a delivery failure event once retries are exhausted")
+    void shouldFailAfterMaxAttempts() {
+        // Given
+        Row exhausted = addRow(MAX_ATTEMPTS - 1);
+        startRelay(Set.of(exhausted.id.toString()));
+
+        // When
+        int published = relay.drain();
+
+        // Then
+        assertThat(published).isEqualTo(0);
+        assertThat(rows.keySet()).containsExactly(exhausted.id);
+        assertThat(exhausted.status).isEqualTo(OutboxMessage.Status.FAILED);
+        assertThat(exhausted.attempts).isEqualTo(MAX_ATTEMPTS);
+        assertThat(events).containsExactly(new OutboxDeliveryFailedEvent(QUEUE, List.of(exhausted.aggregateId)));
+    }
+}
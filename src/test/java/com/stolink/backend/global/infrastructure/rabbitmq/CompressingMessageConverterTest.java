@@ -0,0 +1,58 @@
+package com.stolink.backend.global.infrastructure.rabbitmq;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressingMessageConverterTest {
+
+    private final CompressingMessageConverter converter = new CompressingMessageConverter(
+            new Jackson2JsonMessageConverter(), 1024, 1, new SimpleMeterRegistry());
+
+    private static String manuscript(int sentences) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            builder.append("그는 조용히 문을 열었다. 창밖으로 비가 내리고 있었다. 제").append(i).append("장\n");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    @DisplayName("Should gzip large payloads and restore them on receive")
+    void shouldCompressLargePayloads() {
+        // Given
+        Map<String, Object> payload = new HashMap<>(Map.of("content", manuscript(500)));
+
+        // When
+        Message message = converter.toMessage(payload, new MessageProperties());
+        Object restored = converter.fromMessage(message);
+
+        // Then
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo("gzip:UTF-8");
+        assertThat(message.getBody().length).isLessThan(manuscript(500).getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(restored).isEqualTo(payload);
+    }
+
+    @Test
+    @DisplayName("Should leave small payloads uncompressed")
+    void shouldPassSmallPayloadsThrough() {
+        // Given
+        Map<String, Object> payload = new HashMap<>(Map.of("content", manuscript(1)));
+
+        // When
+        Message message = converter.toMessage(payload, new MessageProperties());
+
+        // Then
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo("UTF-8");
+        assertThat(converter.fromMessage(message)).isEqualTo(payload);
+    }
+}
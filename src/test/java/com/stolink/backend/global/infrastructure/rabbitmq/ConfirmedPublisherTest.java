@@ -0,0 +1,109 @@
+package com.stolink.backend.global.infrastructure.rabbitmq;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfirmedPublisherTest {
+
+    private static final int MAX_RETRIES = 2;
+
+    /**
+     * 메시지 id별로 정해 둔 방식으로 confirm을 돌려주는 템플릿 (실제 전송 없음)
+     */
+    private static class ScriptedTemplate extends RabbitTemplate {
+        final Set<String> nackOnce;
+        final Set<String> nackAlways;
+        final Set<String> failOnce;
+        final Set<String> neverConfirmed;
+        final Map<String, Integer> sends = new HashMap<>();
+
+        ScriptedTemplate(Set<String> nackOnce, Set<String> nackAlways, Set<String> failOnce,
+                Set<String> neverConfirmed) {
+            this.nackOnce = nackOnce;
+            this.nackAlways = nackAlways;
+            this.failOnce = failOnce;
+            this.neverConfirmed = neverConfirmed;
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            String id = correlationData.getId();
+            int attempt = sends.merge(id, 1, Integer::sum);
+            if (failOnce.contains(id) && attempt == 1) {
+                throw new AmqpException("channel closed");
+            }
+            if (neverConfirmed.contains(id)) {
+                return;
+            }
+            boolean nack = nackAlways.contains(id) || (nackOnce.contains(id) && attempt == 1);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(!nack, nack ? "rejected" : null));
+        }
+    }
+
+    private static ConfirmedPublisher publisher() {
+        ConfirmedPublisher publisher = new ConfirmedPublisher(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(publisher, "window", 4);
+        ReflectionTestUtils.setField(publisher, "confirmTimeoutMs", 100L);
+        ReflectionTestUtils.setField(publisher, "maxRetries", MAX_RETRIES);
+        ReflectionTestUtils.setField(publisher, "retryBackoffMs", 1L);
+        return publisher;
+    }
+
+    private static List<ConfirmedPublisher.Request> requests(String... ids) {
+        List<ConfirmedPublisher.Request> requests = new ArrayList<>();
+        for (String id : ids) {
+            Message message = new Message(id.getBytes(StandardCharsets.UTF_8));
+            requests.add(new ConfirmedPublisher.Request(id, "", "document.analysis", message));
+        }
+        return requests;
+    }
+
+    @Test
+    @DisplayName("Should resend nacked and failed sends and report them confirmed once acked")
+    void shouldRetryNackAndSendFailure() {
+        // Given
+        ScriptedTemplate template = new ScriptedTemplate(Set.of("nacked"), Set.of(), Set.of("broken"), Set.of());
+
+        // When
+        ConfirmedPublisher.Result result = publisher().publish(template, requests("acked", "nacked", "broken"));
+
+        // Then
+        assertThat(result.confirmed()).containsExactly("acked", "nacked", "broken");
+        assertThat(result.failed()).isEmpty();
+        assertThat(template.sends.get("acked")).isEqualTo(1);
+        assertThat(template.sends.get("nacked")).isEqualTo(2);
+        assertThat(template.sends.get("broken")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should give up after max retries and never resend a message whose confirm timed out")
+    void shouldFailAfterRetriesAndOnTimeout() {
+        // Given
+        ScriptedTemplate template = new ScriptedTemplate(Set.of(), Set.of("rejected"), Set.of(), Set.of("lost"));
+
+        // When
+        ConfirmedPublisher.Result result = publisher().publish(template, requests("acked", "rejected", "lost"));
+
+        // Then
+        assertThat(result.confirmed()).containsExactly("acked");
+        assertThat(result.failed()).containsEntry("rejected", "nack: rejected");
+        assertThat(result.failed()).containsEntry("lost", "confirm timeout");
+        assertThat(template.sends.get("rejected")).isEqualTo(MAX_RETRIES + 1);
+        assertThat(template.sends.get("lost")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.stolink.backend.global.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentAccessSignerTest {
+
+    private static final String SECRET = "test-content-access-secret-0123456789abcdef";
+    private static final String HASH = "a".repeat(64);
+
+    private static ContentAccessSigner signerAt(long epochSecond) {
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+        return new ContentAccessSigner(SECRET, 600, clock);
+    }
+
+    @Test
+    @DisplayName("Should accept a signature for the same document and content hash before expiry")
+    void shouldVerifyValidSignature() {
+        // Given
+        UUID documentId = UUID.randomUUID();
+        ContentAccessSigner.SignedAccess access = signerAt(1_000).sign(documentId, HASH);
+
+        // When
+        ContentAccessSigner.Verification result = signerAt(1_500)
+                .verify(documentId, HASH, access.expiresAt(), access.signature());
+
+        // Then
+        assertThat(access.expiresAt()).isEqualTo(1_600L);
+        assertThat(result).isEqualTo(ContentAccessSigner.Verification.VALID);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered parameters and report expiry only for genuine signatures")
+    void shouldRejectTamperedOrExpiredSignature() {
+        // Given
+        UUID documentId = UUID.randomUUID();
+        ContentAccessSigner signer = signerAt(1_000);
+        ContentAccessSigner.SignedAccess access = signer.sign(documentId, HASH);
+
+        // When & Then
+        assertThat(signer.verify(documentId, "b".repeat(64), access.expiresAt(), access.signature()))
+                .isEqualTo(ContentAccessSigner.Verification.INVALID);
+        assertThat(signer.verify(UUID.randomUUID(), HASH, access.expiresAt(), access.signature()))
+                .isEqualTo(ContentAccessSigner.Verification.INVALID);
+        assertThat(signer.verify(documentId, HASH, access.expiresAt() + 3_600, access.signature()))
+                .isEqualTo(ContentAccessSigner.Verification.INVALID);
+        assertThat(signerAt(1_601).verify(documentId, HASH, access.expiresAt(), access.signature()))
+                .isEqualTo(ContentAccessSigner.Verification.EXPIRED);
+    }
+
+    @Test
+    @DisplayName("Should not sign with the JWT secret itself when deriving the content access key")
+    void shouldDeriveSeparateKeyFromJwtSecret() {
+        // Given
+        UUID documentId = UUID.randomUUID();
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(1_000), ZoneOffset.UTC);
+        ContentAccessSigner withJwtSecret = new ContentAccessSigner(SECRET, 600, clock);
+        ContentAccessSigner withDerivedKey = new ContentAccessSigner(ContentAccessSigner.deriveSecret(SECRET), 600,
+                clock);
+
+        // When
+        String jwtKeySignature = withJwtSecret.sign(documentId, HASH).signature();
+        String derivedKeySignature = withDerivedKey.sign(documentId, HASH).signature();
+
+        // Then
+        assertThat(ContentAccessSigner.deriveSecret(SECRET)).isNotEqualTo(SECRET);
+        assertThat(derivedKeySignature).isNotEqualTo(jwtKeySignature);
+    }
+}
@@ -0,0 +1,87 @@
+package com.stolink.backend.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CharsetDetectorTest {
+
+    private static final String TEXT = "제1장 시작\n\n그는 천천히 문을 열었다. \"누구세요?\"\n똠방각하, 뷁!\n";
+
+    private static Charset detect(byte[] bytes) throws IOException {
+        return CharsetDetector.detect(new BufferedInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private static String read(byte[] bytes) throws IOException {
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream(bytes));
+        Charset charset = CharsetDetector.detect(in);
+        StringWriter out = new StringWriter();
+        try (Reader reader = CharsetDetector.newReader(in, charset)) {
+            reader.transferTo(out);
+        }
+        return out.toString();
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] body) {
+        byte[] result = new byte[prefix.length + body.length];
+        System.arraycopy(prefix, 0, result, 0, prefix.length);
+        System.arraycopy(body, 0, result, prefix.length, body.length);
+        return result;
+    }
+
+    @Test
+    @DisplayName("Should detect UTF-8 with and without BOM")
+    void shouldDetectUtf8() throws IOException {
+        byte[] utf8 = TEXT.getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = concat(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF }, utf8);
+
+        assertThat(detect(utf8)).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(detect(withBom)).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(read(withBom)).isEqualTo(TEXT);
+    }
+
+    @Test
+    @DisplayName("Should detect UTF-16 from BOM or zero-byte layout")
+    void shouldDetectUtf16() throws IOException {
+        byte[] le = TEXT.getBytes(StandardCharsets.UTF_16LE);
+        byte[] leWithBom = concat(new byte[] { (byte) 0xFF, (byte) 0xFE }, le);
+
+        assertThat(detect(leWithBom)).isEqualTo(StandardCharsets.UTF_16LE);
+        assertThat(read(leWithBom)).isEqualTo(TEXT);
+        assertThat(detect(le)).isEqualTo(StandardCharsets.UTF_16LE);
+        assertThat(detect(TEXT.getBytes(StandardCharsets.UTF_16BE))).isEqualTo(StandardCharsets.UTF_16BE);
+    }
+
+    @Test
+    @DisplayName("Should distinguish EUC-KR from CP949 extended Hangul")
+    void shouldDetectKoreanLegacyEncodings() throws IOException {
+        String basic = "제1장 시작\n\n그는 천천히 문을 열었다.\n";
+
+        assertThat(detect(basic.getBytes(CharsetDetector.EUC_KR))).isEqualTo(CharsetDetector.EUC_KR);
+        // "똠", "뷁"은 KS X 1001에 없어 CP949 확장 영역으로 인코딩됨
+        assertThat(detect(TEXT.getBytes(CharsetDetector.CP949))).isEqualTo(CharsetDetector.CP949);
+        assertThat(read(TEXT.getBytes(CharsetDetector.CP949))).isEqualTo(TEXT);
+    }
+
+    @Test
+    @DisplayName("Should tolerate a multi-byte character cut at the sample boundary")
+    void shouldTolerateTruncatedSample() throws IOException {
+        // Given: 표본 끝(8192바이트)이 3바이트 한글 문자 중간에 걸림
+        String text = "a" + "가".repeat(CharsetDetector.SAMPLE_BYTES);
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        assertThat(detect(utf8)).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(read(utf8)).isEqualTo(text);
+    }
+}
@@ -0,0 +1,32 @@
+package com.stolink.backend.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentHasherTest {
+
+    @Test
+    @DisplayName("Should ignore line endings, trailing spaces and surrounding blank lines")
+    void shouldIgnoreFormattingOnlyDifferences() {
+        // Given
+        String original = "제1장\n\n그는 문을 열었다.\n  \"누구세요?\"";
+        String reformatted = "\r\n제1장   \r\n\t\r\n그는 문을 열었다.\r  \"누구세요?\"\n\n  ";
+
+        // When & Then
+        assertThat(ContentHasher.hash(reformatted)).isEqualTo(ContentHasher.hash(original));
+        assertThat(ContentHasher.normalize(reformatted).toString()).isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("Should change hash when visible text or inner spacing changes")
+    void shouldDetectContentChanges() {
+        String original = "그는 문을 열었다.";
+
+        assertThat(ContentHasher.hash("그는 문을 닫았다.")).isNotEqualTo(ContentHasher.hash(original));
+        assertThat(ContentHasher.hash("그는  문을 열었다.")).isNotEqualTo(ContentHasher.hash(original));
+        assertThat(ContentHasher.hash(original)).hasSize(64);
+        assertThat(ContentHasher.hash(null)).isEqualTo(ContentHasher.hash(""));
+    }
+}
@@ -0,0 +1,64 @@
+package com.stolink.backend.global.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WordCounterTest {
+
+    private static int regexCount(String text) {
+        return text.replaceAll("<[^>]*>", "").trim().length();
+    }
+
+    @Test
+    @DisplayName("Should count characters, spaces and Korean/English words without tags")
+    void shouldCountTextStatistics() {
+        // Given
+        String text = "<p>그는 <b>Hello</b> world라고 말했다.</p><p>123</p>";
+
+        // When
+        WordCounter.Result result = WordCounter.count(text);
+
+        // Then
+        assertThat(result.characters()).isEqualTo(regexCount(text));
+        assertThat(result.charactersWithoutSpaces()).isEqualTo("그는Helloworld라고말했다.123".length());
+        assertThat(result.words()).isEqualTo(5);
+        assertThat(result.koreanWords()).isEqualTo(3);
+        assertThat(result.englishWords()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should follow regex semantics for unclosed tags and surrounding whitespace")
+    void shouldMatchRegexEdgeCases() {
+        String[] samples = {
+                "", "   ", "<p></p>", "  <p> 안녕 </p>  ", "a < b", "a > b", "<<b>c", "x<y", "<p>\n\t본문\n</p>\n",
+                "　전각 공백　", "<a href='x'>링크</a> <", "끝>" };
+
+        for (String sample : samples) {
+            assertThat(WordCounter.countCharacters(sample)).as(sample).isEqualTo(regexCount(sample));
+            assertThat(WordCounter.count(sample).characters()).as(sample).isEqualTo(regexCount(sample));
+        }
+        assertThat(WordCounter.countCharacters(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should match regex character count for random markup")
+    void shouldMatchRegexForRandomInput() {
+        Random random = new Random(7);
+        String alphabet = "가나 ab<>/p\n\t.";
+
+        for (int round = 0; round < 1000; round++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = random.nextInt(60); i > 0; i--) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String text = builder.toString();
+
+            assertThat(WordCounter.count(text).characters()).as(text).isEqualTo(regexCount(text));
+            assertThat(WordCounter.countCharacters(text)).as(text).isEqualTo(regexCount(text));
+        }
+    }
+}